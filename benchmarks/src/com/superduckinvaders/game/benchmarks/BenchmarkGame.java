@@ -0,0 +1,150 @@
+package com.superduckinvaders.game.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.MathUtils;
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.desktop.HeadlessDuckGame;
+import com.superduckinvaders.game.entity.Mob;
+import com.superduckinvaders.game.input.ScriptedInputSource;
+
+/**
+ * Starts a headless game once per benchmark process and builds rounds on the real levels for the benchmarks to use.
+ */
+public final class BenchmarkGame {
+
+	/**
+	 * The random seed every benchmark round is created with, so runs can be compared.
+	 */
+	public static final long SEED = 1;
+
+	/**
+	 * The headless game, once it has loaded its assets.
+	 */
+	private static HeadlessDuckGame game = null;
+
+	private BenchmarkGame() {
+	}
+
+	/**
+	 * Gets the headless game, starting it and waiting for its assets to load the first time.
+	 *
+	 * @return the headless game
+	 */
+	public static synchronized HeadlessDuckGame getGame() {
+		if (game == null) {
+			final CountDownLatch created = new CountDownLatch(1);
+			HeadlessDuckGame newGame = new HeadlessDuckGame() {
+				@Override
+				public void create() {
+					try {
+						super.create();
+					} finally {
+						created.countDown();
+					}
+				}
+			};
+
+			// Don't run a render loop: the application thread loads the assets then finishes.
+			HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+			config.renderInterval = -1;
+			new HeadlessApplication(newGame, config);
+
+			try {
+				created.await();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException("Interrupted while loading assets", e);
+			}
+
+			if (Assets.levelOneMap == null) {
+				throw new IllegalStateException("Assets failed to load, run the benchmarks from core/assets");
+			}
+
+			game = newGame;
+		}
+
+		return game;
+	}
+
+	/**
+	 * Gets the map for a level.
+	 *
+	 * @param level the level, from 1 to 8
+	 * @return the level's map
+	 */
+	public static TiledMap getMap(int level) {
+		getGame();
+		return Assets.getLevelMap(level);
+	}
+
+	/**
+	 * Creates a round on a level with the benchmark seed. The player stands still.
+	 *
+	 * @param level the level, from 1 to 8
+	 * @return the new round
+	 */
+	public static Round createRound(int level) {
+		Round round = getGame().createRound(getMap(level), SEED);
+		round.getPlayer().setInputSource(new ScriptedInputSource());
+		return round;
+	}
+
+	/**
+	 * Creates a round on a level with exactly the specified number of mobs, all near enough the player to be updated.
+	 *
+	 * @param level      the level, from 1 to 8
+	 * @param population how many mobs the round should have
+	 * @return the new round
+	 * @throws IllegalStateException if there isn't room near the player for that many mobs
+	 */
+	public static Round createRound(int level, int population) {
+		Round round = createRound(level);
+
+		for (Mob mob : getMobs(round)) {
+			removeMob(round, mob);
+		}
+
+		int spawned = 0;
+		for (int attempt = 0; spawned < population && attempt < population * 200; attempt++) {
+			double x = round.getPlayer().getX() + MathUtils.random(-Round.UPDATE_DISTANCE, Round.UPDATE_DISTANCE);
+			double y = round.getPlayer().getY() + MathUtils.random(-Round.UPDATE_DISTANCE, Round.UPDATE_DISTANCE);
+			double distance = round.getPlayer().distanceTo(x, y);
+
+			if (distance > 64 && distance < Round.UPDATE_DISTANCE && round.createMob(x, y, 100, Assets.badGuyNormal, 100)) {
+				spawned++;
+			}
+		}
+
+		if (spawned < population) {
+			throw new IllegalStateException("Only found room for " + spawned + " of " + population + " mobs on level " + level);
+		}
+
+		return round;
+	}
+
+	/**
+	 * Gets every mob in a round.
+	 *
+	 * @param round the round
+	 * @return the round's mobs, in entity order
+	 */
+	public static Mob[] getMobs(Round round) {
+		List<Mob> mobs = round.getMobs();
+		return mobs.toArray(new Mob[mobs.size()]);
+	}
+
+	/**
+	 * Takes a mob out of a round straight away, without scoring or respawning anything.
+	 *
+	 * @param round the round
+	 * @param mob   the mob to remove
+	 */
+	public static void removeMob(Round round, Mob mob) {
+		round.removeEntity(mob);
+	}
+}
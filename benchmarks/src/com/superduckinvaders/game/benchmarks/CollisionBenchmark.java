@@ -0,0 +1,63 @@
+package com.superduckinvaders.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.entity.Mob;
+
+/**
+ * Measures Entity.collidesX and collidesY, moving each mob in a round one pixel in turn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CollisionBenchmark {
+
+	@Param({"1", "2", "3", "4", "5", "6", "7", "8"})
+	public int level;
+
+	/**
+	 * The mobs to check, and the one to check next.
+	 */
+	private Mob[] mobs;
+	private int next = 0;
+
+	@Setup
+	public void setUp() {
+		Round round = BenchmarkGame.createRound(level, 50);
+		mobs = BenchmarkGame.getMobs(round);
+	}
+
+	@Benchmark
+	public boolean collidesX() {
+		return nextMob().collidesX(1);
+	}
+
+	@Benchmark
+	public boolean collidesY() {
+		return nextMob().collidesY(-1);
+	}
+
+	private Mob nextMob() {
+		if (next == mobs.length) {
+			next = 0;
+		}
+
+		return mobs[next++];
+	}
+}
@@ -0,0 +1,49 @@
+package com.superduckinvaders.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.superduckinvaders.game.Minimap;
+
+/**
+ * Measures colouring the minimap terrain for a whole level, which is done once per round, without uploading it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MinimapBenchmark {
+
+	@Param({"1", "2", "3", "4", "5", "6", "7", "8"})
+	public int level;
+
+	private Minimap minimap;
+
+	@Setup
+	public void setUp() {
+		minimap = new Minimap(BenchmarkGame.createRound(level), null);
+	}
+
+	@Benchmark
+	public int createPixmap() {
+		Pixmap pixmap = minimap.createPixmap();
+		int pixel = pixmap.getPixel(pixmap.getWidth() / 2, pixmap.getHeight() / 2);
+		pixmap.dispose();
+
+		return pixel;
+	}
+}
@@ -0,0 +1,63 @@
+package com.superduckinvaders.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.ai.PathFinder;
+import com.superduckinvaders.game.ai.ZombieAI;
+import com.superduckinvaders.game.entity.Mob;
+import com.superduckinvaders.game.entity.Player;
+
+/**
+ * Measures a whole mob path search to the player, as ZombieAI asks for when the flow field doesn't reach the mob.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PathFinderBenchmark {
+
+	@Param({"1", "2", "3", "4", "5", "6", "7", "8"})
+	public int level;
+
+	private PathFinder pathFinder;
+	private Player player;
+
+	/**
+	 * The mobs to search from, and the one to search from next.
+	 */
+	private Mob[] mobs;
+	private int next = 0;
+
+	@Setup
+	public void setUp() {
+		Round round = BenchmarkGame.createRound(level, 50);
+		pathFinder = new PathFinder(round);
+		player = round.getPlayer();
+		mobs = BenchmarkGame.getMobs(round);
+	}
+
+	@Benchmark
+	public boolean findPath() {
+		if (next == mobs.length) {
+			next = 0;
+		}
+
+		Mob mob = mobs[next++];
+		return pathFinder.findPath(mob, (int) mob.getX(), (int) mob.getY(), (int) player.getX(), (int) player.getY(), ZombieAI.PATHFINDING_ITERATION_LIMIT);
+	}
+}
@@ -0,0 +1,51 @@
+package com.superduckinvaders.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.superduckinvaders.game.GameScreen;
+import com.superduckinvaders.game.Round;
+
+/**
+ * Measures one fixed simulation step of a whole round with different numbers of mobs around the player. The round is
+ * rebuilt every iteration so each one starts from the same state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RoundUpdateBenchmark {
+
+	@Param({"1", "2", "3", "4", "5", "6", "7", "8"})
+	public int level;
+
+	@Param({"25", "100", "300"})
+	public int mobs;
+
+	private Round round;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		round = BenchmarkGame.createRound(level, mobs);
+	}
+
+	@Benchmark
+	public Round update() {
+		round.update(GameScreen.SIMULATION_STEP);
+		return round;
+	}
+}
@@ -0,0 +1,75 @@
+package com.superduckinvaders.game.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.entity.Entity;
+import com.superduckinvaders.game.entity.Mob;
+
+/**
+ * Measures Round.createMob at the same spots around the player that mobs respawn at in survive rounds. Mobs that are
+ * spawned are taken straight back out so the round doesn't fill up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SpawnBenchmark {
+
+	@Param({"1", "2", "3", "4", "5", "6", "7", "8"})
+	public int level;
+
+	private Round round;
+
+	/**
+	 * The spawn positions to try, as x and y pairs, and the one to try next.
+	 */
+	private double[] positions = new double[2048];
+	private int next = 0;
+
+	@Setup
+	public void setUp() {
+		round = BenchmarkGame.createRound(level, 50);
+
+		for (int i = 0; i < positions.length; i += 2) {
+			positions[i] = round.getPlayer().getX() + MathUtils.random(100, 300) * (MathUtils.randomBoolean() ? -1 : 1);
+			positions[i + 1] = round.getPlayer().getY() + MathUtils.random(100, 300) * (MathUtils.randomBoolean() ? -1 : 1);
+		}
+	}
+
+	@Benchmark
+	public boolean createMob() {
+		if (next == positions.length) {
+			next = 0;
+		}
+
+		double x = positions[next];
+		double y = positions[next + 1];
+		next += 2;
+
+		boolean spawned = round.createMob(x, y, 100, Assets.badGuyNormal, 100);
+
+		if (spawned) {
+			Entity mob = round.getEntities().get(round.getEntities().size() - 1);
+			BenchmarkGame.removeMob(round, (Mob) mob);
+		}
+
+		return spawned;
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * Contains JMH benchmarks of the game's hot paths, run headless on the real levels.
+ */
+package com.superduckinvaders.game.benchmarks;
\ No newline at end of file
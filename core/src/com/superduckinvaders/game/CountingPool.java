@@ -0,0 +1,94 @@
+package com.superduckinvaders.game;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * A Pool that counts how often it is asked for an object and how often it has one spare, so it can be checked that
+ * objects are being recycled rather than allocated.
+ *
+ * @param <T> the type of object pooled
+ */
+public abstract class CountingPool<T> extends Pool<T> {
+
+	/**
+	 * What is pooled, for printing the counts.
+	 */
+	private String name;
+
+	/**
+	 * How many objects have been obtained, how many of those were spare rather than newly allocated, and how many have
+	 * been freed.
+	 */
+	private long obtained = 0, hits = 0, freed = 0;
+
+	/**
+	 * Initialises this CountingPool.
+	 *
+	 * @param name what is pooled, for printing the counts
+	 */
+	public CountingPool(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Gets a spare object, or allocates one if there are none spare.
+	 *
+	 * @return the object
+	 */
+	@Override
+	public T obtain() {
+		if (getFree() > 0) {
+			hits++;
+		}
+		obtained++;
+
+		return super.obtain();
+	}
+
+	/**
+	 * Resets an object and keeps it for reuse.
+	 *
+	 * @param object the object, which mustn't be used again until it is obtained again
+	 */
+	@Override
+	public void free(T object) {
+		super.free(object);
+		freed++;
+	}
+
+	/**
+	 * @return what is pooled
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return how many objects have been obtained from this CountingPool
+	 */
+	public long getObtained() {
+		return obtained;
+	}
+
+	/**
+	 * @return the fraction of obtained objects that were reused rather than allocated, from 0 to 1
+	 */
+	public float getHitRate() {
+		return obtained == 0 ? 0 : (float) hits / obtained;
+	}
+
+	/**
+	 * @return how many obtained objects haven't been freed yet
+	 */
+	public long getLive() {
+		return obtained - freed;
+	}
+
+	/**
+	 * @return the counts, for printing
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s: %d obtained, %.1f%% reused, %d live", name, obtained, getHitRate() * 100, getLive());
+	}
+}
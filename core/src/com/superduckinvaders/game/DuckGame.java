@@ -6,9 +6,13 @@ import java.io.IOException;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.profiling.Tracer;
 /**
  * Class which holds all of the game varaibles
  */
@@ -81,37 +85,28 @@ public class DuckGame extends Game {
 	 */
 	private CompleteScreen completeScreen = null;
 	
-	/**
-	 * Stores the current round that is being rendered using the gameScreen
-	 */
-	@SuppressWarnings("unused")
-	private Round roundOne,roundTwo,roundThree,roundFour,roundFive,roundSix,roundSeven,roundEight;
-	
 	/**
 	 * Combined score for all completed levels.
 	 */
 	private static int totalScore;
 
 	/**
-	 * Initialises the startScreen. Called by libGDX to set up the graphics.
+	 * Builds the Round for each level as it is started.
+	 */
+	private RoundFactory roundFactory = new RoundFactory(this);
+
+	/**
+	 * Starts the assets loading and shows the loading screen until the start screen can be shown. Called by libGDX to
+	 * set up the graphics.
 	 */
 	@Override
 	public void create() {
 
 		loadSettings();
 
-		Assets.load();
+		Assets.startLoading();
 
-		roundOne = new Round(this, Assets.levelOneMap);
-		roundTwo = new Round(this, Assets.levelTwoMap);
-		roundThree = new Round(this, Assets.levelThreeMap);
-		roundFour = new Round(this, Assets.levelFourMap);
-		roundFive = new Round(this, Assets.levelFiveMap);
-		roundSix = new Round(this, Assets.levelSixMap);
-		roundSeven = new Round(this, Assets.levelSevenMap);
-		roundEight = new Round(this, Assets.levelEightMap);
-		
-		showStartScreen();
+		setScreen(new LoadingScreen(this, 0));
 	}
 
 	/**
@@ -137,6 +132,25 @@ public class DuckGame extends Game {
 	}
 
 
+	/**
+	 * Starts a round on the specified level. The round is built in the background while a transition is shown. If the
+	 * level assets are still loading, shows the loading screen until they have finished first.
+	 * @param level the level to play, from 1 to 8
+	 */
+	public void playLevel(int level) {
+		if (Assets.isLoaded()) {
+			// Let the last level's Round go before building the next one, rather than holding both.
+			if (gameScreen != null) {
+				gameScreen.dispose();
+				gameScreen = null;
+			}
+
+			setScreen(new TransitionScreen(this, level, roundFactory.build(level)));
+		} else {
+			setScreen(new LoadingScreen(this, level));
+		}
+	}
+
 	/**
 	 * Sets the current screen to the gameScreen.
 	 * @param round The round to be displayed on the game screen
@@ -172,6 +186,82 @@ public class DuckGame extends Game {
 		setScreen(loseScreen = new LoseScreen(this));
 	}
 
+	/**
+	 * Called by a Round when its objective is completed. Marks the level as complete, adds the round's score to the
+	 * total, saves the settings and shows the win (or game complete) screen.
+	 *
+	 * @param round the round that was won
+	 */
+	public void completeRound(Round round) {
+		// TODO Fix bug where replaying previously completed level wipes game progress.
+		exportMetrics(round);
+		stopMusic();
+		playSoundEffect(Assets.levelComplete, 1);
+
+		TiledMap map = round.getMap();
+		int score = round.getPlayer().getScore();
+
+		//if game not already completed
+		if(!levelsComplete.equals("11111111")) {
+			if(map.equals(Assets.levelOneMap)){
+				levelsComplete="1000000";
+			} else if(map.equals(Assets.levelTwoMap)) {
+				levelsComplete="11000000";
+			} else if(map.equals(Assets.levelThreeMap)) {
+				levelsComplete="11100000";
+			} else if(map.equals(Assets.levelFourMap)) {
+				levelsComplete="11110000";
+			} else if(map.equals(Assets.levelFiveMap)) {
+				levelsComplete="11111000";
+			} else if(map.equals(Assets.levelSixMap)) {
+				levelsComplete="11111100";
+			} else if(map.equals(Assets.levelSevenMap)) {
+				levelsComplete="11111110";
+			} else if(map.equals(Assets.levelEightMap)) {
+				levelsComplete="11111111";
+			}
+
+			//add level score to total
+			addScoreToTotal(score);
+
+			if(levelsComplete.equals("11111111")) {
+				showCompleteScreen();
+			} else {
+				showWinScreen(score);
+			}
+
+			//game already completed so don't record score and just display game complete screen
+		} else {
+			showCompleteScreen();
+		}
+
+		//always save the settings
+		saveSettings();
+	}
+
+	/**
+	 * Called by a Round when the player dies. Shows the lose screen.
+	 *
+	 * @param round the round that was lost
+	 */
+	public void failRound(Round round) {
+		exportMetrics(round);
+		stopMusic();
+		playSoundEffect(Assets.gameOver, 1);
+		showLoseScreen();
+	}
+
+	/**
+	 * Writes out the metrics recorded while the specified round was being played, if it is on the GameScreen.
+	 *
+	 * @param round the round that has ended
+	 */
+	private void exportMetrics(Round round) {
+		if (gameScreen != null && gameScreen.getRound() == round) {
+			gameScreen.exportMetrics();
+		}
+	}
+
 	/**
 	 * Returns the current round being displayed by the gameScreen
 	 *
@@ -182,13 +272,50 @@ public class DuckGame extends Game {
 	}
 
 	/**
-	 * Called by libGDX to set up the graphics.
+	 * Keeps the assets loading behind whichever screen is showing. Called by libGDX to set up the graphics.
 	 */
 	@Override
 	public void render() {
+		// Press F5 to start capturing a trace, and again to stop and save it.
+		if (Gdx.input.isKeyJustPressed(Input.Keys.F5)) {
+			if (Tracer.isCapturing()) {
+				saveTrace();
+			} else {
+				Tracer.start();
+			}
+		}
+
+		if (!Assets.isLoaded()) {
+			Assets.update();
+		}
+
 		super.render();
 	}
 
+	/**
+	 * Stops building rounds and saves any trace being captured. Called by libGDX when the game closes.
+	 */
+	@Override
+	public void dispose() {
+		super.dispose();
+		roundFactory.dispose();
+
+		if (Tracer.isCapturing()) {
+			saveTrace();
+		}
+	}
+
+	/**
+	 * Stops capturing a trace and writes it to the Saves/Traces folder, named after the current time.
+	 */
+	public static void saveTrace() {
+		Tracer.stop();
+
+		String name = "Saves/Traces/trace-" + TimeUtils.millis() + ".json";
+		Tracer.write(Gdx.files.external(name));
+		Gdx.app.log("DuckGame", "Wrote trace to " + name);
+	}
+
 	/**
 	 * Returns the current GameScreen being displayed
 	 *
@@ -0,0 +1,232 @@
+package com.superduckinvaders.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.superduckinvaders.game.entity.Character;
+import com.superduckinvaders.game.entity.Entity;
+import com.superduckinvaders.game.entity.Mob;
+import com.superduckinvaders.game.entity.Particle;
+import com.superduckinvaders.game.entity.Projectile;
+import com.superduckinvaders.game.entity.item.Item;
+
+/**
+ * Keeps the list of entities in a Round, putting off changes to it until the end of each tick so the list doesn't
+ * change while it is being updated or searched. Entities removed during a tick are taken out in one pass at the end of
+ * it, keeping the rest in the same order, and entities spawned during a tick are added after them.
+ * <p>
+ * Alongside the list of every entity, a list of each kind of entity is kept up to date, in the same order, so code that
+ * only cares about one kind doesn't have to look through the rest.
+ */
+public final class EntityLifecycle {
+
+	/**
+	 * Told about each entity taken out of the list, once the list has been compacted.
+	 */
+	public interface RemovalListener {
+
+		/**
+		 * Called for each entity taken out of the list. Entities added from here are spawned at the end of the tick
+		 * like any other.
+		 *
+		 * @param entity the entity that was removed
+		 */
+		void entityRemoved(Entity entity);
+	}
+
+	/**
+	 * The entities, in the order they were added.
+	 */
+	private List<Entity> entities = new ArrayList<Entity>(128);
+
+	/**
+	 * The entities of each kind, in the same order as in the list of every entity. Mobs are in the characters too.
+	 */
+	private List<Character> characters = new ArrayList<Character>();
+	private List<Mob> mobs = new ArrayList<Mob>();
+	private List<Projectile> projectiles = new ArrayList<Projectile>();
+	private List<Item> items = new ArrayList<Item>();
+	private List<Particle> particles = new ArrayList<Particle>();
+
+	/**
+	 * Entities added during the current tick, waiting to be added to the list at the end of it.
+	 */
+	private List<Entity> spawns = new ArrayList<Entity>();
+
+	/**
+	 * Entities to take out of the list at the end of the current tick, in the order they are in the list.
+	 */
+	private List<Entity> removals = new ArrayList<Entity>();
+
+	/**
+	 * Whether a tick is in progress.
+	 */
+	private boolean ticking = false;
+
+	/**
+	 * @return the entities, which mustn't be added to or removed from directly during a tick
+	 */
+	public List<Entity> getEntities() {
+		return entities;
+	}
+
+	/**
+	 * @return the characters (the player and mobs), in the same order as in the list of every entity
+	 */
+	public List<Character> getCharacters() {
+		return characters;
+	}
+
+	/**
+	 * @return the mobs, in the same order as in the list of every entity
+	 */
+	public List<Mob> getMobs() {
+		return mobs;
+	}
+
+	/**
+	 * @return the projectiles, in the same order as in the list of every entity
+	 */
+	public List<Projectile> getProjectiles() {
+		return projectiles;
+	}
+
+	/**
+	 * @return the items (including powerups and upgrades), in the same order as in the list of every entity
+	 */
+	public List<Item> getItems() {
+		return items;
+	}
+
+	/**
+	 * @return the particles, in the same order as in the list of every entity
+	 */
+	public List<Particle> getParticles() {
+		return particles;
+	}
+
+	/**
+	 * Adds an entity to the list, or at the end of the current tick if one is in progress.
+	 *
+	 * @param entity the entity to add
+	 */
+	public void add(Entity entity) {
+		if (ticking) {
+			spawns.add(entity);
+		} else {
+			append(entity);
+		}
+	}
+
+	/**
+	 * Removes an entity from the lists straight away. Slower than removing it during a tick, and mustn't be used during
+	 * one.
+	 *
+	 * @param entity the entity to remove
+	 */
+	public void removeNow(Entity entity) {
+		entities.remove(entity);
+		characters.remove(entity);
+		mobs.remove(entity);
+		projectiles.remove(entity);
+		items.remove(entity);
+		particles.remove(entity);
+	}
+
+	/**
+	 * Starts a tick, after which the list doesn't change until the tick ends.
+	 */
+	public void beginTick() {
+		ticking = true;
+	}
+
+	/**
+	 * Takes an entity out of the list at the end of the current tick. Entities must be removed in the order they are in
+	 * the list, as they are when removed while walking through it.
+	 *
+	 * @param entity the entity to remove
+	 */
+	public void remove(Entity entity) {
+		removals.add(entity);
+	}
+
+	/**
+	 * Ends the tick, taking the removed entities out of the list and then adding the spawned ones.
+	 *
+	 * @param listener told about each entity taken out of the list
+	 */
+	public void endTick(RemovalListener listener) {
+		if (!removals.isEmpty()) {
+			compact(entities, Entity.class);
+			compact(characters, Character.class);
+			compact(mobs, Mob.class);
+			compact(projectiles, Projectile.class);
+			compact(items, Item.class);
+			compact(particles, Particle.class);
+
+			for (int i = 0; i < removals.size(); i++) {
+				listener.entityRemoved(removals.get(i));
+			}
+			removals.clear();
+		}
+
+		ticking = false;
+
+		for (int i = 0; i < spawns.size(); i++) {
+			append(spawns.get(i));
+		}
+		spawns.clear();
+	}
+
+	/**
+	 * Adds an entity to the end of the list of every entity and the list of its kind.
+	 *
+	 * @param entity the entity to add
+	 */
+	private void append(Entity entity) {
+		entities.add(entity);
+
+		if (entity instanceof Character) {
+			characters.add((Character) entity);
+
+			if (entity instanceof Mob) {
+				mobs.add((Mob) entity);
+			}
+		} else if (entity instanceof Projectile) {
+			projectiles.add((Projectile) entity);
+		} else if (entity instanceof Item) {
+			items.add((Item) entity);
+		} else if (entity instanceof Particle) {
+			particles.add((Particle) entity);
+		}
+	}
+
+	/**
+	 * Takes the removed entities out of a list in one pass, keeping the rest in order. Relies on the removed entities
+	 * being in the same order as in the list.
+	 *
+	 * @param list the list
+	 * @param type the kind of entity in the list
+	 * @param <T>  the kind of entity in the list
+	 */
+	private <T extends Entity> void compact(List<T> list, Class<T> type) {
+		int kept = 0, removed = 0;
+
+		for (int i = 0; i < list.size(); i++) {
+			T entity = list.get(i);
+
+			// Skip removed entities of other kinds, which aren't in this list.
+			while (removed < removals.size() && !type.isInstance(removals.get(removed))) {
+				removed++;
+			}
+
+			if (removed < removals.size() && entity == removals.get(removed)) {
+				removed++;
+			} else {
+				list.set(kept++, entity);
+			}
+		}
+
+		list.subList(kept, list.size()).clear();
+	}
+}
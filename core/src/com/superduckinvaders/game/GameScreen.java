@@ -1,33 +1,66 @@
 package com.superduckinvaders.game;
 
-import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.entity.Character;
 import com.superduckinvaders.game.entity.Entity;
 import com.superduckinvaders.game.entity.Player;
-import com.superduckinvaders.game.entity.item.Powerup;
 import com.superduckinvaders.game.objective.AnimatedText;
+import com.superduckinvaders.game.profiling.AllocationLog;
+import com.superduckinvaders.game.profiling.MetricsRecorder;
+import com.superduckinvaders.game.profiling.Profiler;
+import com.superduckinvaders.game.profiling.ProfilerOverlay;
+import com.superduckinvaders.game.profiling.Tracer;
 
 /**
  * Screen for interaction with the game.
  */
 public class GameScreen implements Screen {
 
+	/**
+	 * How much time each update of the round's game logic simulates, in seconds.
+	 */
+	public static final float SIMULATION_STEP = 1 / 60f;
+
+	/**
+	 * The most simulation steps to run in one frame. Beyond this the game slows down rather than trying to catch up.
+	 */
+	public static final int MAX_SIMULATION_STEPS = 5;
+
+	/**
+	 * How far outside the camera's view entities and text are still drawn, in pixels, to allow for sprites that are
+	 * bigger than their bounds and for drawing between simulation steps.
+	 */
+	private static final int CULL_MARGIN = 64;
+
+	/**
+	 * Draws Characters further up the map first, so the ones in front overlap them.
+	 */
+	private static final Comparator<Character> BACK_TO_FRONT = new Comparator<Character>() {
+		@Override
+		public int compare(Character a, Character b) {
+			return Double.compare(b.getY(), a.getY());
+		}
+	};
+
 	/**
 	 * Draw map gridlines for debug purposes.
 	 */
@@ -54,9 +87,9 @@ public class GameScreen implements Screen {
 	private Round round;
 
 	/**
-	 * The shader program used to render the radial buffs
+	 * Time that has passed but hasn't been simulated yet, in seconds.
 	 */
-	private ShaderProgram shader = new ShaderProgram(Gdx.files.internal("shaders/powerupShader.vsh"), Gdx.files.internal("shaders/powerupShader.fsh"));
+	private float accumulator = 0;
 
 	/**
 	 * Stores current window width.
@@ -74,11 +107,36 @@ public class GameScreen implements Screen {
 	 * Minimap for the current screen
 	 */
 	private Minimap miniMap;
-	
+
+	/**
+	 * Draws the powerup timers for the current screen
+	 */
+	private HudRenderer hudRenderer;
+
+	/**
+	 * Shows how long each part of the game loop is taking.
+	 */
+	private ProfilerOverlay profilerOverlay;
+
+	/**
+	 * Records metrics for each frame, to be written out when the round ends or on demand.
+	 */
+	private MetricsRecorder metricsRecorder;
+
+	/**
+	 * The part of the map the camera can see this frame, plus the cull margin.
+	 */
+	private Rectangle viewBounds = new Rectangle();
+
 	/**
-	 * List of AnimatedText objects to draw
+	 * The Characters inside the view bounds this frame. Kept between frames to save allocating it each time.
 	 */
-	private ArrayList<AnimatedText> animatedTextToDraw = new ArrayList<AnimatedText>();
+	private Array<Character> visibleCharacters = new Array<Character>(false, 64);
+
+	/**
+	 * How many entities were drawn and left out in the last frame.
+	 */
+	private int entitiesDrawn = 0, entitiesCulled = 0;
 
 	/**
 	 * Initialises this GameScreen for the specified round.
@@ -126,30 +184,12 @@ public class GameScreen implements Screen {
 		
 		mapRenderer = new OrthogonalTiledMapRenderer(round.getMap(), spriteBatch);
 		this.miniMap = new Minimap(round, spriteBatch);
+		this.hudRenderer = new HudRenderer();
+		this.profilerOverlay = new ProfilerOverlay(Assets.font);
+		profilerOverlay.setPools(round.getPools());
+		this.metricsRecorder = new MetricsRecorder(round);
 	}
 	
-	/**
-	 * Creates and adds an AnimatedText object to the list of AnimatedTexts to be drawn
-	 * @param text The text for the AnimatedText
-	 * @param x The x position for the AnimatedText
-	 * @param y The initial y position (will change over its lifetime) for the AnimatedText
-	 */
-	public void addAnimatedText(String text, float x, float y, Color color) {
-		AnimatedText animatedText = new AnimatedText(text, x, y, color);
-		boolean added = false;
-		for (int i=0; i<animatedTextToDraw.size(); i++) {
-			// Overwrite null entries
-			if (animatedTextToDraw.get(i) == null) {
-				animatedTextToDraw.set(i, animatedText);
-				added = true;
-				break;
-			}
-		}
-		if (!added) {
-			animatedTextToDraw.add(animatedText);
-		}
-	}
-
 	/**
 	 * Main game drawing loop.
 	 *
@@ -157,8 +197,46 @@ public class GameScreen implements Screen {
 	 */
 	@Override
 	public void render(float delta) {
-		//update the round game logic.
-		round.update(delta);
+		long renderStart = Tracer.begin(), start = renderStart;
+
+		// Press tab to toggle minimap (once per frame, however many steps we simulate).
+		if (Gdx.input.isKeyJustPressed(Input.Keys.TAB)) {
+			Player.minimapOn = !Player.minimapOn;
+		}
+
+		// Press F3 to toggle the profiler overlay.
+		if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+			profilerOverlay.toggle();
+		}
+
+		// Press F4 to write out the metrics recorded so far.
+		if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) {
+			exportMetrics();
+		}
+
+		// Press F6 to toggle counting the bytes allocated each frame.
+		if (Gdx.input.isKeyJustPressed(Input.Keys.F6)) {
+			profilerOverlay.toggleAllocations();
+		}
+
+		//update the round game logic in fixed steps, so it behaves the same at any frame rate.
+		start = Tracer.end("GameScreen.handleInput", start);
+		accumulator += delta;
+		int steps = 0;
+		while (accumulator >= SIMULATION_STEP && steps < MAX_SIMULATION_STEPS && round.getGame().getScreen() == this) {
+			round.update(SIMULATION_STEP);
+			accumulator -= SIMULATION_STEP;
+			steps++;
+		}
+
+		// Drop any time we couldn't catch up on rather than falling further behind.
+		if (accumulator >= SIMULATION_STEP) {
+			accumulator = 0;
+		}
+
+		// Draw entities part of the way into the next step.
+		round.setInterpolationAlpha(accumulator / SIMULATION_STEP);
+		start = Tracer.end("GameScreen.simulate", start);
 		
 		//clear the screen with absolute transparency.
 		Gdx.gl.glClearColor(0, 0, 0, 1);
@@ -171,6 +249,7 @@ public class GameScreen implements Screen {
 		spriteBatch.begin();
 		
 		// Render base and collision layers.
+		Profiler.begin(Profiler.MAP);
 		mapRenderer.setView(gameCam);
 		mapRenderer.renderTileLayer(round.getBaseLayer());
 		mapRenderer.renderTileLayer(round.getCollisionLayer());
@@ -182,19 +261,24 @@ public class GameScreen implements Screen {
 
 		//Render water layer
 		mapRenderer.renderTileLayer((TiledMapTileLayer) round.getMap().getLayers().get("Water"));
+		Profiler.end();
+		start = Tracer.end("GameScreen.drawMap", start);
 
-		// Draw all entities.
-		for (Entity entity : round.getEntities()) {
-			entity.render(spriteBatch);
-		}
-		
-		// Draw animated text
+		// Draw the entities and animated text the camera can see.
+		Profiler.begin(Profiler.ENTITIES);
+		updateViewBounds();
+		drawEntities();
 		drawAnimatedText(delta);
+		Profiler.end();
+		start = Tracer.end("GameScreen.drawEntities", start);
 
 		// Render overhang layer (draws over the player).
+		Profiler.begin(Profiler.MAP);
 		if (round.getOverhangLayer() != null) {
 			mapRenderer.renderTileLayer(round.getOverhangLayer());
 		}
+		Profiler.end();
+		start = Tracer.end("GameScreen.drawOverhang", start);
 		
 		//set batch to draw UI
 		Matrix4 uiMatrix = gameCam.combined.cpy();
@@ -202,22 +286,53 @@ public class GameScreen implements Screen {
 		spriteBatch.setProjectionMatrix(uiMatrix);
 		
 		//draw main UI elements
+		Profiler.begin(Profiler.HUD);
 		drawPlayerObjectiveAndScore();
 		drawPlayerStaminaBar();
 		drawPlayerHearts();
+		Profiler.end();
+		start = Tracer.end("GameScreen.drawHud", start);
+
+		Profiler.begin(Profiler.MINIMAP);
 		if (Player.minimapOn) {
 			miniMap.drawMinimap(prevWindowWidth,prevWindowHeight);
 		}
+		Profiler.end();
+		start = Tracer.end("GameScreen.drawMinimap", start);
+
+		profilerOverlay.setEntityCounts(entitiesDrawn, entitiesCulled);
+		profilerOverlay.draw(spriteBatch, 10, DuckGame.GAME_HEIGHT - 10);
 
 		spriteBatch.end();
+		start = Tracer.end("SpriteBatch.end", start);
 
 		//draw custom powerup icon timers
-		drawPlayerPowerupTimers();
+		Profiler.begin(Profiler.HUD);
+		hudRenderer.drawPowerupTimers(round.getPlayer());
+		Profiler.end();
+		Tracer.end("HudRenderer.drawPowerupTimers", start);
 
 		//debugging purposes
 		if (gridlines) {
 			drawGridlines();
 		}
+
+		Profiler.endFrame();
+		AllocationLog.update();
+		metricsRecorder.record(delta, steps, entitiesDrawn, entitiesCulled);
+		Tracer.end("GameScreen.render", renderStart);
+	}
+
+	/**
+	 * Writes the metrics recorded for the last minute or so of frames to the Saves/Metrics folder, as both CSV and
+	 * JSON files named after the current time.
+	 */
+	public void exportMetrics() {
+		String name = "Saves/Metrics/round-" + TimeUtils.millis();
+
+		metricsRecorder.writeCsv(Gdx.files.external(name + ".csv"));
+		metricsRecorder.writeJson(Gdx.files.external(name + ".json"));
+		Gdx.app.log("GameScreen", "Wrote metrics to " + name + ".csv and .json");
 	}
 
 	/**
@@ -225,8 +340,8 @@ public class GameScreen implements Screen {
 	 */
 	private void handlePlayerCamera() {
 		// Centre the camera on the player.
-		double cameraX = round.getPlayer().getX() + round.getPlayer().getWidth() / 2;
-		double cameraY = round.getPlayer().getY() + round.getPlayer().getHeight() / 2;
+		double cameraX = round.getPlayer().getRenderX() + round.getPlayer().getWidth() / 2;
+		double cameraY = round.getPlayer().getRenderY() + round.getPlayer().getHeight() / 2;
 		float cameraWidth = gameCam.viewportWidth;
 		float cameraHeight = gameCam.viewportHeight;
 		// Clamp camera position to edges of the map
@@ -246,6 +361,79 @@ public class GameScreen implements Screen {
 		gameCam.update();
 	}
 
+	/**
+	 * Works out the part of the map the camera can see, plus a margin for anything drawn outside its bounds.
+	 */
+	private void updateViewBounds() {
+		float viewWidth = gameCam.viewportWidth * gameCam.zoom;
+		float viewHeight = gameCam.viewportHeight * gameCam.zoom;
+
+		viewBounds.set(gameCam.position.x - viewWidth / 2 - CULL_MARGIN, gameCam.position.y - viewHeight / 2 - CULL_MARGIN,
+				viewWidth + CULL_MARGIN * 2, viewHeight + CULL_MARGIN * 2);
+	}
+
+	/**
+	 * Draws the entities inside the view bounds. Characters are found through the round's spatial hash and drawn on top
+	 * of the other entities, back to front.
+	 */
+	private void drawEntities() {
+		int viewX = (int) viewBounds.x, viewY = (int) viewBounds.y;
+		int viewWidth = (int) viewBounds.width, viewHeight = (int) viewBounds.height;
+
+		entitiesDrawn = 0;
+
+		// Items lie on the floor, under the projectiles and particle effects.
+		drawVisible(round.getItems());
+		drawVisible(round.getProjectiles());
+		drawVisible(round.getParticles());
+
+		round.getSpatialHash().query(viewX, viewY, viewWidth, viewHeight, visibleCharacters);
+		visibleCharacters.sort(BACK_TO_FRONT);
+
+		for (Character character : visibleCharacters) {
+			character.render(spriteBatch);
+		}
+
+		entitiesDrawn += visibleCharacters.size;
+		entitiesCulled = round.getEntities().size() - entitiesDrawn;
+	}
+
+	/**
+	 * Gets how many entities were drawn in the last frame.
+	 *
+	 * @return the number of entities drawn
+	 */
+	public int getEntitiesDrawn() {
+		return entitiesDrawn;
+	}
+
+	/**
+	 * Gets how many entities were left out of the last frame because the camera couldn't see them.
+	 *
+	 * @return the number of entities culled
+	 */
+	public int getEntitiesCulled() {
+		return entitiesCulled;
+	}
+
+	/**
+	 * Draws the entities in a list that are inside the view bounds, in the order they are in the list.
+	 * @param entities the entities to draw
+	 */
+	private void drawVisible(List<? extends Entity> entities) {
+		int viewX = (int) viewBounds.x, viewY = (int) viewBounds.y;
+		int viewWidth = (int) viewBounds.width, viewHeight = (int) viewBounds.height;
+
+		for (int i = 0; i < entities.size(); i++) {
+			Entity entity = entities.get(i);
+
+			if (entity.intersects(viewX, viewY, viewWidth, viewHeight)) {
+				entity.render(spriteBatch);
+				entitiesDrawn++;
+			}
+		}
+	}
+
 	/**
 	 * Draws the Tiled gridlines for debugging purposes.
 	 */
@@ -264,44 +452,6 @@ public class GameScreen implements Screen {
 	}
 	
 
-	/**
-	 * Draws the radial countdown timers for the player acquired powerups.
-	 */
-	private void drawPlayerPowerupTimers() {
-		SpriteBatch powerupBatch = new SpriteBatch();
-		ShaderProgram.pedantic = false;
-		if (shader.getLog().length() > 0)
-			shader.getLog();
-		powerupBatch.setShader(shader);
-		powerupBatch.begin();
-
-		//Draw powerup buffs
-		int powerupCount = 0;
-		for (Player.Powerup powerup : Player.Powerup.values()) {
-			if (round.getPlayer().powerupIsActive(powerup)) {
-				TextureRegion powerupTexture = new TextureRegion(Player.Powerup.getTextureForPowerup(powerup));
-				int powerupDrawScale = 3;
-				float powerupWidth = powerupTexture.getRegionWidth();
-				float powerupHeight = powerupTexture.getRegionHeight();
-				float powerupX = Gdx.graphics.getWidth() - 62 - powerupWidth*powerupDrawScale*powerupCount*1.2f;
-				float powerupY = 49;
-
-				double proportionTimeLeft = round.getPlayer().getPowerupTimeRemaining(powerup)/Powerup.getMaxPowerupTime(powerup);
-				shader.setUniformf("u_centre", powerupX + 2 + (powerupWidth*powerupDrawScale)/2, powerupY - 1 + (powerupHeight*powerupDrawScale)/2);
-				shader.setUniformf("u_powerupWidth", powerupWidth*powerupDrawScale);
-				//Starts at 0 and increases to 2*pi
-				shader.setUniformf("u_currentAngle", (float) (2*Math.PI - (proportionTimeLeft*2*Math.PI)));
-				powerupBatch.draw(powerupTexture, powerupX, powerupY, powerupWidth*powerupDrawScale, powerupHeight*powerupDrawScale);
-				powerupBatch.flush();
-				powerupCount += 1;
-			}
-		}
-		powerupBatch.end();
-		powerupBatch.dispose();
-	}
-
-
-
 	/**
 	 * Draws the players health as three hearts.
 	 */
@@ -352,16 +502,19 @@ public class GameScreen implements Screen {
 	}
 	
 	/**
-	 * Draw each individual animated text to the SpriteBatch
+	 * Draw each of the round's animated text to the SpriteBatch
 	 * @param delta Time since last render
 	 */
 	private void drawAnimatedText(float delta) {
-		for (int i=0; i<animatedTextToDraw.size(); i++) {
-			AnimatedText animatedText = animatedTextToDraw.get(i);
-			if (animatedText == null) continue;
-			boolean timerNotFinished = animatedText.draw(spriteBatch, delta);
-			// If timer on text is finished set it to null to allow it to be picked up by the garbage collector
-			if (!timerNotFinished) animatedTextToDraw.set(i, null);
+		List<AnimatedText> animatedText = round.getAnimatedText();
+		for (int i=0; i<animatedText.size(); i++) {
+			AnimatedText text = animatedText.get(i);
+			// If timer on text is finished remove it from the round
+			if (!text.update(delta)) {
+				round.removeAnimatedText(i--);
+			} else if (viewBounds.contains(text.getX(), text.getY())) {
+				text.draw(spriteBatch);
+			}
 		}
 	}
 
@@ -402,6 +555,8 @@ public class GameScreen implements Screen {
 		DuckGame.stopMusic();
 		mapRenderer.dispose();
 		spriteBatch.dispose();
+		miniMap.dispose();
+		hudRenderer.dispose();
 	}
 
 }
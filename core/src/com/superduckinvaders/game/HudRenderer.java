@@ -0,0 +1,110 @@
+package com.superduckinvaders.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.superduckinvaders.game.entity.Player;
+import com.superduckinvaders.game.entity.item.Powerup;
+
+/**
+ * Draws the radial timers over the active powerup icons. Owns its batch and shader for the lifetime of the GameScreen,
+ * and draws every icon in one call: each icon's timer is an element of a uniform array, picked out in the vertex
+ * shader by the index held in the red channel of the icon's colour.
+ */
+public class HudRenderer {
+
+	/**
+	 * The most timers that can be drawn at once, one for each powerup. Must match the size of u_timers in the shader.
+	 */
+	private static final int MAX_TIMERS = 5;
+
+	/**
+	 * How much the powerup icons are scaled up by.
+	 */
+	private static final int POWERUP_DRAW_SCALE = 3;
+
+	/**
+	 * The batch the powerup icons are drawn with.
+	 */
+	private SpriteBatch batch;
+
+	/**
+	 * The shader program used to render the radial buffs.
+	 */
+	private ShaderProgram shader;
+
+	/**
+	 * Maps batch coordinates to window pixels, which is what the shader works in.
+	 */
+	private Matrix4 projection = new Matrix4();
+
+	/**
+	 * The centre x, centre y, radius and current angle of each timer being drawn.
+	 */
+	private float[] timers = new float[MAX_TIMERS * 4];
+
+	/**
+	 * Initialises this HudRenderer, compiling its shader.
+	 */
+	public HudRenderer() {
+		ShaderProgram.pedantic = false;
+		shader = new ShaderProgram(Gdx.files.internal("shaders/powerupShader.vsh"), Gdx.files.internal("shaders/powerupShader.fsh"));
+
+		if (!shader.isCompiled()) {
+			Gdx.app.error("HudRenderer", shader.getLog());
+		}
+
+		batch = new SpriteBatch(MAX_TIMERS, shader);
+	}
+
+	/**
+	 * Draws an icon for each of the player's active powerups in the bottom right, with the time used up shaded.
+	 *
+	 * @param player the player whose powerups to draw
+	 */
+	public void drawPowerupTimers(Player player) {
+		projection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		batch.setProjectionMatrix(projection);
+		batch.begin();
+
+		int powerupCount = 0;
+		for (Player.Powerup powerup : Player.Powerup.values()) {
+			if (player.powerupIsActive(powerup)) {
+				TextureRegion powerupTexture = Player.Powerup.getTextureForPowerup(powerup);
+				float powerupWidth = powerupTexture.getRegionWidth() * POWERUP_DRAW_SCALE;
+				float powerupHeight = powerupTexture.getRegionHeight() * POWERUP_DRAW_SCALE;
+				float powerupX = Gdx.graphics.getWidth() - 62 - powerupWidth * powerupCount * 1.2f;
+				float powerupY = 49;
+
+				double proportionTimeLeft = player.getPowerupTimeRemaining(powerup) / Powerup.getMaxPowerupTime(powerup);
+				timers[powerupCount * 4] = powerupX + 2 + powerupWidth / 2;
+				timers[powerupCount * 4 + 1] = powerupY - 1 + powerupHeight / 2;
+				timers[powerupCount * 4 + 2] = powerupWidth;
+				//Starts at 0 and increases to 2*pi
+				timers[powerupCount * 4 + 3] = (float) (2 * Math.PI - (proportionTimeLeft * 2 * Math.PI));
+
+				// The shader reads the timer index back out of the red channel.
+				batch.setColor((powerupCount + 0.5f) / 255, 1, 1, 1);
+				batch.draw(powerupTexture, powerupX, powerupY, powerupWidth, powerupHeight);
+				powerupCount += 1;
+			}
+		}
+
+		// The icons share one texture and the batch holds MAX_TIMERS of them, so nothing is flushed before end().
+		if (powerupCount > 0) {
+			shader.setUniform4fv("u_timers", timers, 0, powerupCount * 4);
+		}
+
+		batch.end();
+	}
+
+	/**
+	 * Disposes the batch and shader.
+	 */
+	public void dispose() {
+		batch.dispose();
+		shader.dispose();
+	}
+}
@@ -80,7 +80,7 @@ public class LevelSelectScreen implements Screen {
 
 			public void clicked(InputEvent event, float x, float y) {
 				DuckGame.playSoundEffect(Assets.buttonPress, 1);
-				parent.showGameScreen(new Round(parent, Assets.levelOneMap));
+				parent.playLevel(1);
 			}
 		});
 
@@ -110,7 +110,7 @@ public class LevelSelectScreen implements Screen {
 
 				public void clicked(InputEvent event, float x, float y) {
 					DuckGame.playSoundEffect(Assets.buttonPress, 1);
-					parent.showGameScreen(new Round(parent, Assets.levelTwoMap));
+					parent.playLevel(2);
 				}
 			});
 		}
@@ -141,7 +141,7 @@ public class LevelSelectScreen implements Screen {
 
 				public void clicked(InputEvent event, float x, float y) {
 					DuckGame.playSoundEffect(Assets.buttonPress, 1);
-					parent.showGameScreen(new Round(parent, Assets.levelThreeMap));
+					parent.playLevel(3);
 				}
 			});
 		}
@@ -171,7 +171,7 @@ public class LevelSelectScreen implements Screen {
 
 				public void clicked(InputEvent event, float x, float y) {
 					DuckGame.playSoundEffect(Assets.buttonPress, 1);
-					parent.showGameScreen(new Round(parent, Assets.levelFourMap));
+					parent.playLevel(4);
 				}
 			});
 		}
@@ -202,7 +202,7 @@ public class LevelSelectScreen implements Screen {
 
 				public void clicked(InputEvent event, float x, float y) {
 					DuckGame.playSoundEffect(Assets.buttonPress, 1);
-					parent.showGameScreen(new Round(parent, Assets.levelFiveMap));
+					parent.playLevel(5);
 				}
 			});
 		}
@@ -232,7 +232,7 @@ public class LevelSelectScreen implements Screen {
 
 				public void clicked(InputEvent event, float x, float y) {
 					DuckGame.playSoundEffect(Assets.buttonPress, 1);
-					parent.showGameScreen(new Round(parent, Assets.levelSixMap));
+					parent.playLevel(6);
 				}
 			});
 		}
@@ -262,7 +262,7 @@ public class LevelSelectScreen implements Screen {
 
 				public void clicked(InputEvent event, float x, float y) {
 					DuckGame.playSoundEffect(Assets.buttonPress, 1);
-					parent.showGameScreen(new Round(parent, Assets.levelSevenMap));
+					parent.playLevel(7);
 				}
 			});
 		}
@@ -292,7 +292,7 @@ public class LevelSelectScreen implements Screen {
 
 				public void clicked(InputEvent event, float x, float y) {
 					DuckGame.playSoundEffect(Assets.buttonPress, 1);
-					parent.showGameScreen(new Round(parent, Assets.levelEightMap));
+					parent.playLevel(8);
 				}
 			});
 		}
@@ -0,0 +1,139 @@
+package com.superduckinvaders.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.math.Matrix4;
+import com.superduckinvaders.game.assets.Assets;
+
+/**
+ * Screen which shows a progress bar while the assets load, then moves on to the start screen or a level.
+ */
+public class LoadingScreen implements Screen {
+
+	/**
+	 * Size of the progress bar.
+	 */
+	private static final int BAR_WIDTH = 400, BAR_HEIGHT = 20;
+
+	/**
+	 * The DuckGame this LoadingScreen belongs to.
+	 */
+	private DuckGame parent;
+
+	/**
+	 * The level to start once everything has loaded, or 0 to show the start screen once the menus have loaded.
+	 */
+	private int level;
+
+	/**
+	 * Used to draw the progress bar.
+	 */
+	private ShapeRenderer shapeRenderer;
+
+	/**
+	 * Used to draw the text, once the font has loaded.
+	 */
+	private SpriteBatch spriteBatch;
+
+	/**
+	 * Initialises this LoadingScreen.
+	 * @param parent the game the screen is associated with
+	 * @param level the level to start once everything has loaded, or 0 to show the start screen once the menus have
+	 *              loaded
+	 */
+	public LoadingScreen(DuckGame parent, int level) {
+		this.parent = parent;
+		this.level = level;
+	}
+
+	/**
+	 * Shows this LoadingScreen. Called by libGDX to set up the graphics.
+	 */
+	@Override
+	public void show() {
+		Gdx.input.setInputProcessor(null);
+
+		shapeRenderer = new ShapeRenderer();
+		spriteBatch = new SpriteBatch();
+	}
+
+	/**
+	 * Main screen loop. DuckGame keeps the assets loading; this moves on once enough of them have.
+	 *
+	 * @param delta how much time has passed since the last update
+	 */
+	@Override
+	public void render(float delta) {
+		if (level == 0 && Assets.isMenuLoaded()) {
+			parent.showStartScreen();
+			return;
+		} else if (level != 0 && Assets.isLoaded()) {
+			parent.playLevel(level);
+			return;
+		}
+
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+		int barX = (Gdx.graphics.getWidth() - BAR_WIDTH) / 2;
+		int barY = (Gdx.graphics.getHeight() - BAR_HEIGHT) / 2;
+
+		shapeRenderer.begin(ShapeType.Line);
+		shapeRenderer.rect(barX - 2, barY - 2, BAR_WIDTH + 4, BAR_HEIGHT + 4);
+		shapeRenderer.end();
+		shapeRenderer.begin(ShapeType.Filled);
+		shapeRenderer.rect(barX, barY, BAR_WIDTH * Assets.getProgress(), BAR_HEIGHT);
+		shapeRenderer.end();
+
+		if (Assets.isMenuLoaded()) {
+			spriteBatch.begin();
+			Assets.font.draw(spriteBatch, "Loading...", barX, barY + BAR_HEIGHT + 40);
+			spriteBatch.end();
+		}
+	}
+
+	/**
+	 * Keeps the progress bar centred when the window is resized.
+	 */
+	@Override
+	public void resize(int width, int height) {
+		Matrix4 projection = new Matrix4().setToOrtho2D(0, 0, width, height);
+		shapeRenderer.setProjectionMatrix(projection);
+		spriteBatch.setProjectionMatrix(projection);
+	}
+
+	/**
+	 * Not used.
+	 */
+	@Override
+	public void pause() {
+	}
+
+	/**
+	 * Not used.
+	 */
+	@Override
+	public void resume() {
+	}
+
+	/**
+	 * Disposes of this screen once it has been replaced.
+	 */
+	@Override
+	public void hide() {
+		dispose();
+	}
+
+	/**
+	 * Called to dispose libGDX objects used by this LoadingScreen.
+	 */
+	@Override
+	public void dispose() {
+		shapeRenderer.dispose();
+		spriteBatch.dispose();
+	}
+}
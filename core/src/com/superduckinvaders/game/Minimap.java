@@ -9,6 +9,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.maps.MapLayers;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.MathUtils;
 import com.superduckinvaders.game.entity.Player;
 import com.superduckinvaders.game.Round;
 /**
@@ -20,9 +21,34 @@ public class Minimap {
 	 * Width of the minimap border.
 	 */
 	private static final int BORDER_WIDTH = 2;
+
+	/**
+	 * How many tiles across and up the minimap shows. Odd numbers so the player is centred.
+	 */
+	private static final int MINIMAP_WIDTH = 51, MINIMAP_HEIGHT = 51;
+
+	/**
+	 * How many pixels wide and high each tile is drawn.
+	 */
+	private static final int MINIMAP_SCALE = 4;
 	
 	private Round round;
 	private SpriteBatch spriteBatch;
+
+	/**
+	 * The terrain colour of every tile in the map, one texel per tile with the top row first.
+	 */
+	private Texture terrainTexture;
+
+	/**
+	 * A single white texel, tinted to draw the border and the markers.
+	 */
+	private Texture markerTexture;
+
+	/**
+	 * The tile the objective is marked on.
+	 */
+	private int objectiveTileX, objectiveTileY;
 	
 	/**
 	 * Each enumerable represents an object or obstacle in the game world.
@@ -57,79 +83,114 @@ public class Minimap {
 		colorDictionary.put(minimapColors.OBJECTIVE, 0xFF0000FF);
 		colorDictionary.put(minimapColors.PLAYER, 0xFFFFFFFF);
 	}
+
+	/**
+	 * Colours of the markers drawn over the terrain.
+	 */
+	private static final Color OBJECTIVE_COLOR = new Color(colorDictionary.get(minimapColors.OBJECTIVE));
+	private static final Color PLAYER_COLOR = new Color(colorDictionary.get(minimapColors.PLAYER));
 	
 	/**
-	 * Initialises the minimap with the current round and the round SpriteBatch.
+	 * Initialises the minimap with the current round and the round SpriteBatch, colouring the whole map's terrain into
+	 * a texture once so drawing doesn't need to look at the map layers.
 	 * @param round the current round of the game.
 	 * @param spriteBatch the spritebatch used in the current round of the game.
 	 */
 	public Minimap(Round round, SpriteBatch spriteBatch){
 		this.round = round;
 		this.spriteBatch = spriteBatch;
+
+		// One tile left of ObjectiveX, where the minimap has always marked the objective.
+		objectiveTileX = Integer.parseInt(round.getMap().getProperties().get("ObjectiveX").toString()) - 1;
+		objectiveTileY = Integer.parseInt(round.getMap().getProperties().get("ObjectiveY").toString());
+
+		Pixmap terrain = createPixmap();
+		terrainTexture = new Texture(terrain);
+		terrain.dispose();
+
+		Pixmap marker = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+		marker.setColor(Color.WHITE);
+		marker.fill();
+		markerTexture = new Texture(marker);
+		marker.dispose();
 	}
 	
 	/**
-	 * Draws a minimap in the top right using coloured cells.
+	 * Draws a minimap in the top right, showing the part of the terrain texture around the player with the objective
+	 * and player marked on top.
 	 */
 	public void drawMinimap(int prevWindowWidth,int prevWindowHeight) {
 		Player player = round.getPlayer();
-		MapLayers layers = round.getMap().getLayers();
 
-		int tileWidth = round.getTileWidth();
-		int tileHeight = round.getTileHeight();
-		int mapWidth = round.getMapWidth();
-		int mapHeight = round.getMapHeight();
-		int playerX = (int) player.getX()/tileWidth;
-		int playerY = (int) player.getY()/tileHeight;
-
-		// Odd numbers so player is centred
-		int minimapWidth = 51;
-		int minimapHeight = 51;
-		int minimapScale = 4;
+		int playerX = (int) player.getX()/round.getTileWidth();
+		int playerY = (int) player.getY()/round.getTileHeight();
 		
 		//calculate offset for positioning of minimap
-	
-		
-		
-		int resizeOffsetX = (Gdx.graphics.getWidth() - prevWindowWidth ) == 0 ? minimapWidth*minimapScale : (minimapWidth*minimapScale + (Gdx.graphics.getWidth() - prevWindowWidth));
-		int resizeOffsetY = (Gdx.graphics.getHeight() - prevWindowHeight ) == 0 ? minimapHeight*minimapScale : (minimapHeight*minimapScale + (Gdx.graphics.getHeight() - prevWindowHeight));
+		int resizeOffsetX = (Gdx.graphics.getWidth() - prevWindowWidth ) == 0 ? MINIMAP_WIDTH*MINIMAP_SCALE : (MINIMAP_WIDTH*MINIMAP_SCALE + (Gdx.graphics.getWidth() - prevWindowWidth));
+		int resizeOffsetY = (Gdx.graphics.getHeight() - prevWindowHeight ) == 0 ? MINIMAP_HEIGHT*MINIMAP_SCALE : (MINIMAP_HEIGHT*MINIMAP_SCALE + (Gdx.graphics.getHeight() - prevWindowHeight));
 		
 		int minimapX = Gdx.graphics.getWidth() - resizeOffsetX - 88;
 		int minimapY = Gdx.graphics.getHeight() - resizeOffsetY - 8;
-		int minimapXOffset = playerX - minimapWidth/2;
-		int minimapYOffset = playerY - minimapHeight/2;
-		// +2 pixels for the border
-		Pixmap minimapData = new Pixmap(minimapWidth*minimapScale+2*BORDER_WIDTH, minimapHeight*minimapScale+2*BORDER_WIDTH, Pixmap.Format.RGBA8888);
+
+		// Keep the player centred except near the edges of the map.
+		int minimapXOffset = MathUtils.clamp(playerX - MINIMAP_WIDTH/2, 0, round.getWidthInTiles() - MINIMAP_WIDTH);
+		int minimapYOffset = MathUtils.clamp(playerY - MINIMAP_HEIGHT/2, 0, round.getHeightInTiles() - MINIMAP_HEIGHT);
+
+		float previousColor = spriteBatch.getPackedColor();
+
+		// Draw minimap border
+		spriteBatch.setColor(Color.BLACK);
+		spriteBatch.draw(markerTexture, minimapX, minimapY, MINIMAP_WIDTH*MINIMAP_SCALE+2*BORDER_WIDTH, MINIMAP_HEIGHT*MINIMAP_SCALE+2*BORDER_WIDTH);
+
+		// The texture's rows run from the top of the map down.
+		spriteBatch.setColor(Color.WHITE);
+		spriteBatch.draw(terrainTexture, minimapX+BORDER_WIDTH, minimapY+BORDER_WIDTH, MINIMAP_WIDTH*MINIMAP_SCALE, MINIMAP_HEIGHT*MINIMAP_SCALE,
+				minimapXOffset, round.getHeightInTiles() - minimapYOffset - MINIMAP_HEIGHT, MINIMAP_WIDTH, MINIMAP_HEIGHT, false, false);
+
+		drawMarker(objectiveTileX - minimapXOffset, objectiveTileY - minimapYOffset, minimapX, minimapY, OBJECTIVE_COLOR);
+		drawMarker(playerX - minimapXOffset, playerY - minimapYOffset, minimapX, minimapY, PLAYER_COLOR);
+
+		spriteBatch.setColor(previousColor);
+	}
+
+	/**
+	 * Draws a one-tile marker on the minimap, if it's inside the part being shown.
+	 * @param i the marker's tile x coordinate relative to the left of the minimap
+	 * @param j the marker's tile y coordinate relative to the bottom of the minimap
+	 * @param minimapX the x coordinate of the minimap on the screen
+	 * @param minimapY the y coordinate of the minimap on the screen
+	 * @param color the colour of the marker
+	 */
+	private void drawMarker(int i, int j, int minimapX, int minimapY, Color color) {
+		if (i >= 0 && i < MINIMAP_WIDTH && j >= 0 && j < MINIMAP_HEIGHT) {
+			spriteBatch.setColor(color);
+			spriteBatch.draw(markerTexture, minimapX+BORDER_WIDTH+i*MINIMAP_SCALE, minimapY+BORDER_WIDTH+j*MINIMAP_SCALE, MINIMAP_SCALE, MINIMAP_SCALE);
+		}
+	}
+
+	/**
+	 * Colours every tile in the map by its terrain into a new pixmap, one pixel per tile with the top row first. The
+	 * caller must dispose the pixmap.
+	 * @return the terrain pixels
+	 */
+	public Pixmap createPixmap() {
+		MapLayers layers = round.getMap().getLayers();
+
+		int widthInTiles = round.getWidthInTiles();
+		int heightInTiles = round.getHeightInTiles();
+
+		Pixmap minimapData = new Pixmap(widthInTiles, heightInTiles, Pixmap.Format.RGBA8888);
 		TiledMapTileLayer waterLayer = (TiledMapTileLayer) layers.get("Water");
 		TiledMapTileLayer baseLayer = (TiledMapTileLayer) layers.get("Base");
 		TiledMapTileLayer collisionLayer = (TiledMapTileLayer) layers.get("Collision");
 		TiledMapTileLayer obstaclesLayer = round.getObstaclesLayer();
 		TiledMapTileLayer overhangLayer = (TiledMapTileLayer) layers.get("Overhang");
 		
-		
-		
-
-		if (playerX < minimapWidth/2) {
-			minimapXOffset = 0;
-		}
-		if (playerY < minimapHeight/2) {
-			minimapYOffset = 0;
-		}
-		if (playerX >= mapWidth/tileWidth - minimapWidth/2) {
-			minimapXOffset = mapWidth/tileWidth - minimapWidth;
-		}
-		if (playerY >= mapHeight/tileHeight - minimapHeight/2) {
-			minimapYOffset = mapHeight/tileHeight - minimapHeight;
-		}
-		
 		// Defines the colour for each cell
-		for (int i=0; i<minimapWidth; i++) {
-			for (int j=0; j<minimapHeight; j++) {
+		for (int absoluteX=0; absoluteX<widthInTiles; absoluteX++) {
+			for (int absoluteY=0; absoluteY<heightInTiles; absoluteY++) {
 				// Default green grass colour
 				int cellColor = colorDictionary.get(minimapColors.GRASS);
-				int absoluteX = i + minimapXOffset;
-				int absoluteY = j + minimapYOffset;
-
 				// Cell is on the base layer
 				if (baseLayer.getCell(absoluteX, absoluteY) != null) {
 					int cellID = baseLayer.getCell(absoluteX, absoluteY).getTile().getId();
@@ -164,12 +225,6 @@ public class Minimap {
 						cellColor = colorDictionary.get(minimapColors.BUILDING);
 					}
 				}
-				// Cell contains objective
-				if (Integer.parseInt(round.getMap().getProperties().get("ObjectiveX").toString())==i+minimapXOffset+1
-						&& Integer.parseInt(round.getMap().getProperties().get("ObjectiveY").toString())==j+minimapYOffset) {
-					cellColor = colorDictionary.get(minimapColors.OBJECTIVE);
-				}
-				
 				// Cell contains an overhang
 				if (overhangLayer.getCell(absoluteX, absoluteY) != null){
 					int cellID = overhangLayer.getCell(absoluteX, absoluteY).getTile().getId();
@@ -178,32 +233,18 @@ public class Minimap {
 					}
 				}
 				
-				// Cell contains player
-				if (playerX - minimapXOffset == i && playerY - minimapYOffset == j) {
-					cellColor = colorDictionary.get(minimapColors.PLAYER);
-				}
-				
-				for (int k=0; k<minimapScale; k++) {
-					for (int l=0; l<minimapScale; l++) {
-						minimapData.drawPixel(i*minimapScale+k+BORDER_WIDTH, -(j*minimapScale+l)+minimapHeight*minimapScale+BORDER_WIDTH-1, cellColor);
-					}
-				}
+				minimapData.drawPixel(absoluteX, heightInTiles-1-absoluteY, cellColor);
 			}
 		}
-
-		// Draw minimap border
-		minimapData.setColor(Color.BLACK);
-		minimapData.fillRectangle(0, 0, minimapData.getWidth(), BORDER_WIDTH);;
-		minimapData.fillRectangle(0, 0, BORDER_WIDTH, minimapData.getHeight());
-		minimapData.fillRectangle(0, minimapData.getHeight()-BORDER_WIDTH, minimapData.getWidth(), BORDER_WIDTH);
-		minimapData.fillRectangle(minimapData.getWidth()-BORDER_WIDTH, 0, BORDER_WIDTH, minimapData.getHeight());
 		
-		Texture minimapTexture = new Texture(minimapData);
-		spriteBatch.draw(minimapTexture, minimapX, minimapY);
+		return minimapData;
+	}
 
-		// Need to flush because we're about to dispose the texture
-		spriteBatch.flush();
-		minimapData.dispose();
-		minimapTexture.dispose();
+	/**
+	 * Disposes the minimap's textures.
+	 */
+	public void dispose() {
+		terrainTexture.dispose();
+		markerTexture.dispose();
 	}
 }
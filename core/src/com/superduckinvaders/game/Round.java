@@ -6,7 +6,10 @@ import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.IntMap;
 import com.superduckinvaders.game.ai.BossAI;
+import com.superduckinvaders.game.ai.FlowField;
+import com.superduckinvaders.game.ai.PathfindingScheduler;
 import com.superduckinvaders.game.ai.ZombieAI;
 import com.superduckinvaders.game.assets.Assets;
 import com.superduckinvaders.game.assets.TextureSet;
@@ -15,9 +18,12 @@ import com.superduckinvaders.game.entity.*;
 import com.superduckinvaders.game.entity.item.Item;
 import com.superduckinvaders.game.entity.item.Powerup;
 import com.superduckinvaders.game.entity.item.Upgrade;
+import com.superduckinvaders.game.objective.AnimatedText;
 import com.superduckinvaders.game.objective.CollectObjective;
 import com.superduckinvaders.game.objective.Objective;
 import com.superduckinvaders.game.objective.SurviveObjective;
+import com.superduckinvaders.game.profiling.Profiler;
+import com.superduckinvaders.game.profiling.Tracer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -67,20 +73,123 @@ public final class Round {
 	 */
 	private TiledMap map;
 
+	/**
+	 * Map layers that are looked up by name once when the Round is created.
+	 */
+	private TiledMapTileLayer baseLayer, collisionLayer, overhangLayer;
+
 	/**
 	 * Map layer containing randomly-chosen layer of predefined obstacles.
 	 */
 	private TiledMapTileLayer obstaclesLayer;
 
+	/**
+	 * The size of the map in tiles and the size of each tile in pixels.
+	 */
+	private int widthInTiles, heightInTiles, tileWidth, tileHeight;
+
+	/**
+	 * Packed bitsets of map tiles, one bit per tile at index tileX + tileY * widthInTiles.
+	 * Tiles in solidTiles are blocked for everything; tiles in obstacleTiles are blocked unless flying.
+	 */
+	private long[] solidTiles, obstacleTiles;
+
 	/**
 	 * The player.
 	 */
 	private Player player;
 
 	/**
-	 * Array of all entities currently in the Round.
+	 * All entities currently in the Round, and the ones being added or removed this tick.
 	 */
-	private List<Entity> entities;
+	private EntityLifecycle lifecycle = new EntityLifecycle();
+
+	/**
+	 * Cleans up after each entity taken out of the Round.
+	 */
+	private EntityLifecycle.RemovalListener removalListener = new EntityLifecycle.RemovalListener() {
+		@Override
+		public void entityRemoved(Entity entity) {
+			onEntityRemoved(entity);
+		}
+	};
+
+	/**
+	 * Spatial hash of every Character in the Round, used to speed up collision checks.
+	 */
+	private SpatialHash spatialHash;
+
+	/**
+	 * Positions and velocities of the entities in the Round, kept in contiguous arrays, and of the entities that aren't in
+	 * it yet or are waiting in a pool.
+	 */
+	private final EntityStore holdingStore = new EntityStore(32);
+	private final EntityStore entityStore = new EntityStore(128, holdingStore);
+
+	/**
+	 * Moves the projectiles and finds what they hit.
+	 */
+	private final ProjectileResolver projectileResolver = new ProjectileResolver(this);
+
+	/**
+	 * Routes from every tile near the player to the player, shared by all the mobs.
+	 */
+	private FlowField flowField;
+
+	/**
+	 * Runs path searches for mobs that aren't covered by the flow field, within a time budget each frame.
+	 */
+	private PathfindingScheduler pathfindingScheduler;
+
+	/**
+	 * How far through the next simulation step rendering is, from 0 to 1. Entities are drawn this far between their
+	 * previous and current positions.
+	 */
+	private float interpolationAlpha = 1;
+
+	/**
+	 * Score text floating up from killed mobs, drawn by the GameScreen.
+	 */
+	private List<AnimatedText> animatedText = new ArrayList<AnimatedText>();
+
+	/**
+	 * Pools of the short-lived entities and text, which are recycled once removed instead of being left for the
+	 * garbage collector.
+	 */
+	private final CountingPool<Projectile> projectilePool = new CountingPool<Projectile>("Projectile") {
+		@Override
+		protected Projectile newObject() {
+			return new Projectile(Round.this);
+		}
+	};
+	private final CountingPool<Particle> particlePool = new CountingPool<Particle>("Particle") {
+		@Override
+		protected Particle newObject() {
+			return new Particle(Round.this);
+		}
+	};
+	private final CountingPool<Powerup> powerupPool = new CountingPool<Powerup>("Powerup") {
+		@Override
+		protected Powerup newObject() {
+			return new Powerup(Round.this);
+		}
+	};
+	private final CountingPool<AnimatedText> animatedTextPool = new CountingPool<AnimatedText>("AnimatedText") {
+		@Override
+		protected AnimatedText newObject() {
+			return new AnimatedText();
+		}
+	};
+
+	/**
+	 * The pools above, for getPools.
+	 */
+	private final CountingPool<?>[] pools = {projectilePool, particlePool, powerupPool, animatedTextPool};
+
+	/**
+	 * The text shown for each score added so far, so it isn't built again for every kill.
+	 */
+	private IntMap<String> scoreText = new IntMap<String>();
 
 	/**
 	 * The current objective.
@@ -99,14 +208,30 @@ public final class Round {
 	 * @param map the Round's map
 	 */
 	public Round(DuckGame parent, TiledMap map) {
+		long start = Tracer.begin();
+
 		this.parent = parent;
 		this.map = map;
 
+		baseLayer = (TiledMapTileLayer) map.getLayers().get("Base");
+		collisionLayer = (TiledMapTileLayer) map.getLayers().get("Collision");
+		overhangLayer = (TiledMapTileLayer) map.getLayers().get("Overhang");
+
+		widthInTiles = baseLayer.getWidth();
+		heightInTiles = baseLayer.getHeight();
+		tileWidth = (int) baseLayer.getTileWidth();
+		tileHeight = (int) baseLayer.getTileHeight();
+
 		// Choose which obstacles to use.
 		obstaclesLayer = chooseObstacles();
 
-		// Create array of entities firstly so we can add the game entities to it after the fact.
-		entities = new ArrayList<Entity>(128);
+		// Pack the blocked tiles so collision checks don't need to look up layer cells.
+		solidTiles = buildTileBitset(collisionLayer);
+		obstacleTiles = buildTileBitset(obstaclesLayer);
+
+		spatialHash = new SpatialHash(tileWidth, widthInTiles, heightInTiles);
+		flowField = new FlowField(this);
+		pathfindingScheduler = new PathfindingScheduler(this);
 		
 		// Spawn player at map defined spawn point (default 0, 0).
 		spawnPlayer(testPowerups);
@@ -116,7 +241,11 @@ public final class Round {
 		
 		// Initialise the mobCount and then spawn the specified number of mobs in the Round.
 		this.mobCount = 0;
+		long spawnStart = Tracer.begin();
 		spawnRandomMobs(NUMBER_OF_MOBS, 100, 100, 2000, 2000);
+		Tracer.end("Round.spawnRandomMobs", spawnStart);
+
+		Tracer.end("new Round", start);
 	}
 
 	/**
@@ -131,7 +260,7 @@ public final class Round {
 		int startX = Integer.parseInt(map.getProperties().get("StartX", "0", String.class)) * getTileWidth();
 		int startY = Integer.parseInt(map.getProperties().get("StartY", "0", String.class)) * getTileHeight();
 		player = new Player(this, startX, startY);
-		entities.add(player);
+		addEntity(player);
 		
 		if(testing) spawnTestingPowerups(startX, startY);
 	}
@@ -173,7 +302,7 @@ public final class Round {
 			Item objective = new Item(this, objectiveX, objectiveY, Assets.flag);
 			setObjective(new CollectObjective(this, objective));
 
-			entities.add(objective);
+			addEntity(objective);
 			break;
 
 		case(Objective.SURVIVE_OBJECTIVE):
@@ -204,6 +333,48 @@ public final class Round {
 		}
 	}
 
+	/**
+	 * Packs the occupied cells of a map layer into a bitset.
+	 *
+	 * @param layer the layer to pack, may be null
+	 * @return a bitset with one bit set for each tile that has a cell in the layer
+	 */
+	private long[] buildTileBitset(TiledMapTileLayer layer) {
+		long[] bitset = new long[(widthInTiles * heightInTiles + 63) / 64];
+
+		if (layer != null) {
+			for (int tileY = 0; tileY < heightInTiles; tileY++) {
+				for (int tileX = 0; tileX < widthInTiles; tileX++) {
+					if (layer.getCell(tileX, tileY) != null) {
+						int index = tileX + tileY * widthInTiles;
+						bitset[index >> 6] |= 1L << index;
+					}
+				}
+			}
+		}
+
+		return bitset;
+	}
+
+	/**
+	 * Gets whether the map tile at the specified tile coordinates is blocked. Tiles outside the map are not blocked.
+	 *
+	 * @param tileX the x coordinate of the tile
+	 * @param tileY the y coordinate of the tile
+	 * @param flying whether the one asking is flying (and so can pass over obstacles such as bushes)
+	 * @return whether or not the map tile is blocked
+	 */
+	public boolean isTileBlocked(int tileX, int tileY, boolean flying) {
+		if (tileX < 0 || tileY < 0 || tileX >= widthInTiles || tileY >= heightInTiles) {
+			return false;
+		}
+
+		int index = tileX + tileY * widthInTiles;
+		long bit = 1L << index;
+
+		return (solidTiles[index >> 6] & bit) != 0 || (!flying && (obstacleTiles[index >> 6] & bit) != 0);
+	}
+
 	/**
 	 * Spawns a number of random mobs the specified distance from the player.
 	 * @param amount how many random mobs to spawn
@@ -234,7 +405,7 @@ public final class Round {
 	 * @return this Round's base layer (used for calculating map width/height)
 	 */
 	public TiledMapTileLayer getBaseLayer() {
-		return (TiledMapTileLayer) getMap().getLayers().get("Base");
+		return baseLayer;
 	}
 
 	/**
@@ -242,7 +413,7 @@ public final class Round {
 	 * @return this Round's collision map layer
 	 */
 	public TiledMapTileLayer getCollisionLayer() {
-		return (TiledMapTileLayer) getMap().getLayers().get("Collision");
+		return collisionLayer;
 	}
 
 	/**
@@ -258,7 +429,7 @@ public final class Round {
 	 * @return this Round's overhang map layer (rendered over entities)
 	 */
 	public TiledMapTileLayer getOverhangLayer() {
-		return (TiledMapTileLayer) getMap().getLayers().get("Overhang");
+		return overhangLayer;
 	}
 
 	/**
@@ -266,7 +437,7 @@ public final class Round {
 	 * @return the width of this Round's map in pixels
 	 */
 	public int getMapWidth() {
-		return (int) (getBaseLayer().getWidth() * getBaseLayer().getTileWidth());
+		return widthInTiles * tileWidth;
 	}
 
 	/**
@@ -274,7 +445,23 @@ public final class Round {
 	 * @return the height of this Round's map in pixels
 	 */
 	public int getMapHeight() {
-		return (int) (getBaseLayer().getHeight() * getBaseLayer().getTileHeight());
+		return heightInTiles * tileHeight;
+	}
+
+	/**
+	 * Gets the width of the map in tiles
+	 * @return the width of this Round's map in tiles
+	 */
+	public int getWidthInTiles() {
+		return widthInTiles;
+	}
+
+	/**
+	 * Gets the height of the map in tiles
+	 * @return the height of this Round's map in tiles
+	 */
+	public int getHeightInTiles() {
+		return heightInTiles;
 	}
 
 	/**
@@ -282,7 +469,7 @@ public final class Round {
 	 * @return the width of one tile in this Round's map
 	 */
 	public int getTileWidth() {
-		return (int) getBaseLayer().getTileWidth();
+		return tileWidth;
 	}
 
 	/**
@@ -290,7 +477,7 @@ public final class Round {
 	 * @return the height of one tile in this Round's map
 	 */
 	public int getTileHeight() {
-		return (int) getBaseLayer().getTileHeight();
+		return tileHeight;
 	}
 
 	/**
@@ -317,7 +504,124 @@ public final class Round {
 	 * @return the list of all entities currently in the Round
 	 */
 	public List<Entity> getEntities() {
-		return entities;
+		return lifecycle.getEntities();
+	}
+
+	/**
+	 * Gets the characters in the round
+	 * @return the player and mobs currently in the Round, which mustn't be added to or removed from directly
+	 */
+	public List<Character> getCharacters() {
+		return lifecycle.getCharacters();
+	}
+
+	/**
+	 * Gets the mobs in the round
+	 * @return the mobs currently in the Round, which mustn't be added to or removed from directly
+	 */
+	public List<Mob> getMobs() {
+		return lifecycle.getMobs();
+	}
+
+	/**
+	 * Gets the projectiles in the round
+	 * @return the projectiles currently in the Round, which mustn't be added to or removed from directly
+	 */
+	public List<Projectile> getProjectiles() {
+		return lifecycle.getProjectiles();
+	}
+
+	/**
+	 * Gets the items in the round
+	 * @return the items, powerups and upgrades currently in the Round, which mustn't be added to or removed from directly
+	 */
+	public List<Item> getItems() {
+		return lifecycle.getItems();
+	}
+
+	/**
+	 * Gets the particles in the round
+	 * @return the particle effects currently in the Round, which mustn't be added to or removed from directly
+	 */
+	public List<Particle> getParticles() {
+		return lifecycle.getParticles();
+	}
+
+	/**
+	 * Takes an entity out of the round straight away, without scoring or respawning anything. The entity goes back to
+	 * the round's holding store, so it can be added again. Mustn't be called while the round is updating.
+	 * @param entity the entity to remove
+	 */
+	public void removeEntity(Entity entity) {
+		lifecycle.removeNow(entity);
+		entityStore.remove(entity);
+		if (entity instanceof Character) {
+			spatialHash.remove((Character) entity);
+		}
+	}
+
+	/**
+	 * Gets the spatial hash of characters in the round
+	 * @return the spatial hash containing every Character currently in the Round
+	 */
+	public SpatialHash getSpatialHash() {
+		return spatialHash;
+	}
+
+	/**
+	 * Gets the store holding the positions and velocities of the entities in the round
+	 * @return the store every entity added to the Round is kept in until it is removed
+	 */
+	public EntityStore getEntityStore() {
+		return entityStore;
+	}
+
+	/**
+	 * Gets the resolver that moves the projectiles in the round
+	 * @return the resolver used to move projectiles and find what they hit
+	 */
+	public ProjectileResolver getProjectileResolver() {
+		return projectileResolver;
+	}
+
+	/**
+	 * Gets the flow field leading mobs to the player
+	 * @return the flow field shared by every mob in the Round
+	 */
+	public FlowField getFlowField() {
+		return flowField;
+	}
+
+	/**
+	 * Gets the pathfinding scheduler shared by the mobs
+	 * @return the scheduler for path searches the flow field can't answer
+	 */
+	public PathfindingScheduler getPathfindingScheduler() {
+		return pathfindingScheduler;
+	}
+
+	/**
+	 * Gets the animated text in the round
+	 * @return the list of animated text waiting to be drawn or still being drawn
+	 */
+	public List<AnimatedText> getAnimatedText() {
+		return animatedText;
+	}
+
+	/**
+	 * Removes animated text that has finished, putting it back in its pool.
+	 * @param index the index of the text in the list returned by getAnimatedText
+	 */
+	public void removeAnimatedText(int index) {
+		animatedTextPool.free(animatedText.remove(index));
+	}
+
+	/**
+	 * Gets the pools the short-lived entities and text are recycled through, to check how well they are reused.
+	 * @return the projectile, particle, powerup and animated text pools, which mustn't be changed
+	 */
+	public CountingPool<?>[] getPools() {
+		return pools;
 	}
 
 	/**
@@ -326,7 +630,12 @@ public final class Round {
 	 * @param newEntity new entity of any type
 	 */
 	public void addEntity(Entity newEntity) {
-		entities.add(newEntity);
+		lifecycle.add(newEntity);
+		entityStore.add(newEntity);
+
+		if (newEntity instanceof Character) {
+			spatialHash.insert((Character) newEntity);
+		}
 	}
 
 	/**
@@ -361,7 +670,9 @@ public final class Round {
 	 * @param owner           the owner of the projectile (i.e. the one who fired it)
 	 */
 	public void createProjectile(double x, double y, double targetX, double targetY, double speed, double velocityXOffset, double velocityYOffset, int damage, Entity owner) {
-		entities.add(new Projectile(this, x, y, targetX, targetY, speed, velocityXOffset, velocityYOffset, damage, owner));
+		Projectile projectile = projectilePool.obtain();
+		projectile.fire(x, y, targetX, targetY, speed, velocityXOffset, velocityYOffset, damage, owner);
+		addEntity(projectile);
 	}
 
 	/**
@@ -373,7 +684,9 @@ public final class Round {
 	 * @param animation the animation to use for the particle effect
 	 */
 	public void createParticle(double x, double y, double duration, Animation animation) {
-		entities.add(new Particle(this, x - animation.getKeyFrame(0).getRegionWidth() / 2, y - animation.getKeyFrame(0).getRegionHeight() / 2, duration, animation));
+		Particle particle = particlePool.obtain();
+		particle.start(x - animation.getKeyFrame(0).getRegionWidth() / 2, y - animation.getKeyFrame(0).getRegionHeight() / 2, duration, animation);
+		addEntity(particle);
 	}
 
 	/**
@@ -385,7 +698,9 @@ public final class Round {
 	 * @param time    how long the powerup should last for
 	 */
 	public void createPowerup(double x, double y, Player.Powerup powerup) {
-		entities.add(new Powerup(this, x, y, powerup));
+		Powerup item = powerupPool.obtain();
+		item.drop(x, y, powerup);
+		addEntity(item);
 	}
 
 	/**
@@ -396,7 +711,7 @@ public final class Round {
 	 * @param upgrade the upgrade to grant to the player
 	 */
 	public void createUpgrade(double x, double y, Player.Upgrade upgrade) {
-		entities.add(new Upgrade(this, x, y, upgrade));
+		addEntity(new Upgrade(this, x, y, upgrade));
 	}
 
 	/**
@@ -411,6 +726,11 @@ public final class Round {
 	public boolean createMob(double x, double y, int health, TextureSet textureSet, int speed) {
 		float random = MathUtils.random();
 		Mob mob;
+
+		// Check mob isn't out of bounds.
+		if (x < 0 || x > getMapWidth() - textureSet.getWidth() || y < 0 || y > getMapHeight() - textureSet.getHeight()) {
+			return false;
+		}
 		
 		//spawn mobs as ranged mobs with probability of RANGED_MOB_SPAWNRATE
 		if (random < RANGED_MOB_SPAWNRATE) {
@@ -419,21 +739,7 @@ public final class Round {
 			mob = new Mob(this, x, y, health, textureSet, speed, new ZombieAI(this, 32), false,false);
 		}
 
-		// Check mob isn't out of bounds.
-		if (x < 0 || x > getMapWidth() - textureSet.getWidth() || y < 0 || y > getMapHeight() - textureSet.getHeight()) {
-			return false;
-		}
-
-		// Check mob doesn't intersect anything.
-		for (Entity entity : entities) {
-			if (entity instanceof Character
-					&& (mob.intersects(entity.getX(), entity.getY(), entity.getWidth(), entity.getHeight()) || mob.collidesX(0) || mob.collidesY(0))) {
-				return false;
-			}
-		}
-
-		entities.add(mob);
-		return true;
+		return placeMob(mob);
 	}
 	
 	/**
@@ -446,20 +752,28 @@ public final class Round {
 	 * @return true if the mob was successfully added, false if there was an intersection and the mob wasn't added
 	 */
 	private boolean createBoss(double x, double y, int health, TextureSet textureSet, int speed) {
-		Mob mob;
-		mob = new Mob(this, x, y, health, textureSet, speed, new BossAI(this, 32), false,true);
 		// Check mob isn't out of bounds.
 		if (x < 0 || x > getMapWidth() - textureSet.getWidth() || y < 0 || y > getMapHeight() - textureSet.getHeight()) {
 			return false;
 		}
-		// Check mob doesn't intersect anything.
-		for (Entity entity : entities) {
-			if (entity instanceof Character
-					&& (mob.intersects(entity.getX(), entity.getY(), entity.getWidth(), entity.getHeight()) || mob.collidesX(0) || mob.collidesY(0))) {
-				return false;
-			}
+		Mob mob;
+		mob = new Mob(this, x, y, health, textureSet, speed, new BossAI(this, 32), false,true);
+		return placeMob(mob);
+	}
+
+	/**
+	 * Adds a newly created mob to the round, but only if it doesn't intersect another character or a blocked tile.
+	 * Otherwise the mob is thrown away.
+	 * @param mob the mob, which hasn't been added yet
+	 * @return true if the mob was added, false if there was an intersection
+	 */
+	private boolean placeMob(Mob mob) {
+		if (mob.collidesX(0) || mob.collidesY(0)) {
+			entityStore.discard(mob);
+			return false;
 		}
-		entities.add(mob);
+
+		addEntity(mob);
 		return true;
 	}
 	
@@ -484,6 +798,12 @@ public final class Round {
 	}
 	
 	private void updateEntities(float delta) {
+		List<Entity> entities = lifecycle.getEntities();
+
+		// Entities removed or spawned during the tick are taken out or added once every entity has been updated.
+		lifecycle.beginTick();
+		long start = Tracer.begin();
+		Profiler.begin(Profiler.MOVEMENT);
 		for (int i = 0; i < entities.size(); i++) {
 			Entity entity = entities.get(i);
 
@@ -495,94 +815,105 @@ public final class Round {
 			}
 
 			if (entity.isRemoved()) {
-				entities.remove(i);
-				if (entity instanceof Mob) {
-					mobCount--;
-
-					int scoreToAdd = 0;
-					if (((Mob) entity).isBoss()) {
-						scoreToAdd = (int) (100 * (player.powerupIsActive(Player.Powerup.SCORE_MULTIPLIER) ? Player.PLAYER_SCORE_MULTIPLIER : 1));
-					} else {
-						scoreToAdd = (int) (10 * (player.powerupIsActive(Player.Powerup.SCORE_MULTIPLIER) ? Player.PLAYER_SCORE_MULTIPLIER : 1));
-					}
-					player.addScore(scoreToAdd);
-					
-					//create an animated text to show added score
-					Color textColor;
-					if (scoreToAdd <= 10) {
-						textColor = Color.WHITE;
-					} else if (scoreToAdd <=50){
-						textColor = Color.RED;
-					} else {
-						textColor = Color.BLACK;
-					}
-					
-					parent.getGameScreen().addAnimatedText("+" + Integer.toString(scoreToAdd), (float) (entity.getX() - entity.getWidth()/2), (float) entity.getY() + entity.getHeight(), textColor);
-					//respawn killed enemies on SurviveObjective
-					if (getObjectiveType() == Objective.SURVIVE_OBJECTIVE) {
-						//spawns 2 mobs for every 1 you kill. Levels get progressivley harder
-						spawnRandomMobs(2, 100, 100, 300, 300);
-						System.out.println(mobCount);
-					}
-				}
-			} else if (entity.distanceTo(player.getX(), player.getY()) < UPDATE_DISTANCE){
+				lifecycle.remove(entity);
+			} else if (!(entity instanceof Projectile) && entity.distanceTo(player.getX(), player.getY()) < UPDATE_DISTANCE){
 				// Don't bother updating entities that aren't on screen.
 				entity.update(delta);
 			}
 		}
+
+		Profiler.end();
+		start = Tracer.end("Round.updateEntities", start);
+
+		// Projectiles are resolved together, wherever they are, so they don't hang in the air once off screen.
+		Profiler.begin(Profiler.PROJECTILES);
+		projectileResolver.resolve(lifecycle.getProjectiles(), delta);
+		Profiler.end();
+		start = Tracer.end("ProjectileResolver.resolve", start);
+
+		Profiler.begin(Profiler.MOVEMENT);
+		lifecycle.endTick(removalListener);
+		Profiler.end();
+		Tracer.end("EntityLifecycle.endTick", start);
+	}
+
+	/**
+	 * Cleans up after an entity taken out of the Round, scoring killed mobs.
+	 * @param entity the removed entity
+	 */
+	private void onEntityRemoved(Entity entity) {
+		if (entity instanceof Character) {
+			spatialHash.remove((Character) entity);
+		}
+		// Pooled entities wait in the holding store to be reused, the rest are retired so it doesn't keep them alive.
+		if (free(entity)) {
+			entityStore.remove(entity);
+		} else {
+			entityStore.retire(entity);
+		}
+		if (entity instanceof Mob) {
+			mobCount--;
+
+			int scoreToAdd = 0;
+			if (((Mob) entity).isBoss()) {
+				scoreToAdd = (int) (100 * (player.powerupIsActive(Player.Powerup.SCORE_MULTIPLIER) ? Player.PLAYER_SCORE_MULTIPLIER : 1));
+			} else {
+				scoreToAdd = (int) (10 * (player.powerupIsActive(Player.Powerup.SCORE_MULTIPLIER) ? Player.PLAYER_SCORE_MULTIPLIER : 1));
+			}
+			player.addScore(scoreToAdd);
+			
+			//create an animated text to show added score
+			Color textColor;
+			if (scoreToAdd <= 10) {
+				textColor = Color.WHITE;
+			} else if (scoreToAdd <=50){
+				textColor = Color.RED;
+			} else {
+				textColor = Color.BLACK;
+			}
+			
+			String text = scoreText.get(scoreToAdd);
+			if (text == null) {
+				text = "+" + Integer.toString(scoreToAdd);
+				scoreText.put(scoreToAdd, text);
+			}
+			AnimatedText scoreAnimation = animatedTextPool.obtain();
+			scoreAnimation.show(text, (float) (entity.getX() - entity.getWidth()/2), (float) entity.getY() + entity.getHeight(), textColor);
+			animatedText.add(scoreAnimation);
+			//respawn killed enemies on SurviveObjective
+			if (getObjectiveType() == Objective.SURVIVE_OBJECTIVE) {
+				//spawns 2 mobs for every 1 you kill. Levels get progressivley harder
+				spawnRandomMobs(2, 100, 100, 300, 300);
+			}
+		}
 	}
 	
+	/**
+	 * Puts a removed entity back in its pool, if it is a kind that is pooled.
+	 * @param entity the removed entity
+	 * @return true if the entity was put back in a pool
+	 */
+	private boolean free(Entity entity) {
+		if (entity instanceof Projectile) {
+			projectilePool.free((Projectile) entity);
+		} else if (entity instanceof Particle) {
+			particlePool.free((Particle) entity);
+		} else if (entity instanceof Powerup) {
+			powerupPool.free((Powerup) entity);
+		} else {
+			return false;
+		}
+		return true;
+	}
+
 	private void updateObjective(float delta) {
-		// TODO Fix bug where replaying previously completed level wipes game progress.
 		if (objective != null) {
 			objective.update(delta);
 
 			if (objective.getStatus() == Objective.OBJECTIVE_COMPLETED) {
-
-				DuckGame.stopMusic();
-				DuckGame.playSoundEffect(Assets.levelComplete, 1);
-
-				//if game not already completed
-				if(!DuckGame.levelsComplete.equals("11111111")) {
-					if(map.equals(Assets.levelOneMap)){
-						DuckGame.levelsComplete="1000000";
-					} else if(map.equals(Assets.levelTwoMap)) {
-						DuckGame.levelsComplete="11000000";
-					} else if(map.equals(Assets.levelThreeMap)) {
-						DuckGame.levelsComplete="11100000";
-					} else if(map.equals(Assets.levelFourMap)) {
-						DuckGame.levelsComplete="11110000";
-					} else if(map.equals(Assets.levelFiveMap)) {
-						DuckGame.levelsComplete="11111000";
-					} else if(map.equals(Assets.levelSixMap)) {
-						DuckGame.levelsComplete="11111100";
-					} else if(map.equals(Assets.levelSevenMap)) {
-						DuckGame.levelsComplete="11111110";
-					} else if(map.equals(Assets.levelEightMap)) {
-						DuckGame.levelsComplete="11111111";
-					}
-					
-					//add level score to total
-					parent.addScoreToTotal(player.getScore());
-
-					if(DuckGame.levelsComplete.equals("11111111")) {
-						parent.showCompleteScreen();
-					} else {
-						parent.showWinScreen(player.getScore());
-					}
-
-					//game already completed so don't record score and just display game complete screen
-				} else {
-					parent.showCompleteScreen();
-				}
-
-				//always save the settings
-				DuckGame.saveSettings();
-
+				parent.completeRound(this);
 			} else if (player.isDead()) {
-				DuckGame.stopMusic();
-				DuckGame.playSoundEffect(Assets.gameOver, 1);
-				parent.showLoseScreen();
+				parent.failRound(this);
 			}
 		}
 
@@ -606,12 +937,46 @@ public final class Round {
 	 * @param delta the time elapsed since the last update
 	 */
 	public void update(float delta) {
-		
+		long updateStart = Tracer.begin(), start = updateStart;
+
+		// Remember where everything started this step so it can be drawn smoothly between steps.
+		entityStore.savePositions();
+
+		Profiler.begin(Profiler.OBJECTIVE);
 		updateObjective(delta);
+		Profiler.end();
+		start = Tracer.end("Round.updateObjective", start);
+
+		// Only rebuilds if the player has changed tile.
+		Profiler.begin(Profiler.AI);
+		flowField.update();
+		start = Tracer.end("FlowField.update", start);
+		pathfindingScheduler.update();
+		Profiler.end();
+		Tracer.end("PathfindingScheduler.update", start);
 		
 		updateEntities(delta);
+
+		Tracer.end("Round.update", updateStart);
 	}
 	
+	/**
+	 * Gets how far through the next simulation step rendering is
+	 * @return the interpolation factor between entities' previous and current positions, from 0 to 1
+	 */
+	public float getInterpolationAlpha() {
+		return interpolationAlpha;
+	}
+
+	/**
+	 * Sets how far through the next simulation step rendering is.
+	 *
+	 * @param interpolationAlpha the interpolation factor between entities' previous and current positions, from 0 to 1
+	 */
+	public void setInterpolationAlpha(float interpolationAlpha) {
+		this.interpolationAlpha = interpolationAlpha;
+	}
+
 	public DuckGame getGame() {
 		return parent;
 	}
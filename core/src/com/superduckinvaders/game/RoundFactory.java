@@ -0,0 +1,65 @@
+package com.superduckinvaders.game;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.superduckinvaders.game.assets.Assets;
+
+/**
+ * Builds Rounds on a background thread, so parsing the level and spawning its mobs doesn't stall the render thread.
+ * Building a Round only reads the assets, so it is safe to do while the render thread carries on drawing.
+ */
+public class RoundFactory {
+
+	/**
+	 * The game the Rounds are built for.
+	 */
+	private DuckGame parent;
+
+	/**
+	 * Runs the builds, one at a time. Its thread is only started by the first build.
+	 */
+	private ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "RoundFactory");
+			// Don't keep the game running just because a build is in progress.
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	/**
+	 * Initialises this RoundFactory.
+	 *
+	 * @param parent the game the Rounds are built for
+	 */
+	public RoundFactory(DuckGame parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Starts building a Round on the specified level. The level assets must have loaded.
+	 *
+	 * @param level the level, from 1 to 8
+	 * @return the Round, once it has been built
+	 */
+	public Future<Round> build(final int level) {
+		return executor.submit(new Callable<Round>() {
+			@Override
+			public Round call() {
+				return new Round(parent, Assets.getLevelMap(level));
+			}
+		});
+	}
+
+	/**
+	 * Stops the background thread, abandoning any build in progress.
+	 */
+	public void dispose() {
+		executor.shutdownNow();
+	}
+}
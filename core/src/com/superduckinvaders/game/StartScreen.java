@@ -81,7 +81,7 @@ public class StartScreen implements Screen {
             public void clicked(InputEvent event, float x, float y) {
             	DuckGame.playSoundEffect(Assets.buttonPress, 1);
             	DuckGame.newGame();
-                parent.showGameScreen(new Round(parent, Assets.levelOneMap));
+                parent.playLevel(1);
             }
         });
 
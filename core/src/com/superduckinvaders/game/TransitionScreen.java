@@ -0,0 +1,147 @@
+package com.superduckinvaders.game;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.superduckinvaders.game.assets.Assets;
+
+/**
+ * Screen which fades in the level name while the level's Round is built in the background, then starts it.
+ */
+public class TransitionScreen implements Screen {
+
+	/**
+	 * The shortest time the transition is shown for, in seconds, so it doesn't flash up and vanish.
+	 */
+	private static final float MIN_DURATION = 0.6f;
+
+	/**
+	 * The DuckGame this TransitionScreen belongs to.
+	 */
+	private DuckGame parent;
+
+	/**
+	 * The Round being built.
+	 */
+	private Future<Round> round;
+
+	/**
+	 * The text shown while the Round is built.
+	 */
+	private String title;
+
+	/**
+	 * How long this TransitionScreen has been shown for, in seconds.
+	 */
+	private float elapsed = 0;
+
+	/**
+	 * Used to draw the text.
+	 */
+	private SpriteBatch spriteBatch;
+
+	/**
+	 * Used to centre the text.
+	 */
+	private GlyphLayout layout = new GlyphLayout();
+
+	/**
+	 * Initialises this TransitionScreen.
+	 *
+	 * @param parent the game the screen is associated with
+	 * @param level  the level being started
+	 * @param round  the Round being built for the level
+	 */
+	public TransitionScreen(DuckGame parent, int level, Future<Round> round) {
+		this.parent = parent;
+		this.round = round;
+		this.title = "Level " + level;
+	}
+
+	/**
+	 * Shows this TransitionScreen. Called by libGDX to set up the graphics.
+	 */
+	@Override
+	public void show() {
+		Gdx.input.setInputProcessor(null);
+
+		spriteBatch = new SpriteBatch();
+	}
+
+	/**
+	 * Main screen loop. Starts the Round once it has been built and the transition has been shown long enough.
+	 *
+	 * @param delta how much time has passed since the last update
+	 */
+	@Override
+	public void render(float delta) {
+		elapsed += delta;
+
+		if (elapsed >= MIN_DURATION && round.isDone()) {
+			try {
+				parent.showGameScreen(round.get());
+			} catch (InterruptedException e) {
+				throw new GdxRuntimeException("Interrupted while building the round", e);
+			} catch (ExecutionException e) {
+				throw new GdxRuntimeException("Couldn't build the round", e.getCause());
+			}
+			return;
+		}
+
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+		layout.setText(Assets.font, title);
+
+		spriteBatch.begin();
+		Assets.font.setColor(1, 1, 1, Math.min(elapsed / MIN_DURATION, 1));
+		Assets.font.draw(spriteBatch, layout, (Gdx.graphics.getWidth() - layout.width) / 2, (Gdx.graphics.getHeight() + layout.height) / 2);
+		Assets.font.setColor(1, 1, 1, 1);
+		spriteBatch.end();
+	}
+
+	/**
+	 * Keeps the text centred when the window is resized.
+	 */
+	@Override
+	public void resize(int width, int height) {
+		spriteBatch.setProjectionMatrix(new Matrix4().setToOrtho2D(0, 0, width, height));
+	}
+
+	/**
+	 * Not used.
+	 */
+	@Override
+	public void pause() {
+	}
+
+	/**
+	 * Not used.
+	 */
+	@Override
+	public void resume() {
+	}
+
+	/**
+	 * Disposes of this screen once it has been replaced.
+	 */
+	@Override
+	public void hide() {
+		dispose();
+	}
+
+	/**
+	 * Called to dispose libGDX objects used by this TransitionScreen.
+	 */
+	@Override
+	public void dispose() {
+		spriteBatch.dispose();
+	}
+}
@@ -0,0 +1,193 @@
+package com.superduckinvaders.game.ai;
+
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.entity.Player;
+
+/**
+ * A map of the shortest walking route from every map tile near the player to the player's tile, shared by every Mob in
+ * a Round. It is rebuilt with a breadth-first search out from the player's tile only when the player moves into a new
+ * tile, so each Mob can look up its next step in constant time however many Mobs there are.
+ */
+public final class FlowField {
+
+	/**
+	 * How many steps away from the player's tile the field reaches.
+	 */
+	public static final int MAX_DISTANCE = 48;
+
+	/**
+	 * The x and y tile offsets of each step direction (up, right, down, left).
+	 */
+	private static final int[] STEP_X = {0, 1, 0, -1}, STEP_Y = {1, 0, -1, 0};
+
+	/**
+	 * The round this FlowField belongs to.
+	 */
+	private Round round;
+
+	/**
+	 * The width and height of the map in tiles.
+	 */
+	private int widthInTiles, heightInTiles;
+
+	/**
+	 * The number of steps from each tile to the player's tile, indexed by tileX + tileY * widthInTiles.
+	 */
+	private int[] distances;
+
+	/**
+	 * The direction of the next step from each tile towards the player's tile (an index into STEP_X and STEP_Y).
+	 */
+	private byte[] directions;
+
+	/**
+	 * The build that last reached each tile. Tiles from older builds are treated as unreached, so nothing needs clearing.
+	 */
+	private int[] builds;
+
+	/**
+	 * The current build number.
+	 */
+	private int build = 0;
+
+	/**
+	 * The breadth-first search queue, big enough to hold every tile once.
+	 */
+	private int[] queue;
+
+	/**
+	 * The tile the field currently leads to, or -1 before the first build.
+	 */
+	private int targetTileX = -1, targetTileY = -1;
+
+	/**
+	 * Initialises this FlowField for the specified round. Nothing is reachable until the first call to update().
+	 *
+	 * @param round the round this FlowField belongs to
+	 */
+	public FlowField(Round round) {
+		this.round = round;
+		this.widthInTiles = round.getWidthInTiles();
+		this.heightInTiles = round.getHeightInTiles();
+
+		int tiles = widthInTiles * heightInTiles;
+		distances = new int[tiles];
+		directions = new byte[tiles];
+		builds = new int[tiles];
+		queue = new int[tiles];
+	}
+
+	/**
+	 * Rebuilds this FlowField if the player has moved into a different tile since the last build. The whole field is
+	 * searched again rather than patched from the last one: the search never goes further than MAX_DISTANCE steps, so
+	 * it reaches at most 2 * MAX_DISTANCE * (MAX_DISTANCE + 1) + 1 tiles (about 4,700) whatever the size of the map or
+	 * the number of Mobs, and runs at most once per simulation step.
+	 */
+	public void update() {
+		Player player = round.getPlayer();
+		int tileX = (int) player.getX() / round.getTileWidth();
+		int tileY = (int) player.getY() / round.getTileHeight();
+
+		if (tileX != targetTileX || tileY != targetTileY) {
+			targetTileX = tileX;
+			targetTileY = tileY;
+			rebuild();
+		}
+	}
+
+	/**
+	 * Gets whether the specified tile has a route to the player's tile.
+	 *
+	 * @param tileX the x coordinate of the tile
+	 * @param tileY the y coordinate of the tile
+	 * @return whether the tile is within MAX_DISTANCE steps of the player's tile
+	 */
+	public boolean hasRoute(int tileX, int tileY) {
+		if (tileX < 0 || tileY < 0 || tileX >= widthInTiles || tileY >= heightInTiles) {
+			return false;
+		}
+
+		return builds[tileX + tileY * widthInTiles] == build && build > 0;
+	}
+
+	/**
+	 * Gets the number of steps from the specified tile to the player's tile.
+	 *
+	 * @param tileX the x coordinate of the tile
+	 * @param tileY the y coordinate of the tile
+	 * @return the number of steps, or -1 if the tile has no route
+	 */
+	public int getDistance(int tileX, int tileY) {
+		return hasRoute(tileX, tileY) ? distances[tileX + tileY * widthInTiles] : -1;
+	}
+
+	/**
+	 * Gets the x offset (-1, 0 or 1) of the next tile on the route from the specified tile. Only meaningful if the tile
+	 * has a route and isn't the player's tile.
+	 *
+	 * @param tileX the x coordinate of the tile
+	 * @param tileY the y coordinate of the tile
+	 * @return the x offset of the next tile
+	 */
+	public int getStepX(int tileX, int tileY) {
+		return STEP_X[directions[tileX + tileY * widthInTiles]];
+	}
+
+	/**
+	 * Gets the y offset (-1, 0 or 1) of the next tile on the route from the specified tile. Only meaningful if the tile
+	 * has a route and isn't the player's tile.
+	 *
+	 * @param tileX the x coordinate of the tile
+	 * @param tileY the y coordinate of the tile
+	 * @return the y offset of the next tile
+	 */
+	public int getStepY(int tileX, int tileY) {
+		return STEP_Y[directions[tileX + tileY * widthInTiles]];
+	}
+
+	/**
+	 * Searches outwards from the player's tile through unblocked tiles, recording how far each tile is from the player
+	 * and which way to step to get closer.
+	 */
+	private void rebuild() {
+		build++;
+
+		int start = targetTileX + targetTileY * widthInTiles;
+		builds[start] = build;
+		distances[start] = 0;
+		queue[0] = start;
+
+		int head = 0, tail = 1;
+
+		while (head < tail) {
+			int current = queue[head++];
+			int distance = distances[current];
+
+			if (distance >= MAX_DISTANCE) {
+				continue;
+			}
+
+			int currentX = current % widthInTiles, currentY = current / widthInTiles;
+
+			for (int direction = 0; direction < STEP_X.length; direction++) {
+				int nextX = currentX + STEP_X[direction], nextY = currentY + STEP_Y[direction];
+
+				if (nextX < 0 || nextY < 0 || nextX >= widthInTiles || nextY >= heightInTiles) {
+					continue;
+				}
+
+				int next = nextX + nextY * widthInTiles;
+
+				if (builds[next] == build || round.isTileBlocked(nextX, nextY, false)) {
+					continue;
+				}
+
+				builds[next] = build;
+				distances[next] = distance + 1;
+				// Stepping from the new tile back to this one is the opposite direction.
+				directions[next] = (byte) ((direction + 2) % STEP_X.length);
+				queue[tail++] = next;
+			}
+		}
+	}
+}
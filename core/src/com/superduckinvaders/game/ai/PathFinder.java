@@ -0,0 +1,399 @@
+package com.superduckinvaders.game.ai;
+
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.entity.Entity;
+
+/**
+ * A best-first path search for a single Entity, shared by every AI in a Round. A search can be run in one go with
+ * findPath() or spread over several frames with begin() and step(). All of its storage is allocated up front:
+ * nodes are int ids into parallel arrays, the open list is a binary heap of ids and squared distances, and the set of
+ * visited positions is an open-addressing hash table that is emptied by bumping a generation counter.
+ */
+public final class PathFinder {
+
+	/**
+	 * The most nodes a single search may visit before giving up.
+	 */
+	public static final int MAX_NODES = 2048;
+
+	/**
+	 * The size of the visited position table. A power of two at least twice MAX_NODES so probes stay short.
+	 */
+	private static final int TABLE_SIZE = 4096;
+
+	/**
+	 * The x and y pixel offsets of each step (north, east, south, west).
+	 */
+	private int[] stepX, stepY;
+
+	/**
+	 * Width and height of one tile in the map.
+	 */
+	private int tileWidth, tileHeight;
+
+	/**
+	 * The position of the node in each table slot.
+	 */
+	private int[] nodeX = new int[TABLE_SIZE], nodeY = new int[TABLE_SIZE];
+
+	/**
+	 * The node each node was reached from (-1 for the start) and how many steps from the start it is.
+	 */
+	private int[] parents = new int[TABLE_SIZE], depths = new int[TABLE_SIZE];
+
+	/**
+	 * The search that last filled each table slot. Slots from older searches are treated as empty.
+	 */
+	private int[] generations = new int[TABLE_SIZE];
+
+	/**
+	 * The current search number.
+	 */
+	private int generation = 0;
+
+	/**
+	 * How many nodes the current search has visited.
+	 */
+	private int nodeCount;
+
+	/**
+	 * The open list: node ids ordered by their squared distance to the target.
+	 */
+	private int[] heapNodes = new int[MAX_NODES];
+	private float[] heapKeys = new float[MAX_NODES];
+	private int heapSize;
+
+	/**
+	 * The Entity the current search is for.
+	 */
+	private Entity entity;
+
+	/**
+	 * The position and tile the current search is heading for.
+	 */
+	private int targetX, targetY, targetTileX, targetTileY;
+
+	/**
+	 * How many steps from the start the current search may go.
+	 */
+	private int iterationLimit;
+
+	/**
+	 * The start node of the current search.
+	 */
+	private int start;
+
+	/**
+	 * Whether the current search has finished, and whether it found a path.
+	 */
+	private boolean finished = true, found = false;
+
+	/**
+	 * The position to head for from the start of the last search.
+	 */
+	private int resultX, resultY;
+
+	/**
+	 * Initialises this PathFinder for the specified round.
+	 *
+	 * @param round the round this PathFinder belongs to
+	 */
+	public PathFinder(Round round) {
+		this.tileWidth = round.getTileWidth();
+		this.tileHeight = round.getTileHeight();
+
+		stepX = new int[] {0, tileWidth, 0, -tileWidth};
+		stepY = new int[] {tileHeight / 4, 0, -tileHeight / 4, 0};
+	}
+
+	/**
+	 * Searches for a path from the start position to the tile containing the target position in one go.
+	 *
+	 * @param entity         the Entity to check collisions for
+	 * @param startX         the x coordinate to search from
+	 * @param startY         the y coordinate to search from
+	 * @param targetX        the x coordinate to search towards
+	 * @param targetY        the y coordinate to search towards
+	 * @param iterationLimit how many steps from the start to search before giving up on a branch
+	 * @return whether a path was found (if not, the result is the start position)
+	 * @see #begin(Entity, int, int, int, int, int)
+	 */
+	public boolean findPath(Entity entity, int startX, int startY, int targetX, int targetY, int iterationLimit) {
+		begin(entity, startX, startY, targetX, targetY, iterationLimit);
+
+		while (!step(MAX_NODES)) {
+			// Keep searching.
+		}
+
+		return found;
+	}
+
+	/**
+	 * Starts a search for a path from the start position to the tile containing the target position, always expanding
+	 * the node closest to the target first. Steps are one tile wide horizontally and a quarter of a tile vertically.
+	 * Abandons any search already in progress.
+	 *
+	 * @param entity         the Entity to check collisions for
+	 * @param startX         the x coordinate to search from
+	 * @param startY         the y coordinate to search from
+	 * @param targetX        the x coordinate to search towards
+	 * @param targetY        the y coordinate to search towards
+	 * @param iterationLimit how many steps from the start to search before giving up on a branch
+	 */
+	public void begin(Entity entity, int startX, int startY, int targetX, int targetY, int iterationLimit) {
+		generation++;
+		nodeCount = 0;
+		heapSize = 0;
+
+		this.entity = entity;
+		this.targetX = targetX;
+		this.targetY = targetY;
+		this.targetTileX = targetX / tileWidth;
+		this.targetTileY = targetY / tileHeight;
+		this.iterationLimit = iterationLimit;
+
+		finished = false;
+		found = false;
+		resultX = startX;
+		resultY = startY;
+
+		start = insert(find(startX, startY), startX, startY, -1, 0);
+		push(start);
+	}
+
+	/**
+	 * Continues the current search, expanding at most the specified number of nodes.
+	 *
+	 * @param maxExpansions how many nodes to expand before returning
+	 * @return whether the search has finished (see isFound())
+	 */
+	public boolean step(int maxExpansions) {
+		for (int expansion = 0; expansion < maxExpansions && !finished; expansion++) {
+			if (heapSize == 0) {
+				finish(false);
+				break;
+			}
+
+			int current = pop();
+
+			if (depths[current] >= iterationLimit) {
+				continue;
+			}
+
+			int currentX = nodeX[current], currentY = nodeY[current];
+
+			for (int direction = 0; direction < stepX.length; direction++) {
+				int nextX = currentX + stepX[direction], nextY = currentY + stepY[direction];
+
+				if (!(entity.collidesXfrom(nextX - currentX, currentX, currentY) ||
+						entity.collidesYfrom(nextY - currentY, currentX, currentY))) {
+					int slot = find(nextX, nextY);
+
+					if (generations[slot] != generation) {
+						if (nodeCount >= MAX_NODES) {
+							finish(false);
+							break;
+						}
+
+						push(insert(slot, nextX, nextY, current, depths[current] + 1));
+					}
+				}
+
+				// The target tile is usually occupied by the player, so reaching it counts even if we'd collide there.
+				if (nextX / tileWidth == targetTileX && nextY / tileHeight == targetTileY) {
+					setResult(current, nextX, nextY);
+					finish(true);
+					break;
+				}
+			}
+		}
+
+		return finished;
+	}
+
+	/**
+	 * Stops the current search, if there is one. Its result stays at the start position.
+	 */
+	public void cancel() {
+		finish(false);
+	}
+
+	/**
+	 * Gets whether the current search has finished (or been cancelled).
+	 *
+	 * @return whether there is no search in progress
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Gets whether the last finished search found a path.
+	 *
+	 * @return whether a path was found
+	 */
+	public boolean isFound() {
+		return found;
+	}
+
+	/**
+	 * Gets the x coordinate to head for next, as found by the last search.
+	 *
+	 * @return the x coordinate of the first step on the path, or the start if no path was found
+	 */
+	public int getResultX() {
+		return resultX;
+	}
+
+	/**
+	 * Gets the y coordinate to head for next, as found by the last search.
+	 *
+	 * @return the y coordinate of the first step on the path, or the start if no path was found
+	 */
+	public int getResultY() {
+		return resultY;
+	}
+
+	/**
+	 * Ends the current search.
+	 *
+	 * @param found whether a path was found
+	 */
+	private void finish(boolean found) {
+		this.finished = true;
+		this.found = found;
+		this.entity = null;
+	}
+
+	/**
+	 * Walks back from the node before the goal to find the first step after the start.
+	 *
+	 * @param last  the node the goal was reached from
+	 * @param goalX the x coordinate of the goal
+	 * @param goalY the y coordinate of the goal
+	 */
+	private void setResult(int last, int goalX, int goalY) {
+		if (last == start) {
+			resultX = goalX;
+			resultY = goalY;
+			return;
+		}
+
+		int node = last;
+		while (parents[node] != start) {
+			node = parents[node];
+		}
+
+		resultX = nodeX[node];
+		resultY = nodeY[node];
+	}
+
+	/**
+	 * Finds the table slot holding the specified position, or the empty slot where it would go.
+	 *
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 * @return the slot index
+	 */
+	private int find(int x, int y) {
+		// Positions are always whole steps apart, so mix the bits well or the low ones would all be the same.
+		int hash = x * 73856093 ^ y * 19349663;
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+
+		int slot = hash & (TABLE_SIZE - 1);
+
+		while (generations[slot] == generation && (nodeX[slot] != x || nodeY[slot] != y)) {
+			slot = (slot + 1) & (TABLE_SIZE - 1);
+		}
+
+		return slot;
+	}
+
+	/**
+	 * Stores a node in the specified empty slot.
+	 *
+	 * @param slot   the empty slot to use
+	 * @param x      the x coordinate of the node
+	 * @param y      the y coordinate of the node
+	 * @param parent the node this one was reached from, or -1 for the start
+	 * @param depth  how many steps from the start this node is
+	 * @return the node id (its slot index)
+	 */
+	private int insert(int slot, int x, int y, int parent, int depth) {
+		generations[slot] = generation;
+		nodeX[slot] = x;
+		nodeY[slot] = y;
+		parents[slot] = parent;
+		depths[slot] = depth;
+		nodeCount++;
+
+		return slot;
+	}
+
+	/**
+	 * Adds a node to the open list, keyed by its squared distance to the target.
+	 *
+	 * @param node the node to add
+	 */
+	private void push(int node) {
+		float dx = nodeX[node] - targetX, dy = nodeY[node] - targetY;
+		float key = dx * dx + dy * dy;
+
+		int i = heapSize++;
+		while (i > 0) {
+			int parent = (i - 1) >> 1;
+
+			if (heapKeys[parent] <= key) {
+				break;
+			}
+
+			heapNodes[i] = heapNodes[parent];
+			heapKeys[i] = heapKeys[parent];
+			i = parent;
+		}
+
+		heapNodes[i] = node;
+		heapKeys[i] = key;
+	}
+
+	/**
+	 * Removes and returns the node closest to the target from the open list.
+	 *
+	 * @return the node closest to the target
+	 */
+	private int pop() {
+		int top = heapNodes[0];
+		int last = heapNodes[--heapSize];
+		float key = heapKeys[heapSize];
+
+		int i = 0;
+		while (true) {
+			int child = (i << 1) + 1;
+
+			if (child >= heapSize) {
+				break;
+			}
+
+			if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+				child++;
+			}
+
+			if (heapKeys[child] >= key) {
+				break;
+			}
+
+			heapNodes[i] = heapNodes[child];
+			heapKeys[i] = heapKeys[child];
+			i = child;
+		}
+
+		if (heapSize > 0) {
+			heapNodes[i] = last;
+			heapKeys[i] = key;
+		}
+
+		return top;
+	}
+}
@@ -0,0 +1,83 @@
+package com.superduckinvaders.game.ai;
+
+import com.superduckinvaders.game.entity.Entity;
+
+/**
+ * A request for a path to the player, submitted to a PathfindingScheduler and answered on a later frame. Each AI keeps
+ * one and reuses it for every search.
+ */
+public final class PathRequest {
+
+	/**
+	 * How many steps from the start the search may go.
+	 */
+	final int iterationLimit;
+
+	/**
+	 * The Entity the path is for, while the request is queued.
+	 */
+	Entity entity;
+
+	/**
+	 * Whether this request is waiting to be answered.
+	 */
+	boolean queued = false;
+
+	/**
+	 * Whether an answer has arrived that hasn't been taken yet.
+	 */
+	boolean answered = false;
+
+	/**
+	 * The position to head for next, as found by the search.
+	 */
+	int resultX, resultY;
+
+	/**
+	 * Initialises this PathRequest.
+	 *
+	 * @param iterationLimit how many steps from the start each search may go
+	 */
+	public PathRequest(int iterationLimit) {
+		this.iterationLimit = iterationLimit;
+	}
+
+	/**
+	 * Gets whether this request is waiting to be answered.
+	 *
+	 * @return whether this request is queued or being searched
+	 */
+	public boolean isQueued() {
+		return queued;
+	}
+
+	/**
+	 * Returns true once for each answer that arrives. The position to head for is then available from getResultX()
+	 * and getResultY().
+	 *
+	 * @return whether a new answer has arrived since the last call
+	 */
+	public boolean takeResult() {
+		boolean result = answered;
+		answered = false;
+		return result;
+	}
+
+	/**
+	 * Gets the x coordinate to head for next.
+	 *
+	 * @return the x coordinate of the first step on the path, or the start if no path was found
+	 */
+	public int getResultX() {
+		return resultX;
+	}
+
+	/**
+	 * Gets the y coordinate to head for next.
+	 *
+	 * @return the y coordinate of the first step on the path, or the start if no path was found
+	 */
+	public int getResultY() {
+		return resultY;
+	}
+}
@@ -0,0 +1,207 @@
+package com.superduckinvaders.game.ai;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.entity.Entity;
+import com.superduckinvaders.game.entity.Player;
+
+/**
+ * Runs the path searches asked for by the AIs in a Round, a slice at a time, within a fixed time budget each frame.
+ * Searches that don't finish carry on next frame, and the request from the Entity closest to the player goes first,
+ * so frame time stays flat however many Mobs want paths at once.
+ */
+public final class PathfindingScheduler {
+
+	/**
+	 * The default time budget per frame, in milliseconds.
+	 */
+	public static final float DEFAULT_BUDGET = 1;
+
+	/**
+	 * How many nodes to expand between checks of the clock.
+	 */
+	private static final int EXPANSIONS_PER_SLICE = 16;
+
+	/**
+	 * The round this PathfindingScheduler belongs to.
+	 */
+	private Round round;
+
+	/**
+	 * Runs the searches, one at a time.
+	 */
+	private PathFinder pathFinder;
+
+	/**
+	 * How long to spend searching each frame, in milliseconds.
+	 */
+	private float budget = DEFAULT_BUDGET;
+
+	/**
+	 * Requests waiting for their search to start.
+	 */
+	private Array<PathRequest> pending = new Array<PathRequest>(false, 32);
+
+	/**
+	 * The request currently being searched for, or null if there isn't one.
+	 */
+	private PathRequest active = null;
+
+	/**
+	 * How many searches have been answered since this PathfindingScheduler was created.
+	 */
+	private int searchCount = 0;
+
+	/**
+	 * Initialises this PathfindingScheduler for the specified round.
+	 *
+	 * @param round the round this PathfindingScheduler belongs to
+	 */
+	public PathfindingScheduler(Round round) {
+		this.round = round;
+		this.pathFinder = new PathFinder(round);
+	}
+
+	/**
+	 * Gets how long this PathfindingScheduler may search for each frame.
+	 *
+	 * @return the time budget per frame, in milliseconds
+	 */
+	public float getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets how long this PathfindingScheduler may search for each frame. At least one slice of work is always done so
+	 * searches keep moving.
+	 *
+	 * @param budget the time budget per frame, in milliseconds
+	 */
+	public void setBudget(float budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Gets how many requests are waiting to be answered.
+	 *
+	 * @return the number of queued requests, including the one being searched for
+	 */
+	public int getQueuedCount() {
+		return pending.size + (active == null ? 0 : 1);
+	}
+
+	/**
+	 * Gets how many searches have been answered since this PathfindingScheduler was created.
+	 *
+	 * @return the number of answered searches
+	 */
+	public int getSearchCount() {
+		return searchCount;
+	}
+
+	/**
+	 * Queues a request for a path from the specified Entity to the player. Does nothing if the request is already
+	 * queued.
+	 *
+	 * @param request the request to answer
+	 * @param entity  the Entity to find a path for
+	 */
+	public void submit(PathRequest request, Entity entity) {
+		if (request.queued) {
+			return;
+		}
+
+		request.entity = entity;
+		request.queued = true;
+		request.answered = false;
+		pending.add(request);
+	}
+
+	/**
+	 * Withdraws a request, stopping its search if it has started. Does nothing if the request isn't queued.
+	 *
+	 * @param request the request to withdraw
+	 */
+	public void cancel(PathRequest request) {
+		if (!request.queued) {
+			return;
+		}
+
+		if (request == active) {
+			pathFinder.cancel();
+			active = null;
+		} else {
+			pending.removeValue(request, true);
+		}
+
+		request.entity = null;
+		request.queued = false;
+	}
+
+	/**
+	 * Works through the queued requests until this frame's time budget runs out.
+	 */
+	public void update() {
+		long deadline = TimeUtils.nanoTime() + (long) (budget * 1000000);
+
+		do {
+			if (active == null && !startNext()) {
+				return;
+			}
+
+			if (active.entity.isRemoved()) {
+				cancel(active);
+			} else if (pathFinder.step(EXPANSIONS_PER_SLICE)) {
+				active.resultX = pathFinder.getResultX();
+				active.resultY = pathFinder.getResultY();
+				active.answered = true;
+				active.entity = null;
+				active.queued = false;
+				active = null;
+				searchCount++;
+			}
+		} while (TimeUtils.nanoTime() < deadline);
+	}
+
+	/**
+	 * Starts the search for the waiting request whose Entity is closest to the player, dropping any whose Entity has
+	 * been removed.
+	 *
+	 * @return whether a search was started
+	 */
+	private boolean startNext() {
+		Player player = round.getPlayer();
+		PathRequest closest = null;
+		double closestDistance = Double.MAX_VALUE;
+
+		// Cancelling a request moves the last one into its place, so walk backwards and hold on to the closest request
+		// itself rather than where it was.
+		for (int i = pending.size - 1; i >= 0; i--) {
+			PathRequest request = pending.get(i);
+
+			if (request.entity.isRemoved()) {
+				cancel(request);
+				continue;
+			}
+
+			double dx = request.entity.getX() - player.getX(), dy = request.entity.getY() - player.getY();
+			double distance = dx * dx + dy * dy;
+
+			if (distance < closestDistance) {
+				closest = request;
+				closestDistance = distance;
+			}
+		}
+
+		if (closest == null) {
+			return false;
+		}
+
+		pending.removeValue(closest, true);
+		active = closest;
+		pathFinder.begin(active.entity, (int) active.entity.getX(), (int) active.entity.getY(), (int) player.getX(), (int) player.getY(), active.iterationLimit);
+
+		return true;
+	}
+}
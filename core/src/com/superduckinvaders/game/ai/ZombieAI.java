@@ -1,22 +1,19 @@
 
 package com.superduckinvaders.game.ai;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.math.MathUtils;
 import com.superduckinvaders.game.Round;
 import com.superduckinvaders.game.entity.Mob;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.PriorityQueue;
-
 /**
  * AI that follows and attacks the player within a certain range.
  */
 public class ZombieAI extends AI {
 
-	
+	/**
+	 * How close the player has to be before the Mob notices them, in pixels (a quarter of the window width).
+	 */
+	public static final int ACTIVATION_RANGE = 320;
+
 	/**
 	 * How many seconds between attacks?
 	 */
@@ -28,15 +25,10 @@ public class ZombieAI extends AI {
 	public final static int PATHFINDING_ITERATION_LIMIT = 20;
 
 	/**
-	 * How often to update the AI.
+	 * How often to ask for a new path when the Mob is off the flow field.
 	 */
 	public final static float PATHFINDING_RATE = (float) 0.2;
 
-	/**
-	 * The random offset to be added or taken from the base pathfinding rate.
-	 */
-	public final static float PATHFINDING_RATE_OFFSET = (float) 0.15;
-
 	/**
 	 * Width of one tile in the map.
 	 */
@@ -58,20 +50,25 @@ public class ZombieAI extends AI {
 	private int playerY;
 
 	/**
-	 * Used to calculate rate of pathfinding.
+	 * Our request to the Round's pathfinding scheduler, reused for every search.
 	 */
-	private float deltaOffsetLimit = 0;
+	private PathRequest pathRequest = new PathRequest(PATHFINDING_ITERATION_LIMIT);
 
 	/**
-	 * Used to track when to recalculate AI.
+	 * How long before we can ask for another path.
 	 */
-	private float currentOffset = 0;
+	private float pathfindingTimer = 0;
 
 	/**
 	 * How far away from the player this ZombieAI can attack.
 	 */
 	private int attackRange;
 
+	/**
+	 * How much damage each attack deals to the player.
+	 */
+	private int attackDamage;
+
 	/**
 	 * How long before we can attack again.
 	 */
@@ -84,10 +81,22 @@ public class ZombieAI extends AI {
 	 * @param attackRange how far away from the player can this ZombieAI attack
 	 */
 	public ZombieAI(Round round, int attackRange) {
+		this(round, attackRange, 1);
+	}
+
+	/**
+	 * Initialises this ZombieAI with the specified attack damage.
+	 *
+	 * @param round        the round the Mob this AI controls is a part of
+	 * @param attackRange  how far away from the player can this ZombieAI attack
+	 * @param attackDamage how much damage each attack deals to the player
+	 */
+	protected ZombieAI(Round round, int attackRange, int attackDamage) {
 		super(round);
 		this.tileWidth = round.getTileWidth();
 		this.tileHeight = round.getTileHeight();
 		this.attackRange = attackRange;
+		this.attackDamage = attackDamage;
 	}
 
 	/**
@@ -111,16 +120,10 @@ public class ZombieAI extends AI {
 		
 		double distanceFromPlayer = mob.distanceTo(playerX, playerY);
 
-		currentOffset += delta;
-		if (currentOffset >= deltaOffsetLimit && (int) distanceFromPlayer < Gdx.graphics.getWidth()/4) {
-			deltaOffsetLimit = PATHFINDING_RATE + (MathUtils.random() % PATHFINDING_RATE_OFFSET);
-			currentOffset = 0;
-
-			//Only find a path if we're not already close enough to the player
-			if (mob.distanceTo(playerX, playerY) > attackRange/1.5) {
-				Coordinate targetCoord = findPath(mob);
-				Coordinate targetDir = new Coordinate((int) (targetCoord.x - mob.getX()), (int) (targetCoord.y - mob.getY()));
-				mob.setVelocity(targetDir.x, targetDir.y);
+		if ((int) distanceFromPlayer < ACTIVATION_RANGE) {
+			//Only move if we're not already close enough to the player
+			if (distanceFromPlayer > attackRange/1.5) {
+				moveTowardsPlayer(mob, delta);
 			} else {
 				mob.setVelocity(0, 0);
 				mob.setFacing(mob.directionTo(playerX, playerY));
@@ -129,10 +132,7 @@ public class ZombieAI extends AI {
 
 		// Damage player.
 		if ((int) distanceFromPlayer < attackRange && attackTimer <= 0) {
-		
-				round.getPlayer().damage(1);
-			
-			
+			round.getPlayer().damage(attackDamage);
 			attackTimer = ATTACK_DELAY;
 		} else if (attackTimer > 0) {
 			attackTimer -= delta;
@@ -140,187 +140,48 @@ public class ZombieAI extends AI {
 	}
 
 	/**
-	 * A variation of A* algorithm. Returns a meaningful target coordinate as a pair of integers.
-	 * Recalculated every tick as player might move and change pathfinding coordinates.
+	 * Steers the Mob along the Round's flow field towards the player. Falls back to asking the Round's pathfinding
+	 * scheduler for a path every so often if the Mob is somewhere the flow field doesn't reach.
 	 *
-	 * @param mob Mob that a path is being generated for
-	 * @return Returns a Coordinate for the path finding
+	 * @param mob   the Mob to steer
+	 * @param delta time since the previous update
 	 */
-	private Coordinate findPath(Mob mob) {
-		Coordinate startCoord = new Coordinate((int) mob.getX(), (int) mob.getY());
-		Coordinate finalCoord = new Coordinate(playerX, playerY);
-
-		boolean finalFound = false;
-
-		PriorityQueue<Coordinate> fringe = new PriorityQueue<Coordinate>();
-		HashMap<Coordinate, SearchNode> visitedStates = new HashMap<Coordinate, SearchNode>();
-		fringe.add(startCoord);
-		visitedStates.put(startCoord, new SearchNode(null, 0));
+	private void moveTowardsPlayer(Mob mob, float delta) {
+		FlowField flowField = round.getFlowField();
+		PathfindingScheduler scheduler = round.getPathfindingScheduler();
+		int tileX = (int) mob.getX() / tileWidth;
+		int tileY = (int) mob.getY() / tileHeight;
+		int distance = flowField.getDistance(tileX, tileY);
 
-		while (!fringe.isEmpty()) {
-
-			Coordinate currentCoord = fringe.poll();
-			SearchNode currentState = visitedStates.get(currentCoord);
-
-			if (currentState.iteration >= PATHFINDING_ITERATION_LIMIT) {
-				continue;
-			}
-
-			//work out N, E, S, W permutations
-			Coordinate[] perm = new Coordinate[4];
-			perm[0] = new Coordinate(currentCoord.x, currentCoord.y + tileHeight/4);
-			perm[1] = new Coordinate(currentCoord.x + tileWidth, currentCoord.y);
-			perm[2] = new Coordinate(currentCoord.x, currentCoord.y - tileHeight/4);
-			perm[3] = new Coordinate(currentCoord.x - tileWidth, currentCoord.y);
-
-			for (Coordinate currentPerm : perm) {
-				if (!(mob.collidesXfrom(currentPerm.x - currentCoord.x, currentCoord.x, currentCoord.y) ||
-						mob.collidesYfrom(currentPerm.y - currentCoord.y, currentCoord.x, currentCoord.y) ||
-						visitedStates.containsKey(currentPerm))) {
-					fringe.add(currentPerm);
-					visitedStates.put(currentPerm, new SearchNode(currentState, currentState.iteration + 1));
-				}
-				if (currentPerm.inSameTile(finalCoord)) {
-					visitedStates.put(currentPerm, new SearchNode(currentState, currentState.iteration + 1));
-					finalCoord = currentPerm;
-					finalFound = true;
-					break;
-				}
-			}
-			if (finalFound) break;
+		if (distance >= 0) {
+			// Back on the flow field, so any path we asked for is no use.
+			scheduler.cancel(pathRequest);
 		}
-		if (!finalFound) {
-			return startCoord;
+
+		if (distance > 0) {
+			// Head for the corner of the next tile along the route so we line up with it before moving on.
+			int targetX = (tileX + flowField.getStepX(tileX, tileY)) * tileWidth;
+			int targetY = (tileY + flowField.getStepY(tileX, tileY)) * tileHeight;
+			mob.setVelocity(targetX - (int) mob.getX(), targetY - (int) mob.getY());
+		} else if (distance == 0) {
+			// We're in the player's tile, so head straight for them.
+			mob.setVelocity(playerX - (int) mob.getX(), playerY - (int) mob.getY());
 		} else {
-			SearchNode resultNode = null;
-			List<SearchNode> path = new ArrayList<SearchNode>();
-			path.add(visitedStates.get(finalCoord));
-			while (path.get(path.size() - 1) != visitedStates.get(startCoord)) {
-				path.add(path.get(path.size() - 1).predecessor);
-			}
-			switch (path.size()) {
-			case 1:
-				resultNode = path.get(path.size() - 1);
-				break;
-			default:
-				resultNode = path.get(path.size() - 2);
-				break;
+			if (pathRequest.takeResult()) {
+				mob.setVelocity(pathRequest.getResultX() - (int) mob.getX(), pathRequest.getResultY() - (int) mob.getY());
 			}
-			//for loop below will terminate after at most 4 iterations
-			for (Coordinate key : visitedStates.keySet()) {
-				if (visitedStates.get(key) == resultNode)
-					return key;
-			}
-		}
-		return startCoord;
-	}
-
-	/**
-	 * Represents a pair of coordinates.
-	 */
-	class Coordinate implements Comparable<Coordinate> {
-		/**
-		 * The X coordinate.
-		 */
-		public int x;
-		/**
-		 * The Y coordinate.
-		 */
-		public int y;
-
-		/**
-		 * Initialises this Coordinate.
-		 *
-		 * @param x the x coordinate
-		 * @param y the y coordinate
-		 */
-		public Coordinate(int x, int y) {
-			this.x = x;
-			this.y = y;
-		}
-
-		/**
-		 * Compares this Coordinate to another Coordinate.
-		 *
-		 * @param o the coordinate to compare to
-		 * @return the result of the comparison
-		 */
-		@Override
-		public int compareTo(Coordinate o) {
-			Double playerDistanceA = Math.sqrt(Math.pow((x - playerX), 2) + Math.pow((y - playerY), 2));
-			Double playerDistanceB = Math.sqrt(Math.pow((o.x - playerX), 2) + Math.pow((o.y - playerY), 2));
-			return playerDistanceA.compareTo(playerDistanceB);
-		}
 
-		/**
-		 * Tests this Coordinate with another object for equality.
-		 *
-		 * @param o the object to compare to
-		 * @return true of the objects are equal, false if not
-		 */
-		@Override
-		public boolean equals(Object o) {
-			if (o == null) return false;
-			if (getClass() != o.getClass()) return false;
-			final Coordinate other = (Coordinate) o;
-			return (this.x == other.x && this.y == other.y);
-		}
+			pathfindingTimer -= delta;
 
-		/**
-		 * Gets a unique hash code for this coordinate.
-		 *
-		 * @return the hash code
-		 */
-		@Override
-		public int hashCode() {
-			int hash = 17;
-			hash = hash * 31 + this.x;
-			hash = hash * 31 + this.y;
-			return hash;
-		}
+			if (pathfindingTimer <= 0 && !pathRequest.isQueued()) {
+				pathfindingTimer = PATHFINDING_RATE;
+				scheduler.submit(pathRequest, mob);
 
-		/**
-		 * Gets whether this Coordinate is in the same map tile as another.
-		 *
-		 * @param b the coordinate to compare with
-		 * @return true if the coordinates are in the same map tile, false if not
-		 */
-		public boolean inSameTile(Coordinate b) {
-			return (this.x / tileWidth == b.x / tileWidth && this.y / tileHeight == b.y / tileHeight);
-		}
-
-		/**
-		 * Returns a string representation of this Coordinate.
-		 *
-		 * @return a string representation of this Coordinate
-		 */
-		public String toString() {
-			return ("(" + Integer.toString(this.x) + ", " + Integer.toString(this.y) + ")");
-		}
-	}
-
-	/**
-	 * Represents a node in the A* search tree.
-	 */
-	class SearchNode {
-		/**
-		 * The predecessor node in the search tree.
-		 */
-		public SearchNode predecessor;
-		/**
-		 * The iteration this node is a part of.
-		 */
-		public int iteration;
-
-		/**
-		 * Initialises this SearchNode.
-		 *
-		 * @param predecessor the predecessor node
-		 * @param iteration   the iteration of this node
-		 */
-		public SearchNode(SearchNode predecessor, int iteration) {
-			this.predecessor = predecessor;
-			this.iteration = iteration;
+				// Rather than stand still while we wait for our first path, head straight for the player.
+				if (mob.getVelocityX() == 0 && mob.getVelocityY() == 0) {
+					mob.setVelocity(playerX - (int) mob.getX(), playerY - (int) mob.getY());
+				}
+			}
 		}
 	}
-}
\ No newline at end of file
+}
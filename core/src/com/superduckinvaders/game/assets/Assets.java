@@ -1,20 +1,75 @@
 package com.superduckinvaders.game.assets;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.superduckinvaders.game.profiling.Tracer;
 
 /**
- * Responsible for loading game assets.
+ * Responsible for loading game assets. Assets are loaded in the background by an AssetManager: the few the menus need
+ * come first, so the start screen can be shown quickly, and the rest stream in behind them.
  */
 public class Assets {
 
+	/**
+	 * Files the menu screens need.
+	 */
+	private static final String[] MENU_TEXTURES = {"textures/button.png", "textures/buttonLocked.png", "textures/down.png",
+			"textures/esc.png", "textures/logo.png"};
+	private static final String[] MENU_SOUNDS = {"sound/button.mp3"};
+	private static final String FONT = "font/gamefont.fnt";
+
+	/**
+	 * Files only needed to play a level. The textures are packed into the texture atlas, if it has been built.
+	 */
+	private static final String[] LEVEL_TEXTURES = {"textures/player_idle.png", "textures/player_walking_front.png",
+			"textures/player_walking_back.png", "textures/player_walking_left.png", "textures/player_walking_right.png",
+			"textures/player_gun_idle.png", "textures/player_gun_walking_front.png", "textures/player_gun_walking_back.png",
+			"textures/player_gun_walking_left.png", "textures/player_gun_walking_right.png",
+			"textures/player_swimming_idle.png", "textures/player_swimming_front.png", "textures/player_swimming_back.png",
+			"textures/player_swimming_left.png", "textures/player_swimming_right.png", "textures/player_flying_front.png",
+			"textures/player_flying_back.png", "textures/player_flying_left.png", "textures/player_flying_right.png",
+			"textures/badguy_idle.png", "textures/badguy_walking_front.png", "textures/badguy_walking_back.png",
+			"textures/badguy_walking_left.png", "textures/badguy_walking_right.png", "textures/badguy_idle_swimming.png",
+			"textures/badguy_swimming_front.png", "textures/badguy_swimming_back.png", "textures/badguy_swimming_left.png",
+			"textures/badguy_swimming_right.png", "textures/badguy_gun_idle.png", "textures/badguy_gun_walking_front.png",
+			"textures/badguy_gun_walking_back.png", "textures/badguy_gun_walking_left.png",
+			"textures/badguy_gun_walking_right.png", "textures/badguy_boss_idle.png",
+			"textures/badguy_boss_walking_front.png", "textures/badguy_boss_walking_back.png",
+			"textures/badguy_boss_walking_left.png", "textures/badguy_boss_walking_right.png",
+			"textures/badguy_boss_swimming_idle.png", "textures/badguy_boss_swimming_front.png",
+			"textures/badguy_boss_swimming_back.png", "textures/badguy_boss_swimming_left.png",
+			"textures/badguy_boss_swimming_right.png", "textures/floor_items.png", "textures/projectile.png",
+			"textures/explosion.png", "textures/hearts.png", "textures/stamina.png", "textures/powerupBackboard.png",
+			"textures/flag.png"};
+	private static final String[] LEVEL_SOUNDS = {"sound/levelMusic.mp3", "sound/collect.mp3", "sound/gun.mp3",
+			"sound/shot.mp3", "sound/levelComplete.mp3", "sound/gameOver.mp3", "sound/shieldHit.mp3",
+			"sound/enemyDeath.wav", "sound/quack.wav"};
+	private static final String[] LEVEL_MAPS = {"maps/map.tmx", "maps/map2.tmx", "maps/map3.tmx", "maps/map4.tmx",
+			"maps/map5.tmx", "maps/map6.tmx", "maps/map7.tmx", "maps/map8.tmx"};
+
+	/**
+	 * The atlas the level textures are packed into by the packTextures task, so they can all be drawn without
+	 * switching textures.
+	 */
+	private static final String ATLAS = "textures/game.atlas";
+
+	/**
+	 * How long update() may spend loading each frame, in milliseconds.
+	 */
+	private static final int LOAD_BUDGET = 10;
+
 	/**
 	 * Buttons for menus
 	 */
@@ -54,7 +109,7 @@ public class Assets {
 	/**
 	 * Texture for powerup backboard.
 	 */
-	public static Texture powerupBackboard;
+	public static TextureRegion powerupBackboard;
 
 	/**
 	 *  Animation for explosion.
@@ -147,25 +202,192 @@ public class Assets {
 	public static Sound gameOver;
 
 	/**
-	 * Responsible for loading maps.
+	 * Loads the files in the background, on a thread of its own and in update().
 	 */
-	private static TmxMapLoader mapLoader = new TmxMapLoader();
+	private static AssetManager manager = null;
 
 	/**
-	 * Loads all assets.
+	 * The atlas the level textures were loaded from, or null if they were loaded as separate textures.
+	 */
+	private static TextureAtlas atlas = null;
+
+	/**
+	 * Whether the menu assets and level assets have been loaded and set up.
+	 */
+	private static boolean menuLoaded = false, levelsLoaded = false;
+
+	/**
+	 * Loads all assets, waiting until they have all loaded.
 	 */
 	public static void load() {
+		long start = Tracer.begin();
+
+		startLoading();
+		manager.finishLoading();
+		update();
+
+		Tracer.end("Assets.load", start);
+	}
+
+	/**
+	 * Queues every asset to be loaded, menu assets first. Call update() every frame to keep them loading.
+	 */
+	public static void startLoading() {
+		manager = new AssetManager();
+		manager.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
+		manager.setLoader(TiledMap.class, BinaryMapLoader.EXTENSION, new BinaryMapLoader(new InternalFileHandleResolver()));
+		menuLoaded = false;
+		levelsLoaded = false;
+
+		for (String file : MENU_TEXTURES) {
+			manager.load(file, Texture.class);
+		}
+		for (String file : MENU_SOUNDS) {
+			manager.load(file, Sound.class);
+		}
+		manager.load(FONT, BitmapFont.class);
+
+		if (isAtlasUpToDate()) {
+			manager.load(ATLAS, TextureAtlas.class);
+		} else {
+			for (String file : LEVEL_TEXTURES) {
+				manager.load(file, Texture.class);
+			}
+		}
+		for (String file : LEVEL_SOUNDS) {
+			manager.load(file, Sound.class);
+		}
+		for (String file : LEVEL_MAPS) {
+			manager.load(getMapFile(file), TiledMap.class);
+		}
+	}
+
+	/**
+	 * Loads assets for a few milliseconds, setting up the menu and level assets as each finish loading.
+	 *
+	 * @return whether every asset has loaded
+	 */
+	public static boolean update() {
+		if (levelsLoaded) {
+			return true;
+		}
+
+		long start = Tracer.begin();
+		boolean finished = manager.update(LOAD_BUDGET);
+		start = Tracer.end("AssetManager.update", start);
+
+		if (!menuLoaded && (finished || isLoaded(MENU_TEXTURES) && isLoaded(MENU_SOUNDS) && manager.isLoaded(FONT))) {
+			setUpMenuAssets();
+			menuLoaded = true;
+			start = Tracer.end("Assets.setUpMenuAssets", start);
+		}
+
+		if (finished) {
+			setUpLevelAssets();
+			levelsLoaded = true;
+			Tracer.end("Assets.setUpLevelAssets", start);
+		}
+
+		return levelsLoaded;
+	}
+
+	/**
+	 * Gets whether the assets the menus need have loaded.
+	 *
+	 * @return whether the menu assets have loaded
+	 */
+	public static boolean isMenuLoaded() {
+		return menuLoaded;
+	}
+
+	/**
+	 * Gets whether every asset has loaded.
+	 *
+	 * @return whether every asset has loaded
+	 */
+	public static boolean isLoaded() {
+		return levelsLoaded;
+	}
+
+	/**
+	 * Gets how much of the assets have loaded.
+	 *
+	 * @return the proportion loaded, from 0 to 1
+	 */
+	public static float getProgress() {
+		return manager == null ? 0 : manager.getProgress();
+	}
+
+	/**
+	 * Gets the map for a level.
+	 *
+	 * @param level the level, from 1 to 8
+	 * @return the level's map
+	 */
+	public static TiledMap getLevelMap(int level) {
+		switch (level) {
+		case 1: return levelOneMap;
+		case 2: return levelTwoMap;
+		case 3: return levelThreeMap;
+		case 4: return levelFourMap;
+		case 5: return levelFiveMap;
+		case 6: return levelSixMap;
+		case 7: return levelSevenMap;
+		case 8: return levelEightMap;
+		default: throw new IllegalArgumentException("No such level: " + level);
+		}
+	}
+
+	/**
+	 * Gets whether all of the specified files have loaded.
+	 *
+	 * @param files the files to check
+	 * @return whether they have all loaded
+	 */
+	private static boolean isLoaded(String[] files) {
+		for (String file : files) {
+			if (!manager.isLoaded(file)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Sets up the assets the menus need once they have loaded.
+	 */
+	private static void setUpMenuAssets() {
+		buttonPress = loadSound("sound/button.mp3");
+
+		font = loadFont(FONT);
+
+		button = new TextureRegion(loadTexture("textures/button.png"));
+		buttonLocked = new TextureRegion(loadTexture("textures/buttonLocked.png"));
+		downButton = new TextureRegion(loadTexture("textures/down.png"));
+		upButton = new TextureRegion(loadTexture("textures/down.png"));
+		upButton.flip(true, false);
+		backButton = new TextureRegion(loadTexture("textures/esc.png"));
+
+		logo = new TextureRegion(loadTexture("textures/logo.png"));
+	}
+
+	/**
+	 * Sets up the assets for playing levels once they have loaded.
+	 */
+	private static void setUpLevelAssets() {
+		atlas = manager.isLoaded(ATLAS) ? manager.get(ATLAS, TextureAtlas.class) : null;
+
 		loadPlayerTextureSets();
 		loadBadGuyTextureSets();
 		loadBossTextureSets();
 		loadFloorItems();
 
-		projectile = new TextureRegion(loadTexture("textures/projectile.png"));
+		projectile = new TextureRegion(loadRegion("textures/projectile.png"));
 
 		explosionAnimation = loadAnimation("textures/explosion.png", 2, 32, 0.3f);
 
 		music = loadSound("sound/levelMusic.mp3");
-		buttonPress = loadSound("sound/button.mp3");
 		collect = loadSound("sound/collect.mp3");
 		gunPickup = loadSound("sound/gun.mp3");
 		shot = loadSound("sound/shot.mp3");
@@ -185,29 +407,18 @@ public class Assets {
 		levelSevenMap = loadTiledMap("maps/map7.tmx");
 		levelEightMap = loadTiledMap("maps/map8.tmx");
 
-		font = loadFont("font/gamefont.fnt", "font/gamefont.png");
-
-
-
-		Texture hearts = loadTexture("textures/hearts.png");
+		TextureRegion hearts = loadRegion("textures/hearts.png");
 		heartFull = new TextureRegion(hearts, 0, 0, 32, 28);
 		heartHalf = new TextureRegion(hearts, 32, 0, 32, 28);
 		heartEmpty = new TextureRegion(hearts, 64, 0, 32, 28);
 
-		Texture stamina = loadTexture("textures/stamina.png");
-		staminaFull = new TextureRegion(stamina, 0, 0, stamina.getWidth(), stamina.getHeight()/2);
-		staminaEmpty = new TextureRegion(stamina, 0, stamina.getHeight()/2, stamina.getWidth(), stamina.getHeight()/2);
+		TextureRegion stamina = loadRegion("textures/stamina.png");
+		staminaFull = new TextureRegion(stamina, 0, 0, stamina.getRegionWidth(), stamina.getRegionHeight()/2);
+		staminaEmpty = new TextureRegion(stamina, 0, stamina.getRegionHeight()/2, stamina.getRegionWidth(), stamina.getRegionHeight()/2);
 
-		powerupBackboard = new Texture("textures/powerupBackboard.png");
-		button = new TextureRegion(loadTexture("textures/button.png"));
-		buttonLocked = new TextureRegion(loadTexture("textures/buttonLocked.png"));
-		downButton = new TextureRegion(loadTexture("textures/down.png"));
-		upButton = new TextureRegion(loadTexture("textures/down.png"));
-		upButton.flip(true, false);
-		backButton = new TextureRegion(loadTexture("textures/esc.png"));
+		powerupBackboard = loadRegion("textures/powerupBackboard.png");
 
-		flag = new TextureRegion(loadTexture("textures/flag.png"));
-		logo = new TextureRegion(loadTexture("textures/logo.png"));
+		flag = new TextureRegion(loadRegion("textures/flag.png"));
 	}
 
 	/**
@@ -216,7 +427,7 @@ public class Assets {
 	 */
 	private static void loadPlayerTextureSets() {
 		// Load idle texture map.
-		Texture playerIdle = loadTexture("textures/player_idle.png");
+		TextureRegion playerIdle = loadRegion("textures/player_idle.png");
 
 		// Cut idle textures from texture map.
 		TextureRegion front = new TextureRegion(playerIdle, 0*14, 0, 14, 18);
@@ -232,7 +443,7 @@ public class Assets {
 
 
 		// Load idle with gun texture map.
-		Texture playerIdleGun = loadTexture("textures/player_gun_idle.png");
+		TextureRegion playerIdleGun = loadRegion("textures/player_gun_idle.png");
 
 		// Cut idle with gun textures from texture map.
 		TextureRegion frontGun = new TextureRegion(playerIdleGun, 0*18, 0, 18, 18);
@@ -248,7 +459,7 @@ public class Assets {
 
 
 		// Load swimming texture map.
-		Texture swimmingIdle = new Texture("textures/player_swimming_idle.png");
+		TextureRegion swimmingIdle = loadRegion("textures/player_swimming_idle.png");
 
 		// Cut idle swimming textures from texture map.
 		TextureRegion swimmingIdleFront = new TextureRegion(swimmingIdle, 0*14, 0, 14, 17);
@@ -279,7 +490,7 @@ public class Assets {
 	private static void loadBossTextureSets() {
 		
 		// Load idle texture map.
-		Texture bossIdle = loadTexture("textures/badguy_boss_idle.png");
+		TextureRegion bossIdle = loadRegion("textures/badguy_boss_idle.png");
 
 		// Cut idle textures from texture map.
 		TextureRegion front = new TextureRegion(bossIdle, 0*14, 0, 14, 18);
@@ -295,7 +506,7 @@ public class Assets {
 
 		
 		// Load swimming texture map.
-		Texture swimmingIdle = new Texture("textures/badguy_boss_swimming_idle.png");
+		TextureRegion swimmingIdle = loadRegion("textures/badguy_boss_swimming_idle.png");
 
 		// Cut idle swimming textures from texture map.
 		TextureRegion swimmingIdleFront = new TextureRegion(swimmingIdle, 0*14, 0, 14, 17);
@@ -322,7 +533,7 @@ public class Assets {
 	 */
 	private static void loadBadGuyTextureSets() {
 		// Load idle texture map.
-		Texture badGuyIdle = loadTexture("textures/badguy_idle.png");
+		TextureRegion badGuyIdle = loadRegion("textures/badguy_idle.png");
 
 		// Cut idle textures from texture map.
 		TextureRegion front = new TextureRegion(badGuyIdle, 0*21, 0, 21, 24);
@@ -339,7 +550,7 @@ public class Assets {
 		badGuyNormal = new TextureSet(front, back, left, right, walkingFront, walkingBack, walkingLeft, walkingRight);
 
 		// Load idle texture map.
-		Texture badGuySwimmingIdle = loadTexture("textures/badguy_idle_swimming.png");
+		TextureRegion badGuySwimmingIdle = loadRegion("textures/badguy_idle_swimming.png");
 
 		// Cut idle textures from texture map.
 		TextureRegion swimmingIdleFront = new TextureRegion(badGuySwimmingIdle, 0*21, 0, 21, 24);
@@ -356,7 +567,7 @@ public class Assets {
 		badGuySwimming = new TextureSet(swimmingIdleFront, swimmingIdleBack, swimmingIdleLeft, swimmingIdleRight, swimmingFront, swimmingBack, swimmingLeft, swimmingRight);
 
 		// Load idle texture map.
-		Texture badGuyGunIdle = loadTexture("textures/badguy_gun_idle.png");
+		TextureRegion badGuyGunIdle = loadRegion("textures/badguy_gun_idle.png");
 
 		// Cut idle textures from texture map.
 		TextureRegion gunFront = new TextureRegion(badGuyGunIdle, 0*21, 0, 21, 24);
@@ -379,7 +590,7 @@ public class Assets {
 	 * Loads the texture from the floor items file.
 	 */
 	public static void loadFloorItems() {
-		Texture floorItems = loadTexture("textures/floor_items.png");
+		TextureRegion floorItems = loadRegion("textures/floor_items.png");
 
 		floorItemGun = new TextureRegion(floorItems, 0*15, 0, 15, 15);
 		floorItemSpeed = new TextureRegion(floorItems, 1*15, 0, 15, 15);
@@ -390,62 +601,124 @@ public class Assets {
 	}
 
 	/**
-	 * Loads the texture from the specified file.
+	 * Gets the texture loaded from the specified file.
 	 *
-	 * @param file the file to load from
+	 * @param file the file it was loaded from
 	 * @return the texture
 	 */
 	public static Texture loadTexture(String file) {
-		return new Texture(Gdx.files.internal(file));
+		return manager.get(file, Texture.class);
+	}
+
+	/**
+	 * Gets the image loaded from the specified file, from the texture atlas if it was packed into one or from its own
+	 * texture if not. Parts of the image should be cut out relative to the region, not its texture.
+	 *
+	 * @param file the file it was loaded from
+	 * @return the region of its texture the image is in
+	 */
+	public static TextureRegion loadRegion(String file) {
+		if (atlas == null) {
+			return new TextureRegion(loadTexture(file));
+		}
+
+		String name = file.substring(file.lastIndexOf('/') + 1, file.lastIndexOf('.'));
+		TextureRegion region = atlas.findRegion(name);
+
+		if (region == null) {
+			throw new GdxRuntimeException(file + " isn't in " + ATLAS + ", pack the textures again");
+		}
+
+		return region;
 	}
 
 	/**
-	 * Loads the tile map from the specifed file.
+	 * Gets whether the level textures have been packed into the texture atlas since any of them last changed.
 	 *
-	 * @param file the file to load from
+	 * @return whether the atlas is up to date
+	 */
+	private static boolean isAtlasUpToDate() {
+		FileHandle atlasFile = Gdx.files.internal(ATLAS);
+
+		if (!atlasFile.exists()) {
+			return false;
+		}
+
+		// Packaged files all report 0, but can't have been edited since being packed anyway.
+		for (String file : LEVEL_TEXTURES) {
+			if (Gdx.files.internal(file).lastModified() > atlasFile.lastModified()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Gets the tile map loaded from the specifed file, or from its compiled version if there is one.
+	 *
+	 * @param file the TMX file
 	 * @return the tile map
 	 */
 	public static TiledMap loadTiledMap(String file) {
-		return mapLoader.load(file);
+		return manager.get(getMapFile(file), TiledMap.class);
+	}
+
+	/**
+	 * Gets the file a map is loaded from: the version compiled by the map compiler if there is an up to date one, which
+	 * loads much faster, or the TMX file if not.
+	 *
+	 * @param file the TMX file
+	 * @return the file to load the map from
+	 */
+	private static String getMapFile(String file) {
+		String compiledFile = file.substring(0, file.length() - ".tmx".length()) + BinaryMapLoader.EXTENSION;
+		FileHandle compiled = Gdx.files.internal(compiledFile);
+
+		// Packaged files all report 0, but can't have been edited since being compiled anyway.
+		if (compiled.exists() && compiled.lastModified() >= Gdx.files.internal(file).lastModified()) {
+			return compiledFile;
+		} else {
+			return file;
+		}
 	}
 
 	/**
-	 * Loads the animation from the specified file.
+	 * Cuts an animation from the image loaded from the specified file.
 	 *
-	 * @param file          the file to load from
+	 * @param file          the file the image was loaded from
 	 * @param count         how many frames are in the file
 	 * @param frameWidth    how wide each frame is in the file
 	 * @param frameDuration how long each frame should be shown for in seconds
 	 * @return the animation
 	 */
 	public static Animation loadAnimation(String file, int count, int frameWidth, float frameDuration) {
-		Texture texture = loadTexture(file);
+		TextureRegion region = loadRegion(file);
 		Array<TextureRegion> keyFrames = new Array<TextureRegion>();
 
 		for (int i = 0; i < count; i++) {
-			keyFrames.add(new TextureRegion(texture, i * frameWidth, 0, frameWidth, texture.getHeight()));
+			keyFrames.add(new TextureRegion(region, i * frameWidth, 0, frameWidth, region.getRegionHeight()));
 		}
 
 		return new Animation(frameDuration, keyFrames);
 	}
 
 	/**
-	 * Loads the bitmap font from the specified files.
+	 * Gets the bitmap font loaded from the specified file. The glyph image is loaded from the page named in the file.
 	 *
-	 * @param fontFile  the file containing information about the glyphs stored on the image file
-	 * @param imageFile the file containing the actual glyphs
+	 * @param fontFile the file containing information about the glyphs stored on the image file
 	 * @return the bitmap font
 	 */
-	public static BitmapFont loadFont(String fontFile, String imageFile) {
-		return new BitmapFont(Gdx.files.internal(fontFile), Gdx.files.internal(imageFile), false);
+	public static BitmapFont loadFont(String fontFile) {
+		return manager.get(fontFile, BitmapFont.class);
 	}
 
 	/**
-	 * Loads sound files based on a given path
+	 * Gets the sound loaded from a given path
 	 * @param path the path of the file
 	 * @return the gdx sound object
 	 */
 	public static Sound loadSound(String path){
-		return Gdx.audio.newSound(Gdx.files.internal(path));
+		return manager.get(path, Sound.class);
 	}
 }
@@ -0,0 +1,321 @@
+package com.superduckinvaders.game.assets;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Loads maps compiled from TMX files by the map compiler. The tile ids of each layer are stored as a flat array that is
+ * copied straight out of the file, so nothing has to be parsed. The map built has the same layers, tiles in each cell,
+ * and map and layer properties as TmxMapLoader would build from the TMX file, but not all of its tile sets: tile sets
+ * no layer uses are left out, and properties set on single tiles of a tile set aren't kept, as the game never reads
+ * them.
+ * <p>
+ * The file is big-endian, and laid out as:
+ * <pre>
+ * int    MAGIC, VERSION
+ * string orientation
+ * int    width, height, tile width, tile height (of the map)
+ * props  map properties
+ * int    tile set count, then for each tile set:
+ *        string name, string image (relative to the map), int first id, tile width, tile height, spacing, margin
+ * int    layer count, then for each layer:
+ *        string name, byte visible, float opacity, props, byte id size, tile ids[width * height], bottom row first
+ * </pre>
+ * where a string is an int length followed by that many bytes of UTF-8, and props are an int count followed by that
+ * many string name and string value pairs. Tile ids are unsigned shorts if the id size is 2, which it is unless a tile
+ * in the layer is flipped or has an id over 65535, and ints otherwise. Int ids keep the flip flags in their top bits,
+ * as in TMX files.
+ */
+public class BinaryMapLoader extends AsynchronousAssetLoader<TiledMap, BinaryMapLoader.Parameters> {
+
+	/**
+	 * The extension compiled maps are saved with.
+	 */
+	public static final String EXTENSION = ".bmap";
+
+	/**
+	 * Identifies a compiled map file, and the version of the layout it was written with.
+	 */
+	public static final int MAGIC = 0x53444d50, VERSION = 1;
+
+	/**
+	 * The flip flags in the top bits of a tile id, and the mask that clears them.
+	 */
+	public static final int FLAG_FLIP_HORIZONTALLY = 0x80000000, FLAG_FLIP_VERTICALLY = 0x40000000,
+			FLAG_FLIP_DIAGONALLY = 0x20000000, MASK_CLEAR = 0x1FFFFFFF;
+
+	/**
+	 * The map being loaded.
+	 */
+	private TiledMap map;
+
+	/**
+	 * Initialises this BinaryMapLoader.
+	 *
+	 * @param resolver resolves the names of maps to files
+	 */
+	public BinaryMapLoader(FileHandleResolver resolver) {
+		super(resolver);
+	}
+
+	/**
+	 * Gets the tile set images the map needs, so they can be loaded first.
+	 */
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+		ByteBuffer buffer = readHeader(file);
+		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
+
+		readString(buffer);
+		buffer.position(buffer.position() + 4 * 4);
+		readProperties(buffer, new MapProperties());
+
+		int tileSetCount = buffer.getInt();
+		for (int i = 0; i < tileSetCount; i++) {
+			readString(buffer);
+			dependencies.add(new AssetDescriptor<Texture>(getRelativeFile(file, readString(buffer)), Texture.class));
+			buffer.position(buffer.position() + 5 * 4);
+		}
+
+		return dependencies;
+	}
+
+	/**
+	 * Builds the map. The tile set images have already been loaded.
+	 */
+	@Override
+	public void loadAsync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+		ByteBuffer buffer = readHeader(file);
+		map = new TiledMap();
+		MapProperties properties = map.getProperties();
+
+		properties.put("orientation", readString(buffer));
+		properties.put("width", buffer.getInt());
+		properties.put("height", buffer.getInt());
+		properties.put("tilewidth", buffer.getInt());
+		properties.put("tileheight", buffer.getInt());
+		readProperties(buffer, properties);
+
+		int tileSetCount = buffer.getInt();
+		for (int i = 0; i < tileSetCount; i++) {
+			map.getTileSets().addTileSet(readTileSet(buffer, manager, file));
+		}
+
+		int layerCount = buffer.getInt();
+		for (int i = 0; i < layerCount; i++) {
+			map.getLayers().add(readLayer(buffer, properties));
+		}
+	}
+
+	/**
+	 * Hands over the map built by loadAsync.
+	 */
+	@Override
+	public TiledMap loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+		TiledMap loaded = map;
+		map = null;
+		return loaded;
+	}
+
+	/**
+	 * Reads a compiled map file, checking it was written with the current layout.
+	 *
+	 * @param file the file to read
+	 * @return the contents of the file, positioned after the magic number and version
+	 */
+	private static ByteBuffer readHeader(FileHandle file) {
+		ByteBuffer buffer = ByteBuffer.wrap(file.readBytes());
+
+		if (buffer.getInt() != MAGIC) {
+			throw new GdxRuntimeException(file.path() + " isn't a compiled map");
+		}
+		if (buffer.getInt() != VERSION) {
+			throw new GdxRuntimeException(file.path() + " was compiled by a different version of the map compiler");
+		}
+
+		return buffer;
+	}
+
+	/**
+	 * Reads a tile set, cutting a tile out of its image for every id it covers.
+	 *
+	 * @param buffer  the buffer to read from
+	 * @param manager the asset manager the image was loaded by
+	 * @param file    the map file, which the image path is relative to
+	 * @return the tile set
+	 */
+	private static TiledMapTileSet readTileSet(ByteBuffer buffer, AssetManager manager, FileHandle file) {
+		TiledMapTileSet tileSet = new TiledMapTileSet();
+		tileSet.setName(readString(buffer));
+		Texture texture = manager.get(getRelativeFile(file, readString(buffer)), Texture.class);
+		int id = buffer.getInt();
+		int tileWidth = buffer.getInt(), tileHeight = buffer.getInt();
+		int spacing = buffer.getInt(), margin = buffer.getInt();
+
+		// Same order as TmxMapLoader, so the ids match.
+		for (int y = margin; y <= texture.getHeight() - tileHeight; y += tileHeight + spacing) {
+			for (int x = margin; x <= texture.getWidth() - tileWidth; x += tileWidth + spacing) {
+				StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion(texture, x, y, tileWidth, tileHeight));
+				tile.setId(id);
+				tileSet.putTile(id++, tile);
+			}
+		}
+
+		return tileSet;
+	}
+
+	/**
+	 * Reads a tile layer.
+	 *
+	 * @param buffer        the buffer to read from
+	 * @param mapProperties the properties of the map the layer belongs to
+	 * @return the layer
+	 */
+	private TiledMapTileLayer readLayer(ByteBuffer buffer, MapProperties mapProperties) {
+		int width = mapProperties.get("width", Integer.class), height = mapProperties.get("height", Integer.class);
+		TiledMapTileLayer layer = new TiledMapTileLayer(width, height, mapProperties.get("tilewidth", Integer.class),
+				mapProperties.get("tileheight", Integer.class));
+
+		layer.setName(readString(buffer));
+		layer.setVisible(buffer.get() != 0);
+		layer.setOpacity(buffer.getFloat());
+		readProperties(buffer, layer.getProperties());
+
+		int[] ids = new int[width * height];
+		if (buffer.get() == 2) {
+			short[] shortIds = new short[ids.length];
+			buffer.asShortBuffer().get(shortIds);
+			buffer.position(buffer.position() + shortIds.length * 2);
+
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = shortIds[i] & 0xFFFF;
+			}
+		} else {
+			buffer.asIntBuffer().get(ids);
+			buffer.position(buffer.position() + ids.length * 4);
+		}
+
+		for (int i = 0; i < ids.length; i++) {
+			if (ids[i] != 0) {
+				TiledMapTile tile = map.getTileSets().getTile(ids[i] & MASK_CLEAR);
+
+				if (tile != null) {
+					Cell cell = createCell(ids[i]);
+					cell.setTile(tile);
+					layer.setCell(i % width, i / width, cell);
+				}
+			}
+		}
+
+		return layer;
+	}
+
+	/**
+	 * Creates a cell flipped and rotated as the flags in a tile id say, in the same way TmxMapLoader does.
+	 *
+	 * @param id the tile id, with its flip flags
+	 * @return the cell, without its tile
+	 */
+	private static Cell createCell(int id) {
+		boolean flipHorizontally = (id & FLAG_FLIP_HORIZONTALLY) != 0;
+		boolean flipVertically = (id & FLAG_FLIP_VERTICALLY) != 0;
+		Cell cell = new Cell();
+
+		if ((id & FLAG_FLIP_DIAGONALLY) != 0) {
+			if (flipHorizontally && flipVertically) {
+				cell.setFlipHorizontally(true);
+				cell.setRotation(Cell.ROTATE_270);
+			} else if (flipHorizontally) {
+				cell.setRotation(Cell.ROTATE_270);
+			} else if (flipVertically) {
+				cell.setRotation(Cell.ROTATE_90);
+			} else {
+				cell.setFlipVertically(true);
+				cell.setRotation(Cell.ROTATE_270);
+			}
+		} else {
+			cell.setFlipHorizontally(flipHorizontally);
+			cell.setFlipVertically(flipVertically);
+		}
+
+		return cell;
+	}
+
+	/**
+	 * Reads a set of properties.
+	 *
+	 * @param buffer     the buffer to read from
+	 * @param properties the properties to add them to
+	 */
+	private static void readProperties(ByteBuffer buffer, MapProperties properties) {
+		int count = buffer.getInt();
+
+		for (int i = 0; i < count; i++) {
+			String name = readString(buffer);
+			properties.put(name, readString(buffer));
+		}
+	}
+
+	/**
+	 * Reads a string.
+	 *
+	 * @param buffer the buffer to read from
+	 * @return the string
+	 */
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+
+		try {
+			return new String(bytes, "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Gets the path of a file relative to the map file.
+	 *
+	 * @param file the map file
+	 * @param path the path relative to the map file
+	 * @return the path of the file
+	 */
+	private static String getRelativeFile(FileHandle file, String path) {
+		FileHandle result = file.parent();
+
+		for (String part : path.split("/")) {
+			if (part.equals("..")) {
+				result = result.parent();
+			} else if (!part.isEmpty() && !part.equals(".")) {
+				result = result.child(part);
+			}
+		}
+
+		return result.path();
+	}
+
+	/**
+	 * Parameters for loading a compiled map. There aren't any yet.
+	 */
+	public static class Parameters extends AssetLoaderParameters<TiledMap> {
+	}
+}
@@ -29,6 +29,11 @@ public abstract class Character extends Entity {
      */
     protected int maximumHealth, currentHealth;
 
+    /**
+     * The range of SpatialHash cells this Character was last stored in. cellMinX is -1 when it isn't stored in one.
+     */
+    int cellMinX = -1, cellMinY, cellMaxX, cellMaxY;
+
     /**
      * Initialises this Character.
      *
@@ -108,7 +113,7 @@ public abstract class Character extends Entity {
      * @param damage how much damage the projectile deals
      */
     protected void fireAt(double x, double y, int speed, int damage) {
-        parent.createProjectile(this.x + getWidth() / 2, this.y + getHeight() / 2, x, y, speed, velocityX, velocityY, damage, this);
+        parent.createProjectile(getX() + getWidth() / 2, getY() + getHeight() / 2, x, y, speed, getVelocityX(), getVelocityY(), damage, this);
     }
 
     /**
@@ -129,15 +134,15 @@ public abstract class Character extends Entity {
             // Attack the closest Character within the range.
             Character closest = null;
 
-            for (Entity entity : parent.getEntities()) {
-                // Disregard entity if it's me or it isn't a Character.
-                if (this == entity || !(entity instanceof Character)) {
+            for (Character character : parent.getCharacters()) {
+                // Disregard character if it's me.
+                if (this == character) {
                     continue;
                 }
 
-                double x = entity.getX(), y = entity.getY();
+                double x = character.getX(), y = character.getY();
                 if (distanceTo(x, y) <= range && directionTo(x, y) == facing && (closest == null || distanceTo(x, y) < distanceTo(closest.getX(), closest.getY()))) {
-                    closest = (Character) entity;
+                    closest = character;
                 }
             }
 
@@ -154,7 +159,7 @@ public abstract class Character extends Entity {
     public void checkSwimming(){
     	int tileWidth = parent.getTileWidth();
     	TiledMapTileLayer water = (TiledMapTileLayer) parent.getMap().getLayers().get("Water");
-		if (water.getCell((int)x/tileWidth,(int)y/tileWidth) != null){
+		if (water.getCell((int)getX()/tileWidth,(int)getY()/tileWidth) != null){
 			isSwimming = true;
 		}
 		else{
@@ -186,6 +191,7 @@ public abstract class Character extends Entity {
     	
  
         // Update Character facing.
+        double velocityX = getVelocityX(), velocityY = getVelocityY();
         if (velocityX < 0) {
             facing = TextureSet.FACING_LEFT;
         } else if (velocityX > 0) {
@@ -211,5 +217,8 @@ public abstract class Character extends Entity {
         }
 
         super.update(delta);
+
+        // Keep the Round's spatial hash in step with where we moved to.
+        parent.getSpatialHash().update(this);
     }
 }
@@ -15,14 +15,11 @@ public abstract class Entity {
     protected Round parent;
 
     /**
-     * The x and y coordinates of this Entity.
+     * The store holding the position and velocity of this Entity, and the slot in it they are held in. The store is the
+     * Round's from when this Entity is added to it until it is removed, and the Round's holding store otherwise.
      */
-    protected double x, y;
-
-    /**
-     * The x and y velocity of this MobileEntity in pixels per second.
-     */
-    protected double velocityX = 0, velocityY = 0;
+    EntityStore store;
+    int slot;
 
     /**
      * Whether or not to remove this Entity on the next frame.
@@ -47,8 +44,13 @@ public abstract class Entity {
      */
     public Entity(Round parent, double x, double y) {
         this.parent = parent;
-        this.x = x;
-        this.y = y;
+        // Entities only take a slot in the Round's store once added to it, so ones that never are don't leave a gap.
+        // Entities made without a Round, as in tests, get a store of their own.
+        this.store = parent != null ? parent.getEntityStore().getHolding() : new EntityStore(1);
+        this.slot = store.allocate(this);
+
+        store.x[slot] = store.previousX[slot] = x;
+        store.y[slot] = store.previousY[slot] = y;
     }
 
     /**
@@ -56,7 +58,7 @@ public abstract class Entity {
      * @return the x coordinate of this Entity
      */
     public double getX() {
-        return x;
+        return store.x[slot];
     }
 
     /**
@@ -64,7 +66,86 @@ public abstract class Entity {
      * @return the y coordinate of this Entity
      */
     public double getY() {
-        return y;
+        return store.y[slot];
+    }
+
+    /**
+     * Returns the x coordinate to draw the entity at, between where it was at the start of the current simulation
+     * step and where it is now
+     * @return the interpolated x coordinate of this Entity
+     */
+    public double getRenderX() {
+        double previousX = store.previousX[slot];
+        return previousX + (store.x[slot] - previousX) * parent.getInterpolationAlpha();
+    }
+
+    /**
+     * Returns the y coordinate to draw the entity at, between where it was at the start of the current simulation
+     * step and where it is now
+     * @return the interpolated y coordinate of this Entity
+     */
+    public double getRenderY() {
+        double previousY = store.previousY[slot];
+        return previousY + (store.y[slot] - previousY) * parent.getInterpolationAlpha();
+    }
+
+    /**
+     * Remembers the current position as the start of a new simulation step.
+     */
+    public void savePosition() {
+        store.previousX[slot] = store.x[slot];
+        store.previousY[slot] = store.y[slot];
+    }
+
+    /**
+     * Sets the x coordinate of this Entity.
+     *
+     * @param x the new x coordinate
+     */
+    protected void setX(double x) {
+        store.x[slot] = x;
+    }
+
+    /**
+     * Sets the y coordinate of this Entity.
+     *
+     * @param y the new y coordinate
+     */
+    protected void setY(double y) {
+        store.y[slot] = y;
+    }
+
+    /**
+     * Puts this Entity back at the specified coordinates, standing still and not removed, so it can be reused.
+     *
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     */
+    protected void respawn(double x, double y) {
+        store.x[slot] = store.previousX[slot] = x;
+        store.y[slot] = store.previousY[slot] = y;
+        store.velocityX[slot] = store.velocityY[slot] = 0;
+        removed = false;
+    }
+
+    /**
+     * Moves the position and velocity of this Entity into another store.
+     *
+     * @param target the store to move to
+     */
+    void moveTo(EntityStore target) {
+        int targetSlot = target.allocate(this);
+
+        target.x[targetSlot] = store.x[slot];
+        target.y[targetSlot] = store.y[slot];
+        target.previousX[targetSlot] = store.previousX[slot];
+        target.previousY[targetSlot] = store.previousY[slot];
+        target.velocityX[targetSlot] = store.velocityX[slot];
+        target.velocityY[targetSlot] = store.velocityY[slot];
+
+        store.free(slot);
+        store = target;
+        slot = targetSlot;
     }
 
     /**
@@ -72,7 +153,7 @@ public abstract class Entity {
      * @return the x velocity of this MobileEntity in pixels per second
      */
     public double getVelocityX() {
-        return velocityX;
+        return store.velocityX[slot];
     }
 
     /**
@@ -80,7 +161,25 @@ public abstract class Entity {
      * @return the y coordinate of this MobileEntity in pixels per second
      */
     public double getVelocityY() {
-        return velocityY;
+        return store.velocityY[slot];
+    }
+
+    /**
+     * Sets the x velocity of this Entity.
+     *
+     * @param velocityX the new x velocity in pixels per second
+     */
+    protected void setVelocityX(double velocityX) {
+        store.velocityX[slot] = velocityX;
+    }
+
+    /**
+     * Sets the y velocity of this Entity.
+     *
+     * @param velocityY the new y velocity in pixels per second
+     */
+    protected void setVelocityY(double velocityY) {
+        store.velocityY[slot] = velocityY;
     }
 
     /**
@@ -93,7 +192,8 @@ public abstract class Entity {
      * @return whether the specified rectangle intersects this Entity
      */
     public boolean intersects(double x, double y, int width, int height) {
-        return this.x < x + width && this.x + getWidth() > x && this.y < y + height && this.y + getHeight() > y;
+        double thisX = store.x[slot], thisY = store.y[slot];
+        return thisX < x + width && thisX + getWidth() > x && thisY < y + height && thisY + getHeight() > y;
     }
 
     /**
@@ -104,7 +204,7 @@ public abstract class Entity {
      * @return the distance between this Entity and the coordinates, in pixels
      */
     public double distanceTo(double x, double y) {
-        return Math.sqrt(Math.pow(x - this.x, 2) + Math.pow(y - this.y, 2));
+        return Math.sqrt(Math.pow(x - store.x[slot], 2) + Math.pow(y - store.y[slot], 2));
     }
 
     /**
@@ -115,7 +215,7 @@ public abstract class Entity {
      * @return the angle between this Entity and the coordinates, in radians
      */
     public double angleTo(double x, double y) {
-        return Math.atan2(y - this.y, x - this.x);
+        return Math.atan2(y - store.y[slot], x - store.x[slot]);
     }
 
     /**
@@ -163,16 +263,16 @@ public abstract class Entity {
      * Ensures that this MobileEntity stays within the map area.
      */
     protected void checkBounds() {
-        if (x < 0) {
-            x = 0;
-        } else if (x > parent.getMapWidth() - getWidth()) {
-            x = parent.getMapWidth() - getWidth();
+        if (store.x[slot] < 0) {
+            store.x[slot] = 0;
+        } else if (store.x[slot] > parent.getMapWidth() - getWidth()) {
+            store.x[slot] = parent.getMapWidth() - getWidth();
         }
 
-        if (y < 0) {
-            y = 0;
-        } else if (y > parent.getMapHeight() - getHeight()) {
-            y = parent.getMapHeight() - getHeight();
+        if (store.y[slot] < 0) {
+            store.y[slot] = 0;
+        } else if (store.y[slot] > parent.getMapHeight() - getHeight()) {
+            store.y[slot] = parent.getMapHeight() - getHeight();
         }
     }
 
@@ -186,17 +286,58 @@ public abstract class Entity {
 	 * @return whether or not the map tile is blocked
 	 */
 	public boolean isTileBlocked(int x, int y) {
+		return parent.isTileBlocked(x / parent.getTileWidth(), y / parent.getTileHeight(), isFlyingOverObstacles());
+	}
+
+	/**
+	 * Gets whether any map tile along a vertical line of pixels is blocked, checking each tile once.
+	 *
+	 * @param x       the x coordinate of the line
+	 * @param bottomY the y coordinate of the bottom of the line
+	 * @param topY    the y coordinate of the top of the line (inclusive)
+	 * @return whether or not any of the map tiles are blocked
+	 */
+	private boolean isColumnBlocked(int x, int bottomY, int topY) {
 		int tileX = x / parent.getTileWidth();
-		int tileY = y / parent.getTileHeight();
+		boolean flying = isFlyingOverObstacles();
 
-		//allows the player to fly over bushes (and only the player)
-		if (this instanceof Player && parent.getPlayer().isFlying()){
-			return parent.getCollisionLayer().getCell(tileX, tileY) != null;
+		for (int tileY = bottomY / parent.getTileHeight(); tileY <= topY / parent.getTileHeight(); tileY++) {
+			if (parent.isTileBlocked(tileX, tileY, flying)) {
+				return true;
+			}
 		}
-		else {
-			return parent.getCollisionLayer().getCell(tileX, tileY) != null || (parent.getObstaclesLayer() != null && parent.getObstaclesLayer().getCell(tileX, tileY) != null);
+
+		return false;
+	}
+
+	/**
+	 * Gets whether any map tile along a horizontal line of pixels is blocked, checking each tile once.
+	 *
+	 * @param y      the y coordinate of the line
+	 * @param leftX  the x coordinate of the left of the line
+	 * @param rightX the x coordinate of the right of the line (inclusive)
+	 * @return whether or not any of the map tiles are blocked
+	 */
+	private boolean isRowBlocked(int y, int leftX, int rightX) {
+		int tileY = y / parent.getTileHeight();
+		boolean flying = isFlyingOverObstacles();
+
+		for (int tileX = leftX / parent.getTileWidth(); tileX <= rightX / parent.getTileWidth(); tileX++) {
+			if (parent.isTileBlocked(tileX, tileY, flying)) {
+				return true;
+			}
 		}
-		 
+
+		return false;
+	}
+
+	/**
+	 * Returns whether this Entity can currently pass over obstacles such as bushes (only the flying player can).
+	 *
+	 * @return whether obstacles should be ignored for this Entity
+	 */
+	private boolean isFlyingOverObstacles() {
+		return this instanceof Player && parent.getPlayer().isFlying();
 	}
     
     
@@ -207,15 +348,9 @@ public abstract class Entity {
      * @return whether a collision would occur on the left or right
      */
     public boolean collidesX(double deltaX) {
-        // Check for entity collisions.
-        for (Entity entity : parent.getEntities()) {
-            if (entity == this || this instanceof Projectile) {
-                continue;
-            }
-
-            if (entity instanceof Character && entity.intersects(x + deltaX, y, getWidth(), getHeight())) {
-                return true;
-            }
+        // Check for collisions with the characters near us (projectiles check for hits themselves).
+        if (!(this instanceof Projectile) && parent.getSpatialHash().collides(this, getX() + deltaX, getY(), getWidth(), getHeight())) {
+            return true;
         }
 
         // Check for tile collisions.
@@ -229,16 +364,9 @@ public abstract class Entity {
      * @return whether a collision would occur on the bottom or top
      */
     public boolean collidesY(double deltaY) {
-        // Check for entity collisions.
-        for (Entity entity : parent.getEntities()) {
-            // Don't damage my owner.
-            if (entity == this || this instanceof Projectile) {
-                continue;
-            }
-
-            if (entity instanceof Character && entity.intersects(x, y + deltaY, getWidth(), getHeight())) {
-                return true;
-            }
+        // Check for collisions with the characters near us (projectiles check for hits themselves).
+        if (!(this instanceof Projectile) && parent.getSpatialHash().collides(this, getX(), getY() + deltaY, getWidth(), getHeight())) {
+            return true;
         }
 
         // Check for tile collisions.
@@ -255,13 +383,13 @@ public abstract class Entity {
      * @return whether collides
      */
     public boolean collidesXfrom(double deltaX, double fromX, double fromY) {
-        double tempX = this.x;
-        double tempY = this.y;
-        this.x = fromX;
-        this.y = fromY;
+        double tempX = getX();
+        double tempY = getY();
+        setX(fromX);
+        setY(fromY);
         boolean result = collidesX(deltaX);
-        this.x = tempX;
-        this.y = tempY;
+        setX(tempX);
+        setY(tempY);
         return result;
     }
 
@@ -275,13 +403,13 @@ public abstract class Entity {
      * @return whether collides
      */
     public boolean collidesYfrom(double deltaY, double fromX, double fromY) {
-        double tempX = this.x;
-        double tempY = this.y;
-        this.x = fromX;
-        this.y = fromY;
+        double tempX = getX();
+        double tempY = getY();
+        setX(fromX);
+        setY(fromY);
         boolean result = collidesY(deltaY);
-        this.x = tempX;
-        this.y = tempY;
+        setX(tempX);
+        setY(tempY);
         return result;
     }
 
@@ -292,17 +420,13 @@ public abstract class Entity {
      * @return whether a collision would occur on the left
      */
     private boolean collidesLeft(double deltaX) {
-        // If entity is smaller than tile we can just check to see if each corner collides instead of all points along the edge.
+        double x = getX(), y = getY();
+
+        // If entity is smaller than tile we can just check to see if each corner collides, otherwise check every tile along the edge.
         if (getHeight() <= parent.getTileHeight()) {
-            return isTileBlocked((int) Math.floor(x + deltaX), (int) y) || isTileBlocked((int) Math.floor(x + deltaX), (int) y + getHeight());
+            return isColumnBlocked((int) Math.floor(x + deltaX), (int) y, (int) y + getHeight());
         } else {
-            for (int i = (int) y; i < y + getHeight(); i++) {
-                if (isTileBlocked((int) Math.floor(x + deltaX), i)) {
-                    return true;
-                }
-            }
-
-            return false;
+            return isColumnBlocked((int) Math.floor(x + deltaX), (int) y, (int) Math.ceil(y + getHeight()) - 1);
         }
     }
 
@@ -313,17 +437,13 @@ public abstract class Entity {
      * @return whether a collision would occur on the right
      */
     private boolean collidesRight(double deltaX) {
-        // If entity is smaller than tile we can just check to see if each corner collides instead of all points along the edge.
+        double x = getX(), y = getY();
+
+        // If entity is smaller than tile we can just check to see if each corner collides, otherwise check every tile along the edge.
         if (getHeight() <= parent.getTileHeight()) {
-            return isTileBlocked((int) Math.floor(x + getWidth() + deltaX), (int) y) || isTileBlocked((int) Math.floor(x + getWidth() + deltaX), (int) y + getHeight());
+            return isColumnBlocked((int) Math.floor(x + getWidth() + deltaX), (int) y, (int) y + getHeight());
         } else {
-            for (int i = (int) y; i < y + getHeight(); i++) {
-                if (isTileBlocked((int) Math.ceil(x + getWidth() - 1 + deltaX), i)) {
-                    return true;
-                }
-            }
-
-            return false;
+            return isColumnBlocked((int) Math.ceil(x + getWidth() - 1 + deltaX), (int) y, (int) Math.ceil(y + getHeight()) - 1);
         }
     }
 
@@ -334,17 +454,13 @@ public abstract class Entity {
      * @return whether a collision would occur on the bottom
      */
     private boolean collidesBottom(double deltaY) {
-        // If entity is smaller than tile we can just check to see if each corner collides instead of all points along the edge.
+        double x = getX(), y = getY();
+
+        // If entity is smaller than tile we can just check to see if each corner collides, otherwise check every tile along the edge.
         if (getWidth() <= parent.getTileWidth()) {
-            return isTileBlocked((int) x, (int) Math.floor(y + deltaY)) || isTileBlocked((int) x + getWidth(), (int) Math.floor(y + deltaY));
+            return isRowBlocked((int) Math.floor(y + deltaY), (int) x, (int) x + getWidth());
         } else {
-            for (int i = (int) x; i < x + getWidth(); i++) {
-                if (isTileBlocked(i, (int) Math.floor(y + deltaY))) {
-                    return true;
-                }
-            }
-
-            return false;
+            return isRowBlocked((int) Math.floor(y + deltaY), (int) x, (int) Math.ceil(x + getWidth()) - 1);
         }
     }
 
@@ -356,17 +472,13 @@ public abstract class Entity {
      * @return whether a collision would occur on the top
      */
     private boolean collidesTop(double deltaY) {
-        // If entity is smaller than tile we can just check to see if each corner collides instead of all points along the edge.
+        double x = getX(), y = getY();
+
+        // If entity is smaller than tile we can just check to see if each corner collides, otherwise check every tile along the edge.
         if (getWidth() <= parent.getTileWidth()) {
-            return isTileBlocked((int) x, (int) Math.floor(y + getHeight() + deltaY)) || isTileBlocked((int) x + getWidth(), (int) Math.floor(y + getHeight() + deltaY));
+            return isRowBlocked((int) Math.floor(y + getHeight() + deltaY), (int) x, (int) x + getWidth());
         } else {
-            for (int i = (int) x; i < x + getWidth(); i++) {
-                if (isTileBlocked(i, (int) Math.ceil(y + getHeight() - 1 + deltaY))) {
-                    return true;
-                }
-            }
-
-            return false;
+            return isRowBlocked((int) Math.ceil(y + getHeight() - 1 + deltaY), (int) x, (int) Math.ceil(x + getWidth()) - 1);
         }
     }
 
@@ -376,8 +488,8 @@ public abstract class Entity {
      * @param delta how much time has passed since the last update
      */
     public void update(float delta) {
-        double deltaX = velocityX * delta;
-        double deltaY = velocityY * delta;
+        double deltaX = store.velocityX[slot] * delta;
+        double deltaY = store.velocityY[slot] * delta;
 
         if (collidesX(deltaX)) {
             deltaX = 0;
@@ -387,8 +499,8 @@ public abstract class Entity {
             deltaY = 0;
         }
 
-        x += deltaX;
-        y += deltaY;
+        store.x[slot] += deltaX;
+        store.y[slot] += deltaY;
 
         checkBounds();
     }
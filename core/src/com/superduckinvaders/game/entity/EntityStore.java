@@ -0,0 +1,212 @@
+package com.superduckinvaders.game.entity;
+
+/**
+ * Holds the positions and velocities of Entities in contiguous arrays, one slot per Entity, so that sweeps over every
+ * Entity in a Round read memory in order instead of chasing each Entity around the heap. An Entity is a handle on its
+ * slot.
+ * <p>
+ * Every Entity in a Round is stored in the Round's EntityStore from when it is added until the Round removes it.
+ * Entities the Round may still add, such as ones just created or removed entities waiting in a pool, are kept in a
+ * holding store shared by the whole Round, so only entities in the Round take up the main store's slots. Entities that
+ * have left the Round for good are discarded or retired instead, so the holding store doesn't keep them alive. Slots
+ * are kept packed: removing an Entity moves the last one into its slot, so the order of the slots isn't the order of
+ * the Round's entity lists.
+ */
+public final class EntityStore {
+
+    /**
+     * The x and y coordinates of each Entity.
+     */
+    double[] x, y;
+
+    /**
+     * The x and y coordinates of each Entity at the start of the current simulation step.
+     */
+    double[] previousX, previousY;
+
+    /**
+     * The x and y velocity of each Entity in pixels per second.
+     */
+    double[] velocityX, velocityY;
+
+    /**
+     * The Entity in each slot.
+     */
+    private Entity[] entities;
+
+    /**
+     * How many slots are in use.
+     */
+    private int size = 0;
+
+    /**
+     * Where Entities removed from this EntityStore are moved to, or null if this is a holding store itself.
+     */
+    private final EntityStore holding;
+
+    /**
+     * Initialises this EntityStore with no holding store, for holding Entities outside a Round.
+     *
+     * @param capacity how many Entities it can hold before it has to grow
+     */
+    public EntityStore(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Initialises this EntityStore.
+     *
+     * @param capacity how many Entities it can hold before it has to grow
+     * @param holding  where Entities removed from this EntityStore are moved to
+     */
+    public EntityStore(int capacity, EntityStore holding) {
+        this.holding = holding;
+        x = new double[capacity];
+        y = new double[capacity];
+        previousX = new double[capacity];
+        previousY = new double[capacity];
+        velocityX = new double[capacity];
+        velocityY = new double[capacity];
+        entities = new Entity[capacity];
+    }
+
+    /**
+     * @return how many Entities are in this EntityStore
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves an Entity into this EntityStore, keeping its position and velocity. Does nothing if it is already here.
+     *
+     * @param entity the Entity to add
+     */
+    public void add(Entity entity) {
+        if (entity.store != this) {
+            entity.moveTo(this);
+        }
+    }
+
+    /**
+     * Moves an Entity out of this EntityStore into the holding store, keeping its position and velocity, so its slot can
+     * be used by another Entity and it can be added again later. Does nothing if it isn't here.
+     *
+     * @param entity the Entity to remove
+     */
+    public void remove(Entity entity) {
+        if (entity.store == this) {
+            entity.moveTo(holding);
+        }
+    }
+
+    /**
+     * Moves an Entity that has left the Round for good out of this EntityStore or the holding store into a store of its
+     * own, keeping its position and velocity, so it can still be looked at but the Round's stores don't keep it alive.
+     * Does nothing if it is in neither.
+     *
+     * @param entity the Entity to retire
+     */
+    public void retire(Entity entity) {
+        if (entity.store == this || entity.store == holding) {
+            entity.moveTo(new EntityStore(1));
+        }
+    }
+
+    /**
+     * Frees the slot of an Entity that will never be used again, such as one that was made but couldn't be placed.
+     * Does nothing if it is in neither this EntityStore nor the holding store.
+     *
+     * @param entity the Entity to throw away, which mustn't be used afterwards
+     */
+    public void discard(Entity entity) {
+        if (entity.store == this || entity.store == holding) {
+            entity.store.free(entity.slot);
+            entity.store = null;
+        }
+    }
+
+    /**
+     * @return where Entities removed from this EntityStore are moved to, or null if this is a holding store itself
+     */
+    EntityStore getHolding() {
+        return holding;
+    }
+
+    /**
+     * Remembers the current position of every Entity as the start of a new simulation step.
+     */
+    public void savePositions() {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+    }
+
+    /**
+     * Gives an Entity the next free slot, growing the arrays if they are full. The slot's values are all zero.
+     *
+     * @param entity the Entity
+     * @return the slot
+     */
+    int allocate(Entity entity) {
+        if (size == entities.length) {
+            grow(Math.max(8, size * 2));
+        }
+
+        entities[size] = entity;
+        return size++;
+    }
+
+    /**
+     * Frees a slot, moving the Entity in the last slot into it to keep the slots packed.
+     *
+     * @param slot the slot to free
+     */
+    void free(int slot) {
+        int last = --size;
+
+        if (slot != last) {
+            x[slot] = x[last];
+            y[slot] = y[last];
+            previousX[slot] = previousX[last];
+            previousY[slot] = previousY[last];
+            velocityX[slot] = velocityX[last];
+            velocityY[slot] = velocityY[last];
+            entities[slot] = entities[last];
+            entities[slot].slot = slot;
+        }
+
+        x[last] = y[last] = previousX[last] = previousY[last] = velocityX[last] = velocityY[last] = 0;
+        entities[last] = null;
+    }
+
+    /**
+     * Resizes the arrays.
+     *
+     * @param capacity the new number of slots
+     */
+    private void grow(int capacity) {
+        x = copyOf(x, capacity);
+        y = copyOf(y, capacity);
+        previousX = copyOf(previousX, capacity);
+        previousY = copyOf(previousY, capacity);
+        velocityX = copyOf(velocityX, capacity);
+        velocityY = copyOf(velocityY, capacity);
+
+        Entity[] grown = new Entity[capacity];
+        System.arraycopy(entities, 0, grown, 0, size);
+        entities = grown;
+    }
+
+    /**
+     * Copies the used part of an array into a bigger one.
+     *
+     * @param array    the array
+     * @param capacity the length of the new array
+     * @return the new array
+     */
+    private double[] copyOf(double[] array, int capacity) {
+        double[] copy = new double[capacity];
+        System.arraycopy(array, 0, copy, 0, size);
+        return copy;
+    }
+}
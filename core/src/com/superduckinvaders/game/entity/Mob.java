@@ -8,6 +8,7 @@ import com.superduckinvaders.game.ai.AI;
 import com.superduckinvaders.game.ai.DummyAI;
 import com.superduckinvaders.game.assets.Assets;
 import com.superduckinvaders.game.assets.TextureSet;
+import com.superduckinvaders.game.profiling.Profiler;
 /**
  * Represents an enemy in the game
  */
@@ -18,6 +19,11 @@ public class Mob extends Character {
 	 */
 	private TextureSet textureSet;
 
+	/**
+	 * The size of this Mob, which is the size of the front-facing texture in its texture set.
+	 */
+	private int width, height;
+
 	/**
 	 * AI class for the mob
 	 */
@@ -66,7 +72,7 @@ public class Mob extends Character {
 	 */
 	public Mob(Round parent, double x, double y, int health, TextureSet textureSet, int speed, AI ai, boolean ranged, boolean boss) {
 		super(parent, x, y, health);
-		this.textureSet = textureSet;
+		setTextureSet(textureSet);
 		this.walkSpeed = speed;
 		this.ai = ai;
 		this.boss = boss;
@@ -110,13 +116,13 @@ public class Mob extends Character {
 	 */
 	public void setVelocity(int dirX, int dirY){
 		if(dirX == 0 && dirY==0){
-			velocityX=0;
-			velocityY=0;
+			setVelocityX(0);
+			setVelocityY(0);
 			return;
 		}
 		double magnitude = Math.sqrt(dirX*dirX + dirY*dirY);
-		velocityX = (dirX*speed)/magnitude;
-		velocityY = (dirY*speed)/magnitude;
+		setVelocityX((dirX*speed)/magnitude);
+		setVelocityY((dirY*speed)/magnitude);
 
 	}
 
@@ -125,7 +131,7 @@ public class Mob extends Character {
 	 */
 	@Override
 	public int getWidth() {
-		return textureSet.getTexture(TextureSet.FACING_FRONT, 0).getRegionWidth();
+		return width;
 	}
 
 	/**
@@ -133,7 +139,20 @@ public class Mob extends Character {
 	 */
 	@Override
 	public int getHeight() {
-		return textureSet.getTexture(TextureSet.FACING_FRONT, 0).getRegionHeight();
+		return height;
+	}
+
+	/**
+	 * Changes the texture set of this Mob, measuring its size again. The size is kept rather than looked up in the
+	 * texture set every time it is needed, which is several times for every collision check.
+	 * @param textureSet the new texture set
+	 */
+	private void setTextureSet(TextureSet textureSet) {
+		if (textureSet != this.textureSet && textureSet != null) {
+			width = textureSet.getTexture(TextureSet.FACING_FRONT, 0).getRegionWidth();
+			height = textureSet.getTexture(TextureSet.FACING_FRONT, 0).getRegionHeight();
+		}
+		this.textureSet = textureSet;
 	}
 
 	public void updateTargetPosition(double x, double y) {
@@ -146,7 +165,9 @@ public class Mob extends Character {
 	 */
 	@Override
 	public void update(float delta) {
+		Profiler.begin(Profiler.AI);
 		ai.update(this, delta);
+		Profiler.end();
 		float random = MathUtils.random();
 
 		//if mob is ranged, fire projectile with given probability.
@@ -180,7 +201,7 @@ public class Mob extends Character {
 			}
 
 			if (powerup != null) {
-				parent.createPowerup(x, y, powerup);
+				parent.createPowerup(getX(), getY(), powerup);
 			}
 		}
 
@@ -202,28 +223,28 @@ public class Mob extends Character {
 	public void render(SpriteBatch spriteBatch) {
 
 		if(this.boss){
-			textureSet = Assets.bossNormal;
+			setTextureSet(Assets.bossNormal);
 		}
 
 		if (this.getSwimming()) {
 			if (this.boss){
-				textureSet = Assets.bossSwimming;
+				setTextureSet(Assets.bossSwimming);
 			}
 			else {
-				textureSet = Assets.badGuySwimming;
+				setTextureSet(Assets.badGuySwimming);
 			} 
 
 
 		}
 		else if (this.isRanged()) {
-			textureSet = Assets.badGuyGun;
+			setTextureSet(Assets.badGuyGun);
 		} else if (!this.boss){
-			textureSet = Assets.badGuyNormal;
+			setTextureSet(Assets.badGuyNormal);
 		}
 
 
 
-		spriteBatch.draw(textureSet.getTexture(facing, stateTime), (int) x, (int) y);
+		spriteBatch.draw(textureSet.getTexture(facing, stateTime), (int) getRenderX(), (int) getRenderY());
 	}
 
 	/**
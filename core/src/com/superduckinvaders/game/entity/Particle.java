@@ -2,12 +2,13 @@ package com.superduckinvaders.game.entity;
 
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import com.superduckinvaders.game.Round;
 
 /**
  * Represents a particle effect using an Animation.
  */
-public class Particle extends Entity {
+public class Particle extends Entity implements Poolable {
 
     /**
      * How long this Particle will remain on the screen.
@@ -31,10 +32,41 @@ public class Particle extends Entity {
     public Particle(Round parent, double x, double y, double duration, Animation animation) {
         super(parent, x, y);
 
+        start(x, y, duration, animation);
+    }
+
+    /**
+     * Initialises this Particle without starting it, so it can be kept in a pool until it is.
+     *
+     * @param parent the round this Particle belongs to
+     */
+    public Particle(Round parent) {
+        super(parent);
+    }
+
+    /**
+     * Starts this Particle at the specified coordinates, as if it had just been created.
+     *
+     * @param x         the x coordinate
+     * @param y         the y coordinate
+     * @param duration  how long the particle effect should last for, in seconds
+     * @param animation the animation to use for the particle effect
+     */
+    public void start(double x, double y, double duration, Animation animation) {
+        respawn(x, y);
+
         this.initialDuration = this.duration = duration;
         this.animation = animation;
     }
 
+    /**
+     * Forgets the animation of this Particle once it has been put back in its pool.
+     */
+    @Override
+    public void reset() {
+        animation = null;
+    }
+
     /**
      * Updates the state of this Particle.
      *
@@ -73,6 +105,6 @@ public class Particle extends Entity {
      */
     @Override
     public void render(SpriteBatch spriteBatch) {
-        spriteBatch.draw(animation.getKeyFrame((float) (initialDuration - duration)), (int) x, (int) y);
+        spriteBatch.draw(animation.getKeyFrame((float) (initialDuration - duration)), (int) getRenderX(), (int) getRenderY());
     }
 }
\ No newline at end of file
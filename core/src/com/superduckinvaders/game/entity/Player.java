@@ -3,15 +3,14 @@ package com.superduckinvaders.game.entity;
 import java.util.ArrayList;
 import java.util.HashMap;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.Vector3;
 import com.superduckinvaders.game.DuckGame;
 import com.superduckinvaders.game.Round;
 import com.superduckinvaders.game.assets.Assets;
 import com.superduckinvaders.game.assets.TextureSet;
+import com.superduckinvaders.game.input.InputSource;
+import com.superduckinvaders.game.input.KeyboardInputSource;
 
 /**
  * Represents the player of the game.
@@ -93,6 +92,11 @@ public class Player extends Character {
      */
     private double regenTimer = 0;
 
+    /**
+     * Where the Player's controls come from.
+     */
+    private InputSource input;
+
     /**
      * Initialises this Player at the specified coordinates and with the specified initial health.
      *
@@ -102,6 +106,8 @@ public class Player extends Character {
      */
     public Player(Round parent, double x, double y) {
         super(parent, x, y, PLAYER_HEALTH);
+
+        this.input = new KeyboardInputSource(parent);
         
         //Initialize powerup states
         for (Powerup key : Powerup.values()) {
@@ -127,6 +133,24 @@ public class Player extends Character {
         return points;
     }
 
+    /**
+     * Gets where the Player's controls come from.
+     *
+     * @return the Player's input source
+     */
+    public InputSource getInputSource() {
+        return input;
+    }
+
+    /**
+     * Sets where the Player's controls come from (the keyboard and mouse by default).
+     *
+     * @param input the new input source
+     */
+    public void setInputSource(InputSource input) {
+        this.input = input;
+    }
+
     /**
      * Gets the Player's current flying timer.
      *
@@ -259,18 +283,19 @@ public class Player extends Character {
         // Update attack timer.
         attackTimer += delta;
 
-        // Left mouse to attack.
-        if (Gdx.input.isButtonPressed(Input.Buttons.LEFT)) {
+        // Read the controls for this step.
+        input.update(delta);
+
+        // Left mouse (by default) to attack.
+        if (input.isAttackHeld()) {
             if (attackTimer >= PLAYER_ATTACK_DELAY * (powerupIsActive(Powerup.RATE_OF_FIRE) ? PLAYER_ATTACK_DELAY_MULTIPLIER : 1)) {
                 attackTimer = 0;
 
                 if (upgrade == Upgrade.GUN && !this.getSwimming()) {
                 	DuckGame.playSoundEffect(Assets.shot, 0.3f);
-                    Vector3 target = parent.unproject(Gdx.input.getX(), Gdx.input.getY());
-
                     // Face target when firing gun.
-                    facing = directionTo(target.x, target.y);
-                    fireAt(target.x, target.y, 300, 100);
+                    facing = directionTo(input.getAimX(), input.getAimY());
+                    fireAt(input.getAimX(), input.getAimY(), 300, 100);
                 } else {
                     // TODO: tweak melee range
                     melee(100, 100);
@@ -292,46 +317,29 @@ public class Player extends Character {
         	regenTimer = PLAYER_REGENERATION_TIME;
         }
 
-        // Press space to start flying, but only if flying isn't cooling down and we're moving.
-        if (Gdx.input.isKeyPressed(Input.Keys.SPACE) && flyingTimer >= PLAYER_FLIGHT_COOLDOWN && (velocityX != 0 || velocityY != 0)) {
+        // Press space (by default) to start flying, but only if flying isn't cooling down and we're moving.
+        if (input.isFlyHeld() && flyingTimer >= PLAYER_FLIGHT_COOLDOWN && (getVelocityX() != 0 || getVelocityY() != 0)) {
             flyingTimer = -PLAYER_FLIGHT_TIME;
-            velocityX *= PLAYER_FLIGHT_SPEED_MULTIPLIER;
-            velocityY *= PLAYER_FLIGHT_SPEED_MULTIPLIER;
+            setVelocityX(getVelocityX() * PLAYER_FLIGHT_SPEED_MULTIPLIER);
+            setVelocityY(getVelocityY() * PLAYER_FLIGHT_SPEED_MULTIPLIER);
         }
         
-        // Press tab to toggle minimap.
-        if (Gdx.input.isKeyJustPressed(Input.Keys.TAB)) {
-        	minimapOn = !minimapOn;
-        }
-
         // Only allow movement via keys if not flying.
         if (!isFlying()) {
             // Calculate speed at which to move the player.
             double speed = PLAYER_SPEED * (powerupIsActive(Powerup.SUPER_SPEED) ? PLAYER_SUPER_SPEED_MULTIPLIER : 1);
 
             // Left/right movement.
-            if (Gdx.input.isKeyPressed(Input.Keys.A)) {
-                velocityX = -speed;
-            } else if (Gdx.input.isKeyPressed(Input.Keys.D)) {
-                velocityX = speed;
-            } else {
-                velocityX = 0;
-            }
+            setVelocityX(input.getMoveX() * speed);
 
-            // Left/right movement.
-            if (Gdx.input.isKeyPressed(Input.Keys.W)) {
-                velocityY = speed;
-            } else if (Gdx.input.isKeyPressed(Input.Keys.S)) {
-                velocityY = -speed;
-            } else {
-                velocityY = 0;
-            }
+            // Up/down movement.
+            setVelocityY(input.getMoveY() * speed);
 
             // If moving diagonally, move slower.
             // This must not be done while flying otherwise the player will slow down and stop.
-            if (velocityX != 0 && velocityY != 0) {
-                velocityX /= Math.sqrt(2);
-                velocityY /= Math.sqrt(2);
+            if (getVelocityX() != 0 && getVelocityY() != 0) {
+                setVelocityX(getVelocityX() / Math.sqrt(2));
+                setVelocityY(getVelocityY() / Math.sqrt(2));
             }
         }
         // Update movement.
@@ -357,7 +365,7 @@ public class Player extends Character {
         	textureSet = Assets.playerNormal;
         }
 
-        spriteBatch.draw(textureSet.getTexture(facing, stateTime), (int) x, (int) y);
+        spriteBatch.draw(textureSet.getTexture(facing, stateTime), (int) getRenderX(), (int) getRenderY());
     }
 
     /**
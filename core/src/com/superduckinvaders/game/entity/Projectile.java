@@ -1,6 +1,7 @@
 package com.superduckinvaders.game.entity;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import com.superduckinvaders.game.DuckGame;
 import com.superduckinvaders.game.Round;
 import com.superduckinvaders.game.assets.Assets;
@@ -8,7 +9,7 @@ import com.superduckinvaders.game.assets.Assets;
 /**
  * Represents a projectile.
  */
-public class Projectile extends Entity {
+public class Projectile extends Entity implements Poolable {
 
 	/**
 	 * The owner of this Projectile (i.e. the Entity that fired it).
@@ -53,20 +54,59 @@ public class Projectile extends Entity {
 	public Projectile(Round parent, double x, double y, double targetX, double targetY, double speed, double velocityXOffset, double velocityYOffset, int damage, Entity owner) {
 		super(parent, x, y);
 
+		fire(x, y, targetX, targetY, speed, velocityXOffset, velocityYOffset, damage, owner);
+	}
+
+	/**
+	 * Initialises this Projectile without firing it, so it can be kept in a pool until it is.
+	 *
+	 * @param parent the round this Projectile belongs to
+	 */
+	public Projectile(Round parent) {
+		super(parent);
+	}
+
+	/**
+	 * Fires this Projectile from the specified coordinates, as if it had just been created.
+	 *
+	 * @param x               the initial x coordinate
+	 * @param y               the initial y coordinate
+	 * @param targetX         the target x coordinate
+	 * @param targetY         the target y coordinate
+	 * @param speed           how fast the projectile moves
+	 * @param velocityXOffset the offset to the initial X velocity
+	 * @param velocityYOffset the offset to the initial Y velocity
+	 * @param damage          how much damage the projectile deals
+	 * @param owner           the owner of the projectile (i.e. the one who fired it)
+	 */
+	public void fire(double x, double y, double targetX, double targetY, double speed, double velocityXOffset, double velocityYOffset, int damage, Entity owner) {
+		respawn(x, y);
+
 		// Angle between initial position and target.
 		double angle = angleTo(targetX, targetY);
 
-		velocityX = Math.round(Math.cos(angle) * speed);
-		velocityY = Math.round(Math.sin(angle) * speed);
+		double velocityX = Math.round(Math.cos(angle) * speed);
+		double velocityY = Math.round(Math.sin(angle) * speed);
 
 		// Projectile should only move faster if we're moving in the same direction.
 		velocityX += (Math.signum(velocityX) == Math.signum(velocityXOffset) ? velocityXOffset : 0);
 		velocityY += (Math.signum(velocityY) == Math.signum(velocityYOffset) ? velocityYOffset : 0);
 
+		setVelocityX(velocityX);
+		setVelocityY(velocityY);
+
 		this.damage = damage;
 		this.owner = owner;
 	}
 
+	/**
+	 * Forgets the owner of this Projectile once it has been put back in its pool.
+	 */
+	@Override
+	public void reset() {
+		owner = null;
+	}
+
 	/**
 	 * @return the width of this Projectile
 	 */
@@ -84,43 +124,33 @@ public class Projectile extends Entity {
 	}
 
 	/**
-	 * Updates the state of this Projectile.
+	 * @return the Entity that fired this Projectile, which it can't hit
+	 */
+	public Entity getOwner() {
+		return owner;
+	}
+
+	/**
+	 * Updates the state of this Projectile, moving it and damaging the first character in its path. The Round resolves
+	 * all of its projectiles at once instead of calling this.
 	 *
 	 * @param delta how much time has passed since the last update
 	 */
 	@Override
 	public void update(float delta) {
-		super.update(delta);
-
-		// Do manual collision checking in order to remove projectile.
-		double deltaX = velocityX * delta;
-		double deltaY = velocityY * delta;
-
-		// Check for collisions with blocked tiles and the map boundary.
-		if (collidesX(deltaX) || collidesY(deltaY) || x + deltaX < 0 || x + getWidth() + deltaX > parent.getMapWidth() || y + deltaY < 0 || y + getHeight() + deltaY > parent.getMapHeight()) {
-			// Create explosion particle effect.
+		parent.getProjectileResolver().resolve(this, delta);
+	}
 
-			removed = true;
-			return;
-		}
-		
-		// Otherwise check with collisions with every other entity.
-		for (Entity entity : parent.getEntities()) {
-			// Don't damage my owner.
-			if (entity == owner) {
-				continue;
-			}
-
-			// If entity is character and we have hit it, damage it and then delete myself.
-			if (entity instanceof Character && entity.intersects(x, y, getWidth(), getHeight())) {
-				((Character) entity).damage(damage);
-				//makes sure only player bullets play the death noise so enemies don't hurt each other
-				if(owner instanceof Player){
-					DuckGame.playSoundEffect(Assets.enemyDeath, 1);
-				}
-				
-				removed = true;
-			}
+	/**
+	 * Damages a character this Projectile has hit.
+	 *
+	 * @param character the character hit
+	 */
+	void hit(Character character) {
+		character.damage(damage);
+		//makes sure only player bullets play the death noise so enemies don't hurt each other
+		if(owner instanceof Player){
+			DuckGame.playSoundEffect(Assets.enemyDeath, 1);
 		}
 	}
 
@@ -131,6 +161,6 @@ public class Projectile extends Entity {
 	 */
 	@Override
 	public void render(SpriteBatch spriteBatch) {
-		spriteBatch.draw(Assets.projectile, (int) x, (int) y);
+		spriteBatch.draw(Assets.projectile, (int) getRenderX(), (int) getRenderY());
 	}
 }
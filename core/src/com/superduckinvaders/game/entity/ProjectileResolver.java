@@ -0,0 +1,204 @@
+package com.superduckinvaders.game.entity;
+
+import java.util.List;
+
+import com.badlogic.gdx.utils.Array;
+import com.superduckinvaders.game.Round;
+
+/**
+ * Moves projectiles and finds what they hit. Each projectile is swept along the whole path it travels in a step, so it
+ * can't pass through a thin wall or a character between one step and the next, and only the first thing along the path
+ * is hit. Characters are looked up in the Round's spatial hash around the path rather than by checking every one.
+ */
+public final class ProjectileResolver {
+
+    /**
+     * The round the projectiles are in.
+     */
+    private final Round round;
+
+    /**
+     * The characters near the path of the projectile being resolved. Reused for every projectile.
+     */
+    private final Array<Character> candidates = new Array<Character>(false, 16);
+
+    /**
+     * Initialises this ProjectileResolver.
+     *
+     * @param round the round the projectiles are in
+     */
+    public ProjectileResolver(Round round) {
+        this.round = round;
+    }
+
+    /**
+     * Moves every projectile that hasn't been removed by one step, resolving what each one hits.
+     *
+     * @param projectiles the projectiles
+     * @param delta       how much time has passed since the last update
+     */
+    public void resolve(List<Projectile> projectiles, float delta) {
+        for (int i = 0; i < projectiles.size(); i++) {
+            Projectile projectile = projectiles.get(i);
+
+            if (!projectile.isRemoved()) {
+                resolve(projectile, delta);
+            }
+        }
+    }
+
+    /**
+     * Moves a projectile by one step. If it hits a character on the way it damages the first one and is removed; if it
+     * hits a blocked tile or leaves the map first it is just removed.
+     *
+     * @param projectile the projectile
+     * @param delta      how much time has passed since the last update
+     */
+    public void resolve(Projectile projectile, float delta) {
+        double x = projectile.getX(), y = projectile.getY();
+        double deltaX = projectile.getVelocityX() * delta, deltaY = projectile.getVelocityY() * delta;
+        int width = projectile.getWidth(), height = projectile.getHeight();
+
+        // Find the first character along the path.
+        double minX = Math.min(x, x + deltaX), minY = Math.min(y, y + deltaY);
+        int sweptWidth = (int) Math.ceil(Math.abs(deltaX)) + width, sweptHeight = (int) Math.ceil(Math.abs(deltaY)) + height;
+        round.getSpatialHash().query(minX, minY, sweptWidth, sweptHeight, candidates);
+
+        Character hit = null;
+        double hitTime = 1;
+        for (int i = 0; i < candidates.size; i++) {
+            Character character = candidates.get(i);
+
+            // Characters killed or removed earlier this tick stay in the spatial hash until it ends, but can't be hit.
+            if (character != projectile.getOwner() && !character.isDead() && !character.isRemoved()) {
+                double time = sweep(x, y, width, height, deltaX, deltaY, character);
+
+                if (time <= hitTime && (hit == null || time < hitTime)) {
+                    hit = character;
+                    hitTime = time;
+                }
+            }
+        }
+
+        // Stop at a wall or the edge of the map if it comes first.
+        double blockedTime = firstBlocked(x, y, width, height, deltaX, deltaY);
+        if (hit == null ? blockedTime <= 1 : blockedTime < hitTime) {
+            projectile.setX(x + deltaX * blockedTime);
+            projectile.setY(y + deltaY * blockedTime);
+            projectile.removed = true;
+        } else if (hit != null) {
+            projectile.setX(x + deltaX * hitTime);
+            projectile.setY(y + deltaY * hitTime);
+            projectile.hit(hit);
+            projectile.removed = true;
+        } else {
+            projectile.setX(x + deltaX);
+            projectile.setY(y + deltaY);
+        }
+    }
+
+    /**
+     * Gets how far along a path a moving rectangle first overlaps a character.
+     *
+     * @param x         the x coordinate of the rectangle at the start of the path
+     * @param y         the y coordinate of the rectangle at the start of the path
+     * @param width     the width of the rectangle
+     * @param height    the height of the rectangle
+     * @param deltaX    how far the rectangle moves along the x axis
+     * @param deltaY    how far the rectangle moves along the y axis
+     * @param character the character
+     * @return the fraction of the path travelled when they first overlap, from 0 to 1, or infinity if they don't
+     */
+    private static double sweep(double x, double y, int width, int height, double deltaX, double deltaY, Character character) {
+        return sweep(x, y, width, height, deltaX, deltaY, character.getX(), character.getY(), character.getWidth(), character.getHeight());
+    }
+
+    /**
+     * Gets how far along a path a moving rectangle first overlaps a still one.
+     *
+     * @param x            the x coordinate of the moving rectangle at the start of the path
+     * @param y            the y coordinate of the moving rectangle at the start of the path
+     * @param width        the width of the moving rectangle
+     * @param height       the height of the moving rectangle
+     * @param deltaX       how far the moving rectangle moves along the x axis
+     * @param deltaY       how far the moving rectangle moves along the y axis
+     * @param targetX      the x coordinate of the still rectangle
+     * @param targetY      the y coordinate of the still rectangle
+     * @param targetWidth  the width of the still rectangle
+     * @param targetHeight the height of the still rectangle
+     * @return the fraction of the path travelled when they first overlap, from 0 to 1, or infinity if they don't
+     */
+    private static double sweep(double x, double y, int width, int height, double deltaX, double deltaY,
+                                double targetX, double targetY, int targetWidth, int targetHeight) {
+        double enter = 0, exit = 1;
+
+        // Slab test on each axis: the times the rectangles start and stop overlapping along that axis.
+        double left = targetX - width - x, right = targetX + targetWidth - x;
+        if (deltaX == 0) {
+            if (left >= 0 || right <= 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+        } else {
+            double from = left / deltaX, to = right / deltaX;
+            enter = Math.max(enter, Math.min(from, to));
+            exit = Math.min(exit, Math.max(from, to));
+        }
+
+        double bottom = targetY - height - y, top = targetY + targetHeight - y;
+        if (deltaY == 0) {
+            if (bottom >= 0 || top <= 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+        } else {
+            double from = bottom / deltaY, to = top / deltaY;
+            enter = Math.max(enter, Math.min(from, to));
+            exit = Math.min(exit, Math.max(from, to));
+        }
+
+        return enter < exit ? enter : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Gets how far along a path a moving rectangle first overlaps a blocked tile or starts to leave the map.
+     *
+     * @param x      the x coordinate of the rectangle at the start of the path
+     * @param y      the y coordinate of the rectangle at the start of the path
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     * @param deltaX how far the rectangle moves along the x axis
+     * @param deltaY how far the rectangle moves along the y axis
+     * @return the fraction of the path travelled when it is first blocked, from 0 to 1, or infinity if it isn't
+     */
+    private double firstBlocked(double x, double y, int width, int height, double deltaX, double deltaY) {
+        double first = Double.POSITIVE_INFINITY;
+
+        // The edges of the map.
+        if (x + deltaX < 0) {
+            first = Math.min(first, x / -deltaX);
+        } else if (x + width + deltaX > round.getMapWidth()) {
+            first = Math.min(first, (round.getMapWidth() - width - x) / deltaX);
+        }
+        if (y + deltaY < 0) {
+            first = Math.min(first, y / -deltaY);
+        } else if (y + height + deltaY > round.getMapHeight()) {
+            first = Math.min(first, (round.getMapHeight() - height - y) / deltaY);
+        }
+
+        // Every blocked tile the path passes over.
+        int tileWidth = round.getTileWidth(), tileHeight = round.getTileHeight();
+        int minTileX = (int) Math.floor(Math.min(x, x + deltaX) / tileWidth);
+        int maxTileX = (int) Math.floor((Math.max(x, x + deltaX) + width) / tileWidth);
+        int minTileY = (int) Math.floor(Math.min(y, y + deltaY) / tileHeight);
+        int maxTileY = (int) Math.floor((Math.max(y, y + deltaY) + height) / tileHeight);
+
+        for (int tileY = minTileY; tileY <= maxTileY; tileY++) {
+            for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                if (round.isTileBlocked(tileX, tileY, false)) {
+                    first = Math.min(first, sweep(x, y, width, height, deltaX, deltaY, tileX * tileWidth, tileY * tileHeight, tileWidth, tileHeight));
+                }
+            }
+        }
+
+        return Math.max(first, 0);
+    }
+}
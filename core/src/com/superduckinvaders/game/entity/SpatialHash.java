@@ -0,0 +1,216 @@
+package com.superduckinvaders.game.entity;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A uniform grid of map-tile-sized cells used to look up the Characters near a rectangle without walking every entity
+ * in the Round. Each Character is stored in every cell its bounding box overlaps.
+ */
+public final class SpatialHash {
+
+    /**
+     * The width and height of each cell in pixels.
+     */
+    private final int cellSize;
+
+    /**
+     * The number of columns and rows of cells.
+     */
+    private final int columns, rows;
+
+    /**
+     * The Characters in each cell, indexed by column + row * columns. Cells are created the first time they are used.
+     */
+    private final Array<Character>[] cells;
+
+    /**
+     * Initialises this SpatialHash to cover a map of the specified size.
+     *
+     * @param cellSize the width and height of each cell in pixels (normally the map's tile size)
+     * @param columns  how many cells across the map is
+     * @param rows     how many cells high the map is
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SpatialHash(int cellSize, int columns, int rows) {
+        this.cellSize = cellSize;
+        this.columns = columns;
+        this.rows = rows;
+        this.cells = new Array[columns * rows];
+    }
+
+    /**
+     * Adds a Character to the cells its bounding box currently overlaps.
+     *
+     * @param character the character to add
+     */
+    public void insert(Character character) {
+        character.cellMinX = toColumn(character.getX());
+        character.cellMinY = toRow(character.getY());
+        character.cellMaxX = toColumn(character.getX() + character.getWidth());
+        character.cellMaxY = toRow(character.getY() + character.getHeight());
+
+        addToCells(character);
+    }
+
+    /**
+     * Removes a Character from this SpatialHash. Does nothing if the character was never inserted.
+     *
+     * @param character the character to remove
+     */
+    public void remove(Character character) {
+        if (character.cellMinX < 0) {
+            return;
+        }
+
+        for (int row = character.cellMinY; row <= character.cellMaxY; row++) {
+            for (int column = character.cellMinX; column <= character.cellMaxX; column++) {
+                cells[column + row * columns].removeValue(character, true);
+            }
+        }
+
+        character.cellMinX = -1;
+    }
+
+    /**
+     * Moves a Character to the right cells after it has moved. Characters that stay within the same cells cost nothing
+     * more than the bounds calculation. Does nothing if the character was never inserted.
+     *
+     * @param character the character that moved
+     */
+    public void update(Character character) {
+        if (character.cellMinX < 0) {
+            return;
+        }
+
+        int minX = toColumn(character.getX());
+        int minY = toRow(character.getY());
+        int maxX = toColumn(character.getX() + character.getWidth());
+        int maxY = toRow(character.getY() + character.getHeight());
+
+        if (minX == character.cellMinX && minY == character.cellMinY && maxX == character.cellMaxX && maxY == character.cellMaxY) {
+            return;
+        }
+
+        remove(character);
+
+        character.cellMinX = minX;
+        character.cellMinY = minY;
+        character.cellMaxX = maxX;
+        character.cellMaxY = maxY;
+
+        addToCells(character);
+    }
+
+    /**
+     * Returns true if any Character other than the one specified intersects the specified rectangle.
+     *
+     * @param ignore the entity to leave out of the check (usually the one asking), may be null
+     * @param x      the x coordinate of the rectangle's bottom left corner
+     * @param y      the y coordinate of the rectangle's bottom left corner
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     * @return whether a Character intersects the rectangle
+     */
+    public boolean collides(Entity ignore, double x, double y, int width, int height) {
+        int minX = toColumn(x), maxX = toColumn(x + width);
+        int minY = toRow(y), maxY = toRow(y + height);
+
+        for (int row = minY; row <= maxY; row++) {
+            for (int column = minX; column <= maxX; column++) {
+                Array<Character> cell = cells[column + row * columns];
+
+                if (cell == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < cell.size; i++) {
+                    Character character = cell.get(i);
+
+                    if (character != ignore && character.intersects(x, y, width, height)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds every Character that intersects the specified rectangle. Each is added to the result once, however many of
+     * the rectangle's cells it is in.
+     *
+     * @param x      the x coordinate of the rectangle's bottom left corner
+     * @param y      the y coordinate of the rectangle's bottom left corner
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     * @param result the array to add the Characters to, which is cleared first
+     */
+    public void query(double x, double y, int width, int height, Array<Character> result) {
+        int minX = toColumn(x), maxX = toColumn(x + width);
+        int minY = toRow(y), maxY = toRow(y + height);
+
+        result.clear();
+
+        for (int row = minY; row <= maxY; row++) {
+            for (int column = minX; column <= maxX; column++) {
+                Array<Character> cell = cells[column + row * columns];
+
+                if (cell == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < cell.size; i++) {
+                    Character character = cell.get(i);
+
+                    // Only count a Character in the first of its cells the rectangle covers, so it isn't added twice.
+                    if (column == Math.max(character.cellMinX, minX) && row == Math.max(character.cellMinY, minY)
+                            && character.intersects(x, y, width, height)) {
+                        result.add(character);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a Character to every cell in its stored cell bounds.
+     *
+     * @param character the character to add
+     */
+    private void addToCells(Character character) {
+        for (int row = character.cellMinY; row <= character.cellMaxY; row++) {
+            for (int column = character.cellMinX; column <= character.cellMaxX; column++) {
+                int index = column + row * columns;
+
+                if (cells[index] == null) {
+                    cells[index] = new Array<Character>(false, 4);
+                }
+
+                cells[index].add(character);
+            }
+        }
+    }
+
+    /**
+     * Converts an x coordinate to a column, clamped to the edges of the map.
+     *
+     * @param x the x coordinate in pixels
+     * @return the column containing the coordinate
+     */
+    private int toColumn(double x) {
+        int column = (int) Math.floor(x / cellSize);
+        return column < 0 ? 0 : (column >= columns ? columns - 1 : column);
+    }
+
+    /**
+     * Converts a y coordinate to a row, clamped to the edges of the map.
+     *
+     * @param y the y coordinate in pixels
+     * @return the row containing the coordinate
+     */
+    private int toRow(double y) {
+        int row = (int) Math.floor(y / cellSize);
+        return row < 0 ? 0 : (row >= rows ? rows - 1 : row);
+    }
+}
@@ -38,7 +38,7 @@ public class Item extends Entity {
 
     @Override
     public void render(SpriteBatch spriteBatch) {
-        spriteBatch.draw(texture, (int) x, (int) y);
+        spriteBatch.draw(texture, (int) getRenderX(), (int) getRenderY());
     }
 
 }
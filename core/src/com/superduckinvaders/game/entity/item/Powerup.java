@@ -2,13 +2,14 @@ package com.superduckinvaders.game.entity.item;
 
 import java.util.HashMap;
 
+import com.badlogic.gdx.utils.Pool.Poolable;
 import com.superduckinvaders.game.Round;
 import com.superduckinvaders.game.entity.Player;
 
 /**
  * Represents a powerup on the floor.
  */
-public class Powerup extends Item {
+public class Powerup extends Item implements Poolable {
 	
 	private static final HashMap<Player.Powerup, Integer> POWERUP_MAX_TIMES = new HashMap<Player.Powerup, Integer>();
 	static {
@@ -32,9 +33,41 @@ public class Powerup extends Item {
     public Powerup(Round parent, double x, double y, Player.Powerup powerup) {
         super(parent, x, y, Player.Powerup.getTextureForPowerup(powerup));
 
+        drop(x, y, powerup);
+    }
+
+    /**
+     * Initialises this Powerup without dropping it, so it can be kept in a pool until it is.
+     *
+     * @param parent the round this Powerup belongs to
+     */
+    public Powerup(Round parent) {
+        super(parent, 0, 0, null);
+    }
+
+    /**
+     * Drops this Powerup at the specified coordinates, as if it had just been created.
+     *
+     * @param x       the x coordinate
+     * @param y       the y coordinate
+     * @param powerup the powerup to grant to the player
+     */
+    public void drop(double x, double y, Player.Powerup powerup) {
+        respawn(x, y);
+
+        this.texture = Player.Powerup.getTextureForPowerup(powerup);
         this.powerup = powerup;
         this.time = POWERUP_MAX_TIMES.get(powerup);
     }
+
+    /**
+     * Forgets the powerup this Powerup gave once it has been put back in its pool.
+     */
+    @Override
+    public void reset() {
+        texture = null;
+        powerup = null;
+    }
     
     /**
      * Returns the max duration for a specific powerup
@@ -0,0 +1,112 @@
+package com.superduckinvaders.game.input;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * The Player's controls for each simulation step of a round, as captured by a RecordingInputSource. Played back with
+ * a ReplayInputSource on a round with the same map and random seed, it reproduces the original round.
+ */
+public class InputRecording {
+
+	/**
+	 * Bit flags in each step's packed controls.
+	 */
+	private static final int ATTACK = 1 << 4, FLY = 1 << 5;
+
+	/**
+	 * The movement and held controls for each step, packed as (moveX + 1) | (moveY + 1) << 2 | ATTACK | FLY.
+	 */
+	private IntArray controls = new IntArray();
+
+	/**
+	 * The aim for each step, stored as x and y pairs.
+	 */
+	private FloatArray aims = new FloatArray();
+
+	/**
+	 * Adds the controls of an InputSource as the next step.
+	 *
+	 * @param source the input source to copy
+	 */
+	public void add(InputSource source) {
+		int packed = (source.moveX + 1) | (source.moveY + 1) << 2;
+
+		if (source.attack) {
+			packed |= ATTACK;
+		}
+
+		if (source.fly) {
+			packed |= FLY;
+		}
+
+		controls.add(packed);
+		aims.add((float) source.aimX);
+		aims.add((float) source.aimY);
+	}
+
+	/**
+	 * Copies the controls for a step into an InputSource.
+	 *
+	 * @param step   the step to copy
+	 * @param source the input source to copy into
+	 */
+	public void get(int step, InputSource source) {
+		int packed = controls.get(step);
+
+		source.moveX = (packed & 3) - 1;
+		source.moveY = (packed >> 2 & 3) - 1;
+		source.attack = (packed & ATTACK) != 0;
+		source.fly = (packed & FLY) != 0;
+		source.aimX = aims.get(step * 2);
+		source.aimY = aims.get(step * 2 + 1);
+	}
+
+	/**
+	 * Gets how many steps this InputRecording holds.
+	 *
+	 * @return the number of steps
+	 */
+	public int size() {
+		return controls.size;
+	}
+
+	/**
+	 * Writes this InputRecording to a file, one step per line.
+	 *
+	 * @param file the file to write to
+	 */
+	public void save(FileHandle file) {
+		StringBuilder builder = new StringBuilder(controls.size * 16);
+
+		for (int i = 0; i < controls.size; i++) {
+			builder.append(controls.get(i)).append(' ').append(aims.get(i * 2)).append(' ').append(aims.get(i * 2 + 1)).append('\n');
+		}
+
+		file.writeString(builder.toString(), false);
+	}
+
+	/**
+	 * Reads an InputRecording written by save().
+	 *
+	 * @param file the file to read from
+	 * @return the recording in the file
+	 */
+	public static InputRecording load(FileHandle file) {
+		InputRecording recording = new InputRecording();
+
+		for (String line : file.readString().split("\\r?\\n")) {
+			if (line.length() == 0) {
+				continue;
+			}
+
+			String[] parts = line.split(" ");
+			recording.controls.add(Integer.parseInt(parts[0]));
+			recording.aims.add(Float.parseFloat(parts[1]));
+			recording.aims.add(Float.parseFloat(parts[2]));
+		}
+
+		return recording;
+	}
+}
@@ -0,0 +1,84 @@
+package com.superduckinvaders.game.input;
+
+/**
+ * Supplies the controls for the Player each simulation step, whether they come from the keyboard and mouse, a script
+ * or a recording.
+ */
+public abstract class InputSource {
+
+	/**
+	 * Which way the Player wants to move horizontally and vertically (-1, 0 or 1).
+	 */
+	protected int moveX = 0, moveY = 0;
+
+	/**
+	 * Whether the attack and fly controls are held.
+	 */
+	protected boolean attack = false, fly = false;
+
+	/**
+	 * Where in the world the Player is aiming.
+	 */
+	protected double aimX = 0, aimY = 0;
+
+	/**
+	 * Reads the controls for the next simulation step.
+	 *
+	 * @param delta how much time the step simulates
+	 */
+	public abstract void update(float delta);
+
+	/**
+	 * Gets which way the Player wants to move horizontally.
+	 *
+	 * @return -1 for left, 1 for right or 0 for neither
+	 */
+	public int getMoveX() {
+		return moveX;
+	}
+
+	/**
+	 * Gets which way the Player wants to move vertically.
+	 *
+	 * @return -1 for down, 1 for up or 0 for neither
+	 */
+	public int getMoveY() {
+		return moveY;
+	}
+
+	/**
+	 * Gets whether the attack control is held.
+	 *
+	 * @return whether the Player wants to attack
+	 */
+	public boolean isAttackHeld() {
+		return attack;
+	}
+
+	/**
+	 * Gets whether the fly control is held.
+	 *
+	 * @return whether the Player wants to fly
+	 */
+	public boolean isFlyHeld() {
+		return fly;
+	}
+
+	/**
+	 * Gets the x coordinate the Player is aiming at. Only meaningful while the attack control is held.
+	 *
+	 * @return the x coordinate of the aim in the world
+	 */
+	public double getAimX() {
+		return aimX;
+	}
+
+	/**
+	 * Gets the y coordinate the Player is aiming at. Only meaningful while the attack control is held.
+	 *
+	 * @return the y coordinate of the aim in the world
+	 */
+	public double getAimY() {
+		return aimY;
+	}
+}
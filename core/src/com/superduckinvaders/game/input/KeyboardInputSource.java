@@ -0,0 +1,61 @@
+package com.superduckinvaders.game.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.math.Vector3;
+import com.superduckinvaders.game.Round;
+
+/**
+ * Reads the Player's controls from the keyboard and mouse: WASD to move, space to fly and the left mouse button to
+ * attack towards the cursor.
+ */
+public class KeyboardInputSource extends InputSource {
+
+	/**
+	 * The round being played, used to convert the cursor position to world coordinates.
+	 */
+	private Round round;
+
+	/**
+	 * Initialises this KeyboardInputSource.
+	 *
+	 * @param round the round being played
+	 */
+	public KeyboardInputSource(Round round) {
+		this.round = round;
+	}
+
+	/**
+	 * Reads the keyboard and mouse.
+	 *
+	 * @param delta how much time the step simulates
+	 */
+	@Override
+	public void update(float delta) {
+		if (Gdx.input.isKeyPressed(Input.Keys.A)) {
+			moveX = -1;
+		} else if (Gdx.input.isKeyPressed(Input.Keys.D)) {
+			moveX = 1;
+		} else {
+			moveX = 0;
+		}
+
+		if (Gdx.input.isKeyPressed(Input.Keys.W)) {
+			moveY = 1;
+		} else if (Gdx.input.isKeyPressed(Input.Keys.S)) {
+			moveY = -1;
+		} else {
+			moveY = 0;
+		}
+
+		fly = Gdx.input.isKeyPressed(Input.Keys.SPACE);
+		attack = Gdx.input.isButtonPressed(Input.Buttons.LEFT);
+
+		// Only work out where the cursor is when it matters.
+		if (attack) {
+			Vector3 target = round.unproject(Gdx.input.getX(), Gdx.input.getY());
+			aimX = target.x;
+			aimY = target.y;
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package com.superduckinvaders.game.input;
+
+/**
+ * Passes on the controls from another InputSource and records them every step, so the round can be replayed later.
+ */
+public class RecordingInputSource extends InputSource {
+
+	/**
+	 * The input source being recorded.
+	 */
+	private InputSource source;
+
+	/**
+	 * The controls recorded so far.
+	 */
+	private InputRecording recording = new InputRecording();
+
+	/**
+	 * Initialises this RecordingInputSource.
+	 *
+	 * @param source the input source to record
+	 */
+	public RecordingInputSource(InputSource source) {
+		this.source = source;
+	}
+
+	/**
+	 * Gets the controls recorded so far.
+	 *
+	 * @return the recording
+	 */
+	public InputRecording getRecording() {
+		return recording;
+	}
+
+	/**
+	 * Reads the controls from the recorded input source and records them.
+	 *
+	 * @param delta how much time the step simulates
+	 */
+	@Override
+	public void update(float delta) {
+		source.update(delta);
+
+		moveX = source.moveX;
+		moveY = source.moveY;
+		attack = source.attack;
+		fly = source.fly;
+		aimX = source.aimX;
+		aimY = source.aimY;
+
+		recording.add(this);
+	}
+}
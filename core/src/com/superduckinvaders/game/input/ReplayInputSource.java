@@ -0,0 +1,50 @@
+package com.superduckinvaders.game.input;
+
+/**
+ * Plays back an InputRecording one step at a time. Once the recording runs out the Player stands still.
+ */
+public class ReplayInputSource extends InputSource {
+
+	/**
+	 * The recording being played back.
+	 */
+	private InputRecording recording;
+
+	/**
+	 * The next step to play.
+	 */
+	private int step = 0;
+
+	/**
+	 * Initialises this ReplayInputSource.
+	 *
+	 * @param recording the recording to play back
+	 */
+	public ReplayInputSource(InputRecording recording) {
+		this.recording = recording;
+	}
+
+	/**
+	 * Gets whether every step of the recording has been played.
+	 *
+	 * @return whether the replay has finished
+	 */
+	public boolean isFinished() {
+		return step >= recording.size();
+	}
+
+	/**
+	 * Plays the next step of the recording.
+	 *
+	 * @param delta how much time the step simulates
+	 */
+	@Override
+	public void update(float delta) {
+		if (step < recording.size()) {
+			recording.get(step++, this);
+		} else {
+			moveX = moveY = 0;
+			attack = fly = false;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.superduckinvaders.game.input;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Plays back a fixed list of timed actions, for driving the Player in simulations. Once the script runs out the Player
+ * stands still.
+ */
+public class ScriptedInputSource extends InputSource {
+
+	/**
+	 * The actions in the order they are played.
+	 */
+	private Array<Action> actions = new Array<Action>();
+
+	/**
+	 * The index of the action being played.
+	 */
+	private int current = 0;
+
+	/**
+	 * How long the current action has been played for, in seconds.
+	 */
+	private float elapsed = 0;
+
+	/**
+	 * Adds an action to the end of the script.
+	 *
+	 * @param duration how long to hold the controls for, in seconds
+	 * @param moveX    which way to move horizontally (-1, 0 or 1)
+	 * @param moveY    which way to move vertically (-1, 0 or 1)
+	 * @param attack   whether to hold attack
+	 * @param fly      whether to hold fly
+	 * @param aimX     the x coordinate to aim at
+	 * @param aimY     the y coordinate to aim at
+	 * @return this ScriptedInputSource, so calls can be chained
+	 */
+	public ScriptedInputSource add(float duration, int moveX, int moveY, boolean attack, boolean fly, double aimX, double aimY) {
+		actions.add(new Action(duration, moveX, moveY, attack, fly, aimX, aimY));
+		return this;
+	}
+
+	/**
+	 * Adds a movement to the end of the script.
+	 *
+	 * @param duration how long to move for, in seconds
+	 * @param moveX    which way to move horizontally (-1, 0 or 1)
+	 * @param moveY    which way to move vertically (-1, 0 or 1)
+	 * @return this ScriptedInputSource, so calls can be chained
+	 */
+	public ScriptedInputSource move(float duration, int moveX, int moveY) {
+		return add(duration, moveX, moveY, false, false, 0, 0);
+	}
+
+	/**
+	 * Gets whether every action in the script has been played.
+	 *
+	 * @return whether the script has finished
+	 */
+	public boolean isFinished() {
+		return current >= actions.size;
+	}
+
+	/**
+	 * Moves on to the action for this step.
+	 *
+	 * @param delta how much time the step simulates
+	 */
+	@Override
+	public void update(float delta) {
+		while (current < actions.size && elapsed >= actions.get(current).duration) {
+			elapsed -= actions.get(current).duration;
+			current++;
+		}
+
+		if (current < actions.size) {
+			Action action = actions.get(current);
+			moveX = action.moveX;
+			moveY = action.moveY;
+			attack = action.attack;
+			fly = action.fly;
+			aimX = action.aimX;
+			aimY = action.aimY;
+		} else {
+			moveX = moveY = 0;
+			attack = fly = false;
+		}
+
+		elapsed += delta;
+	}
+
+	/**
+	 * One timed step of a script.
+	 */
+	private static class Action {
+		/**
+		 * How long the controls are held for, in seconds.
+		 */
+		float duration;
+		/**
+		 * Which way to move.
+		 */
+		int moveX, moveY;
+		/**
+		 * Whether to hold attack and fly.
+		 */
+		boolean attack, fly;
+		/**
+		 * Where to aim.
+		 */
+		double aimX, aimY;
+
+		/**
+		 * Initialises this Action.
+		 */
+		Action(float duration, int moveX, int moveY, boolean attack, boolean fly, double aimX, double aimY) {
+			this.duration = duration;
+			this.moveX = moveX;
+			this.moveY = moveY;
+			this.attack = attack;
+			this.fly = fly;
+			this.aimX = aimX;
+			this.aimY = aimY;
+		}
+	}
+}
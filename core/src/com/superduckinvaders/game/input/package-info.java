@@ -0,0 +1,4 @@
+/**
+ * Contains code relating to where the Player's controls come from.
+ */
+package com.superduckinvaders.game.input;
\ No newline at end of file
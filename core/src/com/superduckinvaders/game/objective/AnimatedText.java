@@ -2,12 +2,13 @@ package com.superduckinvaders.game.objective;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Pool.Poolable;
 import com.superduckinvaders.game.assets.Assets;
 
 /**
  * Represents the floating text which displays upon killing an enemy or gaining some score.
  */
-public class AnimatedText {
+public class AnimatedText implements Poolable {
 	/**
 	 * Time the text will be on the screen in seconds
 	 */
@@ -46,6 +47,23 @@ public class AnimatedText {
 	 * @param colour The colour of the text.
 	 */
 	public AnimatedText(String text, float x, float y, Color colour) {
+		show(text, x, y, colour);
+	}
+
+	/**
+	 * Initialises an instance of AnimatedText without showing it, so it can be kept in a pool until it is.
+	 */
+	public AnimatedText() {
+	}
+
+	/**
+	 * Shows new text, starting its animation over as if it had just been created.
+	 * @param text The text to display.
+	 * @param x The x position of the text.
+	 * @param y The y position of the text.
+	 * @param colour The colour of the text.
+	 */
+	public void show(String text, float x, float y, Color colour) {
 		this.text = text;
 		this.currentX = x;
 		this.currentY = y;
@@ -54,22 +72,52 @@ public class AnimatedText {
 	}
 
 	/**
-	 * Draws the animated text with correct offset position on the SpriteBatch
-	 * @param spriteBatch The SpriteBatch to draw to
-	 * @param delta Time since the last draw call
+	 * Forgets the text once it has been put back in its pool.
+	 */
+	@Override
+	public void reset() {
+		text = null;
+		colour = null;
+	}
+
+	/**
+	 * Moves the text upwards and counts down its time on screen.
+	 * @param delta Time since the last update
 	 * @return true if text has time remaining, false otherwise
 	 */
-	public boolean draw(SpriteBatch spriteBatch, float delta) {
+	public boolean update(float delta) {
 		if (displayTimer > 0) {
 			currentY += MOVEMENT_AMOUNT * delta/LIFETIME;
-			
-			Color temp = Assets.font.getColor();
-			Assets.font.setColor(colour);
-			Assets.font.draw(spriteBatch, text, currentX, currentY);
-			Assets.font.setColor(temp);
 			displayTimer -= delta;
 			return true;
 		}
 		return false;
 	}
+
+	/**
+	 * Draws the animated text at its current position on the SpriteBatch
+	 * @param spriteBatch The SpriteBatch to draw to
+	 */
+	public void draw(SpriteBatch spriteBatch) {
+		Color temp = Assets.font.getColor();
+		Assets.font.setColor(colour);
+		Assets.font.draw(spriteBatch, text, currentX, currentY);
+		Assets.font.setColor(temp);
+	}
+
+	/**
+	 * Returns the x coordinate of the text
+	 * @return the x coordinate of the left of the text
+	 */
+	public float getX() {
+		return currentX;
+	}
+
+	/**
+	 * Returns the y coordinate of the text
+	 * @return the y coordinate of the top of the text
+	 */
+	public float getY() {
+		return currentY;
+	}
 }
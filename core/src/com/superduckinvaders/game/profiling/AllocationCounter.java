@@ -0,0 +1,23 @@
+package com.superduckinvaders.game.profiling;
+
+/**
+ * Counts how many bytes each thread has allocated, for the Profiler's allocation tracking. The JVM's counter isn't part
+ * of the standard library on every platform, so the launcher gives the Profiler one if its platform has it.
+ */
+public interface AllocationCounter {
+
+	/**
+	 * Starts or stops counting. Counting can make allocating slower, so it is only on while allocations are tracked.
+	 *
+	 * @param enabled whether to count
+	 */
+	void setEnabled(boolean enabled);
+
+	/**
+	 * Gets how many bytes a thread has allocated. Only called while counting is on.
+	 *
+	 * @param threadId the id of the thread
+	 * @return how many bytes the thread has allocated since it started
+	 */
+	long getAllocatedBytes(long threadId);
+}
@@ -0,0 +1,64 @@
+package com.superduckinvaders.game.profiling;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Writes the Profiler's allocation counts to a log file while allocations are being tracked: every time the Profiler's
+ * history fills with new frames, a line is added giving the average and most bytes allocated per frame in the whole
+ * frame and in each section. There is one log file per run of the game, in the Saves/Logs folder, named after the time
+ * it started.
+ */
+public final class AllocationLog {
+
+	/**
+	 * The log file for this run, or null until the first line is written.
+	 */
+	private static FileHandle file = null;
+
+	/**
+	 * How many frames have ended since the last line was written.
+	 */
+	private static int frames = 0;
+
+	/**
+	 * Not instantiated.
+	 */
+	private AllocationLog() {
+	}
+
+	/**
+	 * Counts a frame, writing a line to the log if the Profiler's history has filled with new frames since the last
+	 * one. Should be called after Profiler.endFrame. Does nothing while allocations aren't being tracked.
+	 */
+	public static void update() {
+		if (!Profiler.isTrackingAllocations()) {
+			frames = 0;
+			return;
+		}
+
+		if (++frames < Profiler.WINDOW || Profiler.getFrames() < Profiler.WINDOW) {
+			return;
+		}
+		frames = 0;
+
+		if (file == null) {
+			file = Gdx.files.external("Saves/Logs/allocations-" + TimeUtils.millis() + ".log");
+			file.writeString("# Bytes allocated per frame over each " + Profiler.WINDOW + " frames, as average/max\n", false);
+		}
+
+		StringBuilder line = new StringBuilder();
+		line.append(TimeUtils.millis()).append(" frame=").append(Profiler.getAverageBytes(-1)).append('/')
+				.append(Profiler.getMaxBytes(-1));
+		for (int section = 0; section < Profiler.SECTIONS; section++) {
+			line.append(' ').append(Profiler.getName(section)).append('=').append(Profiler.getAverageBytes(section))
+					.append('/').append(Profiler.getMaxBytes(section));
+		}
+		line.append('\n');
+		file.writeString(line.toString(), true);
+
+		// Writing the log makes garbage of its own, which shouldn't be blamed on the next frame.
+		Profiler.ignoreAllocations();
+	}
+}
@@ -0,0 +1,278 @@
+package com.superduckinvaders.game.profiling;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.superduckinvaders.game.Round;
+
+/**
+ * Records a row of metrics for each of the last CAPACITY frames of a Round: how long the frame took, how long each
+ * Profiler section took (zero while the Profiler is off), how many entities of each kind there were, how many were drawn
+ * and culled, how many path searches were answered and how many garbage collections ran. The rows can be written out as CSV, or as JSON along
+ * with a histogram of frame times, to compare levels and builds after playing.
+ * <p>
+ * Each column is kept in its own array, written to in place, so recording a frame doesn't allocate anything.
+ */
+public class MetricsRecorder {
+
+	/**
+	 * How many frames are kept, a minute's worth at 60 frames per second.
+	 */
+	public static final int CAPACITY = 3600;
+
+	/**
+	 * How wide each bar of the frame time histogram is, in milliseconds.
+	 */
+	public static final int HISTOGRAM_BUCKET = 1;
+
+	/**
+	 * How many bars the frame time histogram has. Frames longer than the last bar are counted in it.
+	 */
+	public static final int HISTOGRAM_BUCKETS = 50;
+
+	/**
+	 * The Round being recorded.
+	 */
+	private Round round;
+
+	/**
+	 * The garbage collectors in this JVM.
+	 */
+	private List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+	/**
+	 * How many frames have been recorded in total, including ones since overwritten.
+	 */
+	private long recorded = 0;
+
+	/**
+	 * The number of each frame.
+	 */
+	private long[] frame = new long[CAPACITY];
+
+	/**
+	 * How long each frame took and how much of it each Profiler section took, in milliseconds.
+	 */
+	private float[] frameMillis = new float[CAPACITY];
+	private float[][] sectionMillis = new float[Profiler.SECTIONS][CAPACITY];
+
+	/**
+	 * How many simulation steps were run in each frame.
+	 */
+	private int[] steps = new int[CAPACITY];
+
+	/**
+	 * How many entities of each kind there were at the end of each frame.
+	 */
+	private int[] entities = new int[CAPACITY], mobs = new int[CAPACITY], projectiles = new int[CAPACITY],
+			items = new int[CAPACITY], particles = new int[CAPACITY];
+
+	/**
+	 * How many entities were drawn in each frame, and how many were culled for being out of view.
+	 */
+	private int[] drawn = new int[CAPACITY], culled = new int[CAPACITY];
+
+	/**
+	 * How many path searches were answered in each frame.
+	 */
+	private int[] searches = new int[CAPACITY];
+
+	/**
+	 * How many garbage collections ran in each frame and how long they took, in milliseconds.
+	 */
+	private int[] collections = new int[CAPACITY];
+	private long[] collectionMillis = new long[CAPACITY];
+
+	/**
+	 * The running totals at the end of the last frame, to take the next frame's counts from.
+	 */
+	private int lastSearchCount;
+	private long lastCollectionCount, lastCollectionMillis;
+
+	/**
+	 * Initialises this MetricsRecorder for the specified round.
+	 *
+	 * @param round the round to record
+	 */
+	public MetricsRecorder(Round round) {
+		this.round = round;
+
+		lastSearchCount = round.getPathfindingScheduler().getSearchCount();
+		lastCollectionCount = getCollectionCount();
+		lastCollectionMillis = getCollectionMillis();
+	}
+
+	/**
+	 * @return how many frames are held, up to CAPACITY
+	 */
+	public int size() {
+		return (int) Math.min(recorded, CAPACITY);
+	}
+
+	/**
+	 * Records the frame that has just been drawn. Should be called after Profiler.endFrame.
+	 *
+	 * @param delta how long the frame took, in seconds
+	 * @param stepCount how many simulation steps were run in the frame
+	 * @param drawnCount how many entities were drawn in the frame
+	 * @param culledCount how many entities were culled in the frame
+	 */
+	public void record(float delta, int stepCount, int drawnCount, int culledCount) {
+		int row = (int) (recorded % CAPACITY);
+
+		frame[row] = recorded++;
+		frameMillis[row] = delta * 1000;
+		steps[row] = stepCount;
+
+		for (int section = 0; section < Profiler.SECTIONS; section++) {
+			sectionMillis[section][row] = Profiler.isEnabled() && Profiler.getFrames() > 0 ? Profiler.getTime(section, 0) / 1000000f : 0;
+		}
+
+		entities[row] = round.getEntities().size();
+		mobs[row] = round.getMobs().size();
+		projectiles[row] = round.getProjectiles().size();
+		items[row] = round.getItems().size();
+		particles[row] = round.getParticles().size();
+		drawn[row] = drawnCount;
+		culled[row] = culledCount;
+
+		int searchCount = round.getPathfindingScheduler().getSearchCount();
+		searches[row] = searchCount - lastSearchCount;
+		lastSearchCount = searchCount;
+
+		long collectionCount = getCollectionCount(), collectionTime = getCollectionMillis();
+		collections[row] = (int) (collectionCount - lastCollectionCount);
+		collectionMillis[row] = collectionTime - lastCollectionMillis;
+		lastCollectionCount = collectionCount;
+		lastCollectionMillis = collectionTime;
+	}
+
+	/**
+	 * Writes the recorded frames to a file as CSV, one line per frame, oldest first, after a line of headings.
+	 *
+	 * @param handle the file to write to, which is overwritten
+	 */
+	public void writeCsv(FileHandle handle) {
+		StringBuilder csv = new StringBuilder();
+
+		csv.append("frame,frameMs,steps");
+		for (int section = 0; section < Profiler.SECTIONS; section++) {
+			csv.append(',').append(getColumnName(section));
+		}
+		csv.append(",entities,mobs,projectiles,items,particles,drawn,culled,searches,gcCount,gcMs\n");
+
+		for (int i = 0; i < size(); i++) {
+			int row = getRow(i);
+
+			csv.append(frame[row]).append(',').append(frameMillis[row]).append(',').append(steps[row]);
+			for (int section = 0; section < Profiler.SECTIONS; section++) {
+				csv.append(',').append(sectionMillis[section][row]);
+			}
+			csv.append(',').append(entities[row]).append(',').append(mobs[row]).append(',').append(projectiles[row])
+					.append(',').append(items[row]).append(',').append(particles[row]).append(',').append(drawn[row])
+					.append(',').append(culled[row]).append(',').append(searches[row])
+					.append(',').append(collections[row]).append(',').append(collectionMillis[row]).append('\n');
+		}
+
+		handle.writeString(csv.toString(), false);
+	}
+
+	/**
+	 * Writes the recorded frames to a file as JSON: a histogram of frame times, then an array of the frames, oldest
+	 * first, each an object with the same fields as the CSV columns.
+	 *
+	 * @param handle the file to write to, which is overwritten
+	 */
+	public void writeJson(FileHandle handle) {
+		StringBuilder json = new StringBuilder();
+
+		json.append("{\n\"histogramBucketMs\": ").append(HISTOGRAM_BUCKET).append(",\n\"histogram\": [");
+		int[] histogram = getHistogram();
+		for (int bucket = 0; bucket < HISTOGRAM_BUCKETS; bucket++) {
+			json.append(bucket == 0 ? "" : ", ").append(histogram[bucket]);
+		}
+		json.append("],\n\"frames\": [");
+
+		for (int i = 0; i < size(); i++) {
+			int row = getRow(i);
+
+			json.append(i == 0 ? "\n" : ",\n");
+			json.append("{\"frame\": ").append(frame[row]).append(", \"frameMs\": ").append(frameMillis[row])
+					.append(", \"steps\": ").append(steps[row]);
+			for (int section = 0; section < Profiler.SECTIONS; section++) {
+				json.append(", \"").append(getColumnName(section)).append("\": ").append(sectionMillis[section][row]);
+			}
+			json.append(", \"entities\": ").append(entities[row]).append(", \"mobs\": ").append(mobs[row])
+					.append(", \"projectiles\": ").append(projectiles[row]).append(", \"items\": ").append(items[row])
+					.append(", \"particles\": ").append(particles[row]).append(", \"drawn\": ").append(drawn[row])
+					.append(", \"culled\": ").append(culled[row]).append(", \"searches\": ").append(searches[row])
+					.append(", \"gcCount\": ").append(collections[row]).append(", \"gcMs\": ").append(collectionMillis[row])
+					.append('}');
+		}
+
+		json.append("\n]\n}\n");
+		handle.writeString(json.toString(), false);
+	}
+
+	/**
+	 * Gets a histogram of how long the recorded frames took.
+	 *
+	 * @return how many frames fell in each HISTOGRAM_BUCKET milliseconds wide bar, the last including any longer
+	 */
+	public int[] getHistogram() {
+		int[] histogram = new int[HISTOGRAM_BUCKETS];
+
+		for (int i = 0; i < size(); i++) {
+			int bucket = (int) (frameMillis[getRow(i)] / HISTOGRAM_BUCKET);
+			histogram[Math.min(bucket, HISTOGRAM_BUCKETS - 1)]++;
+		}
+
+		return histogram;
+	}
+
+	/**
+	 * Gets where the frame at the specified position, counting from the oldest held, is in the arrays.
+	 *
+	 * @param index the position of the frame, from 0 to size() - 1
+	 * @return the row of the frame
+	 */
+	private int getRow(int index) {
+		return (int) ((recorded - size() + index) % CAPACITY);
+	}
+
+	/**
+	 * @param section the Profiler section
+	 * @return the name of the column holding the section's times
+	 */
+	private static String getColumnName(int section) {
+		return Profiler.getName(section).toLowerCase() + "Ms";
+	}
+
+	/**
+	 * @return how many garbage collections have run since the JVM started
+	 */
+	private long getCollectionCount() {
+		long count = 0;
+
+		for (int i = 0; i < collectors.size(); i++) {
+			count += Math.max(0, collectors.get(i).getCollectionCount());
+		}
+
+		return count;
+	}
+
+	/**
+	 * @return how long garbage collections have taken since the JVM started, in milliseconds
+	 */
+	private long getCollectionMillis() {
+		long millis = 0;
+
+		for (int i = 0; i < collectors.size(); i++) {
+			millis += Math.max(0, collectors.get(i).getCollectionTime());
+		}
+
+		return millis;
+	}
+}
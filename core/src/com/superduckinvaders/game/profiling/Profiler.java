@@ -0,0 +1,418 @@
+package com.superduckinvaders.game.profiling;
+
+import java.util.Arrays;
+
+/**
+ * Times how long each part of the game loop takes every frame, and keeps the times for the last few seconds of frames
+ * so the typical and worst cases can be shown.
+ * <p>
+ * Sections are timed by calling begin and end around them, and may be nested: time spent in a nested section is counted
+ * only towards that section, not the one around it. When profiling is off, begin and end return straight away, so they
+ * can be left in the game loop.
+ * <p>
+ * In allocation tracking mode, the bytes the game thread allocates in each section and in each whole frame are counted
+ * too, using the AllocationCounter the launcher gave the Profiler, so code that makes garbage every frame can be found.
+ * Only the thread that turned tracking on is counted.
+ */
+public final class Profiler {
+
+	/**
+	 * The sections of the game loop that are timed.
+	 */
+	public static final int OBJECTIVE = 0, AI = 1, MOVEMENT = 2, PROJECTILES = 3, MAP = 4, ENTITIES = 5, MINIMAP = 6,
+			HUD = 7;
+
+	/**
+	 * How many sections there are.
+	 */
+	public static final int SECTIONS = 8;
+
+	/**
+	 * The name of each section, for showing.
+	 */
+	private static final String[] NAMES = {"Objective", "AI", "Movement", "Projectiles", "Map", "Entities", "Minimap", "HUD"};
+
+	/**
+	 * How many frames the times are kept for.
+	 */
+	public static final int WINDOW = 300;
+
+	/**
+	 * The most sections that can be nested inside each other.
+	 */
+	private static final int MAX_DEPTH = 16;
+
+	/**
+	 * Whether sections are being timed.
+	 */
+	private static boolean enabled = false;
+
+	/**
+	 * How long has been spent in each section so far this frame, in nanoseconds.
+	 */
+	private static long[] current = new long[SECTIONS];
+
+	/**
+	 * How long was spent in each section in each of the last WINDOW frames, in nanoseconds, oldest overwritten first.
+	 */
+	private static long[][] history = new long[SECTIONS][WINDOW];
+
+	/**
+	 * Where the next frame goes in the history, and how many frames of it are filled in.
+	 */
+	private static int next = 0, frames = 0;
+
+	/**
+	 * The sections currently being timed, innermost last.
+	 */
+	private static int[] stack = new int[MAX_DEPTH];
+
+	/**
+	 * How many sections are currently being timed.
+	 */
+	private static int depth = 0;
+
+	/**
+	 * When the innermost section started being timed, or last resumed after a nested one ended.
+	 */
+	private static long resumed;
+
+	/**
+	 * Used to sort a section's history to find percentiles, so it isn't allocated each time.
+	 */
+	private static long[] sorted = new long[WINDOW];
+
+	/**
+	 * Reads how many bytes each thread has allocated, or null if allocations can't be counted.
+	 */
+	private static AllocationCounter counter = null;
+
+	/**
+	 * Whether allocations are being counted.
+	 */
+	private static boolean trackingAllocations = false;
+
+	/**
+	 * The thread whose allocations are counted.
+	 */
+	private static long trackedThread;
+
+	/**
+	 * How many bytes reading the allocation counter allocates itself, and how many times it has been read, to take off
+	 * each reading.
+	 */
+	private static long readingBytes, readings;
+
+	/**
+	 * How many bytes the tracked thread had allocated when the innermost section last started or resumed, and when the
+	 * last frame ended.
+	 */
+	private static long resumedBytes, frameStartBytes;
+
+	/**
+	 * How many bytes have been allocated in each section so far this frame.
+	 */
+	private static long[] currentBytes = new long[SECTIONS];
+
+	/**
+	 * How many bytes were allocated in each section, and in the whole of each frame, in each of the last WINDOW frames.
+	 */
+	private static long[][] bytesHistory = new long[SECTIONS][WINDOW];
+	private static long[] frameBytesHistory = new long[WINDOW];
+
+	/**
+	 * Not instantiated.
+	 */
+	private Profiler() {
+	}
+
+	/**
+	 * @return whether sections are being timed
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts or stops timing sections. The times kept so far are thrown away.
+	 *
+	 * @param enabled whether to time sections
+	 */
+	public static void setEnabled(boolean enabled) {
+		Profiler.enabled = enabled;
+
+		Arrays.fill(current, 0);
+		Arrays.fill(currentBytes, 0);
+		next = frames = depth = 0;
+
+		if (!enabled && trackingAllocations) {
+			trackingAllocations = false;
+			counter.setEnabled(false);
+		}
+	}
+
+	/**
+	 * Sets what counts the bytes each thread allocates. Should be called by the launcher before the game starts, if the
+	 * platform can count allocations.
+	 *
+	 * @param counter the counter, or null if allocations can't be counted
+	 */
+	public static void setAllocationCounter(AllocationCounter counter) {
+		Profiler.counter = counter;
+	}
+
+	/**
+	 * @return whether allocations can be counted
+	 */
+	public static boolean canTrackAllocations() {
+		return counter != null;
+	}
+
+	/**
+	 * @return whether allocations are being counted
+	 */
+	public static boolean isTrackingAllocations() {
+		return trackingAllocations;
+	}
+
+	/**
+	 * Starts or stops counting the bytes allocated by the calling thread, turning the Profiler on if it is off. Does
+	 * nothing if allocations can't be counted.
+	 *
+	 * @param tracking whether to count allocations
+	 */
+	public static void setTrackingAllocations(boolean tracking) {
+		if (tracking && !canTrackAllocations()) {
+			return;
+		}
+
+		// Start the history again, so frames from before tracking don't count as allocating nothing.
+		setEnabled(enabled || tracking);
+
+		if (trackingAllocations != tracking) {
+			trackingAllocations = tracking;
+			counter.setEnabled(tracking);
+		}
+
+		if (tracking) {
+			trackedThread = Thread.currentThread().getId();
+
+			// Reading the counter may itself allocate, so measure how much and leave it out of every reading.
+			readingBytes = readings = 0;
+			long first = readAllocatedBytes();
+			readingBytes = readAllocatedBytes() - first;
+			readings = 0;
+
+			frameStartBytes = resumedBytes = readAllocatedBytes();
+		}
+	}
+
+	/**
+	 * Stops counting whatever has been allocated since the last frame ended towards the next frame. Used after
+	 * bookkeeping between frames, such as writing logs, so it doesn't show up as garbage made by the game.
+	 */
+	public static void ignoreAllocations() {
+		if (trackingAllocations) {
+			frameStartBytes = readAllocatedBytes();
+		}
+	}
+
+	/**
+	 * Starts timing a section. Must be followed by a call to end.
+	 *
+	 * @param section the section, one of the section constants
+	 */
+	public static void begin(int section) {
+		if (!enabled || depth == MAX_DEPTH) {
+			return;
+		}
+
+		long now = System.nanoTime();
+		if (depth > 0) {
+			current[stack[depth - 1]] += now - resumed;
+		}
+
+		if (trackingAllocations) {
+			long bytes = readAllocatedBytes();
+			if (depth > 0) {
+				currentBytes[stack[depth - 1]] += bytes - resumedBytes;
+			}
+			resumedBytes = bytes;
+		}
+
+		stack[depth++] = section;
+		resumed = now;
+	}
+
+	/**
+	 * Stops timing the section most recently begun, carrying on timing the one around it.
+	 */
+	public static void end() {
+		if (!enabled || depth == 0) {
+			return;
+		}
+
+		long now = System.nanoTime();
+		current[stack[--depth]] += now - resumed;
+		resumed = now;
+
+		if (trackingAllocations) {
+			long bytes = readAllocatedBytes();
+			currentBytes[stack[depth]] += bytes - resumedBytes;
+			resumedBytes = bytes;
+		}
+	}
+
+	/**
+	 * Ends the frame, adding the time spent in each section to the history.
+	 */
+	public static void endFrame() {
+		if (!enabled) {
+			return;
+		}
+
+		for (int section = 0; section < SECTIONS; section++) {
+			history[section][next] = current[section];
+			current[section] = 0;
+
+			bytesHistory[section][next] = currentBytes[section];
+			currentBytes[section] = 0;
+		}
+
+		if (trackingAllocations) {
+			long bytes = readAllocatedBytes();
+			frameBytesHistory[next] = bytes - frameStartBytes;
+			frameStartBytes = bytes;
+		} else {
+			frameBytesHistory[next] = 0;
+		}
+
+		next = (next + 1) % WINDOW;
+		frames = Math.min(frames + 1, WINDOW);
+	}
+
+	/**
+	 * @param section the section, one of the section constants
+	 * @return the name of the section
+	 */
+	public static String getName(int section) {
+		return NAMES[section];
+	}
+
+	/**
+	 * @return how many frames of history there are, up to WINDOW
+	 */
+	public static int getFrames() {
+		return frames;
+	}
+
+	/**
+	 * Gets how long a section took in one of the frames in the history.
+	 *
+	 * @param section the section, one of the section constants
+	 * @param age     how many frames ago, where 0 is the last frame ended
+	 * @return how long the section took, in nanoseconds
+	 */
+	public static long getTime(int section, int age) {
+		return history[section][(next - 1 - age + WINDOW * 2) % WINDOW];
+	}
+
+	/**
+	 * Gets how many bytes were allocated in a section in one of the frames in the history. Always 0 when allocations
+	 * aren't being counted.
+	 *
+	 * @param section the section, one of the section constants
+	 * @param age     how many frames ago, where 0 is the last frame ended
+	 * @return how many bytes were allocated
+	 */
+	public static long getBytes(int section, int age) {
+		return bytesHistory[section][(next - 1 - age + WINDOW * 2) % WINDOW];
+	}
+
+	/**
+	 * Gets how many bytes were allocated in the whole of one of the frames in the history, in sections or not. Always 0
+	 * when allocations aren't being counted.
+	 *
+	 * @param age how many frames ago, where 0 is the last frame ended
+	 * @return how many bytes were allocated
+	 */
+	public static long getFrameBytes(int age) {
+		return frameBytesHistory[(next - 1 - age + WINDOW * 2) % WINDOW];
+	}
+
+	/**
+	 * Gets the average number of bytes allocated in a section per frame over the frames in the history.
+	 *
+	 * @param section the section, one of the section constants, or -1 for the whole frame
+	 * @return the average number of bytes allocated per frame, or 0 if there is no history yet
+	 */
+	public static long getAverageBytes(int section) {
+		long[] bytes = section < 0 ? frameBytesHistory : bytesHistory[section];
+		long total = 0;
+
+		for (int i = 0; i < frames; i++) {
+			total += bytes[i];
+		}
+
+		return frames == 0 ? 0 : total / frames;
+	}
+
+	/**
+	 * Gets the most bytes allocated in a section in one frame over the frames in the history.
+	 *
+	 * @param section the section, one of the section constants, or -1 for the whole frame
+	 * @return the most bytes allocated in one frame
+	 */
+	public static long getMaxBytes(int section) {
+		long[] bytes = section < 0 ? frameBytesHistory : bytesHistory[section];
+		long max = 0;
+
+		for (int i = 0; i < frames; i++) {
+			max = Math.max(max, bytes[i]);
+		}
+
+		return max;
+	}
+
+	/**
+	 * Gets a percentile of the time a section took over the frames in the history.
+	 *
+	 * @param section    the section, one of the section constants
+	 * @param percentile the percentile, from 0 to 1 (so 0.5 is the median)
+	 * @return the time at that percentile, in nanoseconds, or 0 if there is no history yet
+	 */
+	public static long getPercentile(int section, float percentile) {
+		if (frames == 0) {
+			return 0;
+		}
+
+		System.arraycopy(history[section], 0, sorted, 0, frames);
+		Arrays.sort(sorted, 0, frames);
+
+		return sorted[Math.min((int) (percentile * frames), frames - 1)];
+	}
+
+	/**
+	 * Gets the longest time a section took over the frames in the history.
+	 *
+	 * @param section the section, one of the section constants
+	 * @return the longest time, in nanoseconds
+	 */
+	public static long getMax(int section) {
+		long max = 0;
+
+		for (int i = 0; i < frames; i++) {
+			max = Math.max(max, history[section][i]);
+		}
+
+		return max;
+	}
+
+	/**
+	 * @return how many bytes the tracked thread has allocated since it started, less what reading the counter has
+	 * allocated
+	 */
+	private static long readAllocatedBytes() {
+		return counter.getAllocatedBytes(trackedThread) - readingBytes * readings++;
+	}
+}
@@ -0,0 +1,208 @@
+package com.superduckinvaders.game.profiling;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.superduckinvaders.game.CountingPool;
+
+/**
+ * Draws the Profiler's median, 99th percentile and worst time for each section over the last few seconds, in
+ * milliseconds. While allocations are being tracked, it also draws the average and most bytes allocated per frame in
+ * each section and in the whole frame. Below the sections it shows how many entities were drawn and how many were culled
+ * for being out of view, and how well each of the Round's pools is reusing objects. The text is built in a reused
+ * buffer so drawing the overlay doesn't make garbage of its own.
+ */
+public class ProfilerOverlay {
+
+	/**
+	 * How far apart the lines of text are, in pixels.
+	 */
+	private static final int LINE_HEIGHT = 20;
+
+	/**
+	 * Where each column of text starts, relative to the left of the overlay.
+	 */
+	private static final int[] COLUMNS = {0, 140, 220, 300, 400, 500};
+
+	/**
+	 * The headings of the columns. The last two are only shown while allocations are being tracked.
+	 */
+	private static final String[] HEADINGS = {"Section", "p50", "p99", "max", "B avg", "B max"};
+
+	/**
+	 * How many columns show times.
+	 */
+	private static final int TIME_COLUMNS = 4;
+
+	/**
+	 * The font the overlay is drawn in.
+	 */
+	private BitmapFont font;
+
+	/**
+	 * The text of the cell being drawn. Reused for every cell.
+	 */
+	private StringBuilder text = new StringBuilder(16);
+
+	/**
+	 * Whether the overlay is shown.
+	 */
+	private boolean visible = false;
+
+	/**
+	 * How many entities were drawn and culled in the last frame.
+	 */
+	private int entitiesDrawn = 0, entitiesCulled = 0;
+
+	/**
+	 * The pools to show the counts of, or null to show none.
+	 */
+	private CountingPool<?>[] pools = null;
+
+	/**
+	 * Initialises this ProfilerOverlay.
+	 *
+	 * @param font the font to draw the overlay in
+	 */
+	public ProfilerOverlay(BitmapFont font) {
+		this.font = font;
+	}
+
+	/**
+	 * @return whether the overlay is shown
+	 */
+	public boolean isVisible() {
+		return visible;
+	}
+
+	/**
+	 * Shows the overlay if it is hidden or hides it if it is shown, turning the Profiler on or off to match.
+	 */
+	public void toggle() {
+		visible = !visible;
+		Profiler.setEnabled(visible);
+	}
+
+	/**
+	 * Starts or stops tracking allocations, showing the overlay if it is hidden.
+	 */
+	public void toggleAllocations() {
+		if (!visible) {
+			toggle();
+		}
+
+		Profiler.setTrackingAllocations(!Profiler.isTrackingAllocations());
+	}
+
+	/**
+	 * Sets the entity counts to show, which should be the last frame's.
+	 *
+	 * @param drawn  how many entities were drawn
+	 * @param culled how many entities were left out because they were out of view
+	 */
+	public void setEntityCounts(int drawn, int culled) {
+		entitiesDrawn = drawn;
+		entitiesCulled = culled;
+	}
+
+	/**
+	 * Sets the pools to show how many objects each has reused and has out.
+	 *
+	 * @param pools the pools, or null to show none
+	 */
+	public void setPools(CountingPool<?>[] pools) {
+		this.pools = pools;
+	}
+
+	/**
+	 * Draws the overlay, if it is shown. The batch must already have begun, with a projection in screen pixels.
+	 *
+	 * @param batch the batch to draw to
+	 * @param x     the x coordinate of the left of the overlay
+	 * @param y     the y coordinate of the top of the overlay
+	 */
+	public void draw(SpriteBatch batch, float x, float y) {
+		if (!visible) {
+			return;
+		}
+
+		boolean allocations = Profiler.isTrackingAllocations();
+
+		font.setColor(1.0f, 1.0f, 0.0f, 1.0f);
+		for (int column = 0; column < (allocations ? HEADINGS.length : TIME_COLUMNS); column++) {
+			font.draw(batch, HEADINGS[column], x + COLUMNS[column], y);
+		}
+
+		font.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+		for (int section = 0; section < Profiler.SECTIONS; section++) {
+			float lineY = y - (section + 1) * LINE_HEIGHT;
+
+			font.draw(batch, Profiler.getName(section), x + COLUMNS[0], lineY);
+			drawMillis(batch, Profiler.getPercentile(section, 0.5f), x + COLUMNS[1], lineY);
+			drawMillis(batch, Profiler.getPercentile(section, 0.99f), x + COLUMNS[2], lineY);
+			drawMillis(batch, Profiler.getMax(section), x + COLUMNS[3], lineY);
+
+			if (allocations) {
+				drawBytes(batch, Profiler.getAverageBytes(section), x + COLUMNS[4], lineY);
+				drawBytes(batch, Profiler.getMaxBytes(section), x + COLUMNS[5], lineY);
+			}
+		}
+
+		if (allocations) {
+			float lineY = y - (Profiler.SECTIONS + 1) * LINE_HEIGHT;
+
+			font.draw(batch, "Whole frame", x + COLUMNS[0], lineY);
+			drawBytes(batch, Profiler.getAverageBytes(-1), x + COLUMNS[4], lineY);
+			drawBytes(batch, Profiler.getMaxBytes(-1), x + COLUMNS[5], lineY);
+		}
+
+		float lineY = y - (Profiler.SECTIONS + (allocations ? 2 : 1)) * LINE_HEIGHT;
+
+		text.setLength(0);
+		text.append("Entities drawn ").append(entitiesDrawn).append(", culled ").append(entitiesCulled);
+		font.draw(batch, text, x + COLUMNS[0], lineY);
+
+		if (pools != null) {
+			for (int i = 0; i < pools.length; i++) {
+				lineY -= LINE_HEIGHT;
+
+				text.setLength(0);
+				text.append(pools[i].getName()).append(" pool ").append((int) (pools[i].getHitRate() * 100))
+						.append("% reused, ").append(pools[i].getLive()).append(" live");
+				font.draw(batch, text, x + COLUMNS[0], lineY);
+			}
+		}
+	}
+
+	/**
+	 * Draws a number of bytes.
+	 *
+	 * @param batch the batch to draw to
+	 * @param bytes the number of bytes
+	 * @param x     the x coordinate of the text
+	 * @param y     the y coordinate of the text
+	 */
+	private void drawBytes(SpriteBatch batch, long bytes, float x, float y) {
+		text.setLength(0);
+		text.append(bytes);
+
+		font.draw(batch, text, x, y);
+	}
+
+	/**
+	 * Draws a time in milliseconds to two decimal places.
+	 *
+	 * @param batch the batch to draw to
+	 * @param nanos the time, in nanoseconds
+	 * @param x     the x coordinate of the text
+	 * @param y     the y coordinate of the text
+	 */
+	private void drawMillis(SpriteBatch batch, long nanos, float x, float y) {
+		long hundredths = (nanos + 5000) / 10000;
+
+		text.setLength(0);
+		text.append(hundredths / 100).append('.').append(hundredths % 100, 2, '0');
+
+		font.draw(batch, text, x, y);
+	}
+}
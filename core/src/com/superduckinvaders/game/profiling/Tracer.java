@@ -0,0 +1,222 @@
+package com.superduckinvaders.game.profiling;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Captures spans of time spent in parts of the game, such as the phases of a frame, loading assets and building Rounds,
+ * and writes them out in the Chrome trace event format, which can be opened in Perfetto or chrome://tracing.
+ * <p>
+ * A span is timed by keeping the value returned by begin and passing it to end along with the span's name:
+ * <pre>
+ * long start = Tracer.begin();
+ * ...
+ * Tracer.end("Round.update", start);
+ * </pre>
+ * end returns the time the span ended, so a run of spans one after another can each start where the last ended.
+ * Spans may be nested and may be captured on any thread. When nothing is being captured, begin and end only check a
+ * flag, so they can be left in the game loop.
+ */
+public final class Tracer {
+
+	/**
+	 * The most spans that are kept in one capture. Spans ended after this are dropped.
+	 */
+	public static final int CAPACITY = 1 << 18;
+
+	/**
+	 * Whether spans are being captured.
+	 */
+	private static volatile boolean capturing = false;
+
+	/**
+	 * When the current capture started, in nanoseconds.
+	 */
+	private static long captureStart;
+
+	/**
+	 * The name of each captured span, and of the thread it ran on.
+	 */
+	private static String[] names, threadNames;
+
+	/**
+	 * The id of the thread each span ran on.
+	 */
+	private static long[] threadIds;
+
+	/**
+	 * When each span started, relative to the start of the capture, and how long it lasted, in nanoseconds.
+	 */
+	private static long[] starts, durations;
+
+	/**
+	 * How many spans have been captured.
+	 */
+	private static int size = 0;
+
+	/**
+	 * Not instantiated.
+	 */
+	private Tracer() {
+	}
+
+	/**
+	 * @return whether spans are being captured
+	 */
+	public static boolean isCapturing() {
+		return capturing;
+	}
+
+	/**
+	 * Starts a new capture, throwing away any spans captured before. Does nothing if a capture is in progress.
+	 */
+	public static synchronized void start() {
+		if (capturing) {
+			return;
+		}
+
+		if (names == null) {
+			names = new String[CAPACITY];
+			threadNames = new String[CAPACITY];
+			threadIds = new long[CAPACITY];
+			starts = new long[CAPACITY];
+			durations = new long[CAPACITY];
+		}
+
+		size = 0;
+		captureStart = System.nanoTime();
+		capturing = true;
+	}
+
+	/**
+	 * Stops capturing. The spans captured are kept until the next capture starts.
+	 */
+	public static synchronized void stop() {
+		capturing = false;
+	}
+
+	/**
+	 * Marks the start of a span.
+	 *
+	 * @return the time the span started, to be passed to end, or 0 if nothing is being captured
+	 */
+	public static long begin() {
+		return capturing ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Marks the end of a span, capturing it. The span isn't captured if nothing was being captured when it began.
+	 *
+	 * @param name  the name of the span
+	 * @param start the value returned by begin at the start of the span
+	 * @return the time the span ended, which can be passed to end as the start of the next span, or 0 if nothing is
+	 * being captured
+	 */
+	public static long end(String name, long start) {
+		if (!capturing) {
+			return 0;
+		}
+		if (start == 0) {
+			return begin();
+		}
+
+		long now = System.nanoTime();
+		Thread thread = Thread.currentThread();
+
+		synchronized (Tracer.class) {
+			if (!capturing || size == CAPACITY) {
+				return now;
+			}
+
+			names[size] = name;
+			threadNames[size] = thread.getName();
+			threadIds[size] = thread.getId();
+			// Spans begun before this capture started are cut off at the start of it.
+			starts[size] = Math.max(start - captureStart, 0);
+			durations[size] = now - captureStart - starts[size];
+			size++;
+		}
+
+		return now;
+	}
+
+	/**
+	 * Writes the spans from the last capture to a file as trace event JSON. Should be called once the capture has been
+	 * stopped.
+	 *
+	 * @param handle the file to write to, which is overwritten
+	 */
+	public static synchronized void write(FileHandle handle) {
+		StringBuilder json = new StringBuilder(size * 96 + 64);
+
+		json.append("{\"displayTimeUnit\": \"ms\", \"traceEvents\": [");
+
+		// Name each thread once, before the spans. There are only a few threads, so a list of them is quick to search.
+		long[] named = new long[8];
+		int namedCount = 0;
+		for (int i = 0; i < size; i++) {
+			if (indexOf(named, namedCount, threadIds[i]) < 0) {
+				if (namedCount == named.length) {
+					long[] grown = new long[namedCount * 2];
+					System.arraycopy(named, 0, grown, 0, namedCount);
+					named = grown;
+				}
+				named[namedCount++] = threadIds[i];
+
+				json.append(namedCount == 1 ? "\n" : ",\n");
+				json.append("{\"name\": \"thread_name\", \"ph\": \"M\", \"pid\": 1, \"tid\": ").append(threadIds[i])
+						.append(", \"args\": {\"name\": \"");
+				appendEscaped(json, threadNames[i]);
+				json.append("\"}}");
+			}
+		}
+
+		boolean first = namedCount == 0;
+		for (int i = 0; i < size; i++) {
+			json.append(first ? "\n" : ",\n");
+			json.append("{\"name\": \"");
+			appendEscaped(json, names[i]);
+			json.append("\", \"ph\": \"X\", \"pid\": 1, \"tid\": ").append(threadIds[i])
+					.append(", \"ts\": ").append(starts[i] / 1000.0).append(", \"dur\": ").append(durations[i] / 1000.0)
+					.append('}');
+			first = false;
+		}
+
+		json.append("\n]}\n");
+		handle.writeString(json.toString(), false);
+	}
+
+	/**
+	 * Finds a value in the first part of an array.
+	 *
+	 * @param array the array
+	 * @param count how many values at the start of the array to search
+	 * @param value the value to find
+	 * @return the index of the value, or -1 if it isn't there
+	 */
+	private static int indexOf(long[] array, int count, long value) {
+		for (int i = 0; i < count; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Appends a string to some JSON, escaping quotes and backslashes.
+	 *
+	 * @param json   the JSON
+	 * @param string the string
+	 */
+	private static void appendEscaped(StringBuilder json, String string) {
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+
+			if (c == '"' || c == '\\') {
+				json.append('\\');
+			}
+			json.append(c);
+		}
+	}
+}
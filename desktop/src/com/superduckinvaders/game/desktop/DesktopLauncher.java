@@ -8,12 +8,23 @@ import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import com.superduckinvaders.game.DuckGame;
 import com.superduckinvaders.game.entity.Player;
+import com.superduckinvaders.game.profiling.Profiler;
+import com.superduckinvaders.game.profiling.Tracer;
 
 /**
- * Desktop launcher for Super Duck Invaders.
+ * Desktop launcher for Super Duck Invaders. Pass --trace to capture a trace from start-up, saved when F5 is pressed or
+ * the game closes. Allocations can be tracked with F6 if the JVM can count them.
  */
 public class DesktopLauncher {
 	public static void main (String[] arg) {
+		for (String option : arg) {
+			if (option.equals("--trace")) {
+				Tracer.start();
+			}
+		}
+
+		Profiler.setAllocationCounter(JvmAllocationCounter.create());
+
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		config.width = 1280;
 		config.height = 720;
@@ -0,0 +1,109 @@
+package com.superduckinvaders.game.desktop;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.MathUtils;
+import com.superduckinvaders.game.DuckGame;
+import com.superduckinvaders.game.GameScreen;
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.assets.Assets;
+
+/**
+ * A DuckGame with no window, screens or save file, for playing rounds as fast as possible in simulations. Rounds report
+ * whether they were won or lost here instead of changing screen.
+ */
+public class HeadlessDuckGame extends DuckGame {
+
+	/**
+	 * Results of playing a round.
+	 */
+	public static final int ROUND_WON = 0, ROUND_LOST = 1, ROUND_TIMED_OUT = 2;
+
+	/**
+	 * The round that most recently finished, and how.
+	 */
+	private Round finishedRound = null;
+	private int result;
+
+	/**
+	 * How many simulation steps the last round played took.
+	 */
+	private int stepsPlayed = 0;
+
+	/**
+	 * Loads the assets against a GL20 that does nothing. Unlike DuckGame, doesn't load settings or show any screens.
+	 */
+	@Override
+	public void create() {
+		Gdx.gl = Gdx.gl20 = new HeadlessGL20();
+
+		Assets.load();
+	}
+
+	/**
+	 * Records that the round was won.
+	 *
+	 * @param round the round that was won
+	 */
+	@Override
+	public void completeRound(Round round) {
+		finishedRound = round;
+		result = ROUND_WON;
+	}
+
+	/**
+	 * Records that the round was lost.
+	 *
+	 * @param round the round that was lost
+	 */
+	@Override
+	public void failRound(Round round) {
+		finishedRound = round;
+		result = ROUND_LOST;
+	}
+
+	/**
+	 * Creates a round on the specified map after seeding the random number generator, so the same seed and the same
+	 * input give the same round.
+	 *
+	 * @param map  the map to play
+	 * @param seed the random seed
+	 * @return the new round
+	 */
+	public Round createRound(TiledMap map, long seed) {
+		MathUtils.random.setSeed(seed);
+		return new Round(this, map);
+	}
+
+	/**
+	 * Plays a round one fixed simulation step at a time until it is won or lost or the time limit runs out.
+	 *
+	 * @param round     the round to play
+	 * @param timeLimit the most game time to play for, in seconds
+	 * @return one of the ROUND_ constants
+	 */
+	public int playRound(Round round, float timeLimit) {
+		int maximumSteps = (int) Math.ceil(timeLimit / GameScreen.SIMULATION_STEP);
+		finishedRound = null;
+
+		for (stepsPlayed = 1; stepsPlayed <= maximumSteps; stepsPlayed++) {
+			round.update(GameScreen.SIMULATION_STEP);
+
+			if (finishedRound == round) {
+				return result;
+			}
+		}
+
+		stepsPlayed = maximumSteps;
+		return ROUND_TIMED_OUT;
+	}
+
+	/**
+	 * Gets how many simulation steps the last round played took.
+	 *
+	 * @return the number of steps
+	 */
+	public int getStepsPlayed() {
+		return stepsPlayed;
+	}
+}
@@ -0,0 +1,77 @@
+package com.superduckinvaders.game.desktop;
+
+import java.util.Random;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.superduckinvaders.game.CountingPool;
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.input.ScriptedInputSource;
+
+/**
+ * Plays many rounds with no window, with the player wandering about and attacking at random, and prints how they went.
+ * Run from the assets directory with: [rounds] [time limit in seconds] [level 1-8, or 0 for every level].
+ */
+public class HeadlessLauncher {
+	public static void main(String[] arg) {
+		final int rounds = arg.length > 0 ? Integer.parseInt(arg[0]) : 100;
+		final float timeLimit = arg.length > 1 ? Float.parseFloat(arg[1]) : 120;
+		final int level = arg.length > 2 ? Integer.parseInt(arg[2]) : 0;
+
+		new HeadlessApplication(new HeadlessDuckGame() {
+			@Override
+			public void create() {
+				super.create();
+
+				TiledMap[] maps = {Assets.levelOneMap, Assets.levelTwoMap, Assets.levelThreeMap, Assets.levelFourMap,
+						Assets.levelFiveMap, Assets.levelSixMap, Assets.levelSevenMap, Assets.levelEightMap};
+				int[] results = new int[3];
+				long steps = 0;
+				long start = System.nanoTime();
+				Round round = null;
+
+				for (int i = 0; i < rounds; i++) {
+					round = createRound(maps[level > 0 ? level - 1 : i % maps.length], i);
+					round.getPlayer().setInputSource(wander(i, timeLimit));
+
+					results[playRound(round, timeLimit)]++;
+					steps += getStepsPlayed();
+				}
+
+				double seconds = (System.nanoTime() - start) / 1e9;
+				System.out.printf("%d rounds in %.1fs (%.0f rounds/minute, %.0f steps/second)%n", rounds, seconds, rounds / seconds * 60, steps / seconds);
+				if (round != null) {
+					// The pools belong to each round, so the last round's show how well they are reused in one.
+					for (CountingPool<?> pool : round.getPools()) {
+						System.out.println(pool);
+					}
+				}
+				System.out.printf("won %d, lost %d, timed out %d%n", results[ROUND_WON], results[ROUND_LOST], results[ROUND_TIMED_OUT]);
+
+				Gdx.app.exit();
+			}
+		});
+	}
+
+	/**
+	 * Makes a script that walks in a random direction for a random time, over and over, attacking all the while.
+	 *
+	 * @param seed      the random seed for the script
+	 * @param timeLimit how long the script needs to last, in seconds
+	 * @return the script
+	 */
+	static ScriptedInputSource wander(long seed, float timeLimit) {
+		Random random = new Random(seed);
+		ScriptedInputSource script = new ScriptedInputSource();
+
+		for (float time = 0; time < timeLimit; ) {
+			float duration = 0.5f + random.nextFloat() * 1.5f;
+			script.add(duration, random.nextInt(3) - 1, random.nextInt(3) - 1, true, false, 0, 0);
+			time += duration;
+		}
+
+		return script;
+	}
+}
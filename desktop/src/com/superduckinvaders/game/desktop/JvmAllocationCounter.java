@@ -0,0 +1,58 @@
+package com.superduckinvaders.game.desktop;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+import com.superduckinvaders.game.profiling.AllocationCounter;
+
+/**
+ * Counts allocations with the per-thread allocation counter HotSpot based JVMs have in their thread bean. Other JVMs
+ * may not have the com.sun.management classes at all, in which case create returns null rather than failing.
+ */
+public class JvmAllocationCounter implements AllocationCounter {
+
+	/**
+	 * The JVM's thread bean.
+	 */
+	private ThreadMXBean threads;
+
+	/**
+	 * Initialises this JvmAllocationCounter.
+	 *
+	 * @param threads the JVM's thread bean, which must support counting allocations
+	 */
+	private JvmAllocationCounter(ThreadMXBean threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * Creates a JvmAllocationCounter if this JVM can count how many bytes each thread allocates.
+	 *
+	 * @return the counter, or null if this JVM can't count allocations
+	 */
+	public static AllocationCounter create() {
+		try {
+			java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+			if (bean instanceof ThreadMXBean && ((ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+				return new JvmAllocationCounter((ThreadMXBean) bean);
+			}
+		} catch (LinkageError e) {
+			// Fall through: this JVM doesn't have the com.sun.management classes.
+		} catch (UnsupportedOperationException e) {
+			// Fall through: allocations can't be counted on this JVM.
+		}
+
+		return null;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		threads.setThreadAllocatedMemoryEnabled(enabled);
+	}
+
+	@Override
+	public long getAllocatedBytes(long threadId) {
+		return threads.getThreadAllocatedBytes(threadId);
+	}
+}
@@ -0,0 +1,250 @@
+package com.superduckinvaders.game.desktop;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.BaseTmxMapLoader;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+import com.superduckinvaders.game.assets.BinaryMapLoader;
+
+/**
+ * Compiles TMX maps into the binary format read by BinaryMapLoader, so the game doesn't have to parse XML to load a
+ * level. Tile sets no tile in the map uses are left out. Run by the compileMaps task before the game is run or
+ * packaged; the game falls back to the TMX file for any map that hasn't been compiled.
+ */
+public class MapCompiler {
+
+	/**
+	 * Compiles every TMX file in a directory, writing each compiled map next to it.
+	 *
+	 * @param arg the directory the maps are in
+	 * @throws IOException if a map can't be read or written
+	 */
+	public static void main(String[] arg) throws IOException {
+		File directory = new File(arg.length > 0 ? arg[0] : "maps");
+		File[] files = directory.listFiles();
+
+		if (files == null) {
+			throw new IOException("No such directory: " + directory);
+		}
+
+		for (File file : files) {
+			if (file.getName().endsWith(".tmx")) {
+				String name = file.getName().substring(0, file.getName().length() - ".tmx".length());
+				File output = new File(directory, name + BinaryMapLoader.EXTENSION);
+				byte[] compiled = compile(new FileHandle(file));
+
+				new FileHandle(output).writeBytes(compiled, false);
+				System.out.printf("%s: %d bytes -> %d bytes%n", file.getName(), file.length(), compiled.length);
+			}
+		}
+	}
+
+	/**
+	 * Compiles a TMX map.
+	 *
+	 * @param file the TMX file
+	 * @return the compiled map
+	 * @throws IOException if the map can't be read
+	 */
+	public static byte[] compile(FileHandle file) throws IOException {
+		Element root = new XmlReader().parse(file);
+		int width = root.getIntAttribute("width"), height = root.getIntAttribute("height");
+
+		// Read the layers first, so the tile sets they don't use can be left out.
+		Array<Element> layers = new Array<Element>();
+		List<int[]> layerIds = new ArrayList<int[]>();
+		for (int i = 0; i < root.getChildCount(); i++) {
+			Element child = root.getChild(i);
+
+			if (child.getName().equals("layer")) {
+				layers.add(child);
+				layerIds.add(flipRows(BaseTmxMapLoader.getTileIds(child, width, height), width, height));
+			} else if (!child.getName().equals("tileset") && !child.getName().equals("properties")) {
+				throw new GdxRuntimeException(file.name() + ": " + child.getName() + " isn't supported by the map compiler");
+			}
+		}
+
+		Array<Element> tileSets = root.getChildrenByName("tileset");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		out.writeInt(BinaryMapLoader.MAGIC);
+		out.writeInt(BinaryMapLoader.VERSION);
+		writeString(out, root.getAttribute("orientation"));
+		out.writeInt(width);
+		out.writeInt(height);
+		out.writeInt(root.getIntAttribute("tilewidth"));
+		out.writeInt(root.getIntAttribute("tileheight"));
+
+		List<String[]> properties = readProperties(root);
+		if (root.getAttribute("backgroundcolor", null) != null) {
+			properties.add(new String[] {"backgroundcolor", root.getAttribute("backgroundcolor")});
+		}
+		writeProperties(out, properties);
+
+		List<Element> usedTileSets = new ArrayList<Element>();
+		for (int i = 0; i < tileSets.size; i++) {
+			int firstId = tileSets.get(i).getIntAttribute("firstgid");
+			int lastId = i + 1 < tileSets.size ? tileSets.get(i + 1).getIntAttribute("firstgid") : Integer.MAX_VALUE;
+
+			if (isUsed(layerIds, firstId, lastId)) {
+				usedTileSets.add(tileSets.get(i));
+			}
+		}
+
+		out.writeInt(usedTileSets.size());
+		for (Element tileSet : usedTileSets) {
+			if (tileSet.getAttribute("source", null) != null) {
+				throw new GdxRuntimeException(file.name() + ": external tile sets aren't supported by the map compiler");
+			}
+
+			writeString(out, tileSet.getAttribute("name", ""));
+			writeString(out, tileSet.getChildByName("image").getAttribute("source"));
+			out.writeInt(tileSet.getIntAttribute("firstgid"));
+			out.writeInt(tileSet.getIntAttribute("tilewidth"));
+			out.writeInt(tileSet.getIntAttribute("tileheight"));
+			out.writeInt(tileSet.getIntAttribute("spacing", 0));
+			out.writeInt(tileSet.getIntAttribute("margin", 0));
+		}
+
+		out.writeInt(layers.size);
+		for (int i = 0; i < layers.size; i++) {
+			Element layer = layers.get(i);
+
+			writeString(out, layer.getAttribute("name", ""));
+			out.writeByte(layer.getIntAttribute("visible", 1) == 1 ? 1 : 0);
+			out.writeFloat(Float.parseFloat(layer.getAttribute("opacity", "1.0")));
+			writeProperties(out, readProperties(layer));
+
+			int[] ids = layerIds.get(i);
+			if (fitInShorts(ids)) {
+				out.writeByte(2);
+				for (int id : ids) {
+					out.writeShort(id);
+				}
+			} else {
+				out.writeByte(4);
+				for (int id : ids) {
+					out.writeInt(id);
+				}
+			}
+		}
+
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Reorders tile ids from the top row first, as in TMX files, to the bottom row first, as in TiledMapTileLayers.
+	 *
+	 * @param ids    the tile ids, top row first
+	 * @param width  the width of the layer in tiles
+	 * @param height the height of the layer in tiles
+	 * @return the tile ids, bottom row first
+	 */
+	private static int[] flipRows(int[] ids, int width, int height) {
+		int[] flipped = new int[ids.length];
+
+		for (int y = 0; y < height; y++) {
+			System.arraycopy(ids, y * width, flipped, (height - 1 - y) * width, width);
+		}
+
+		return flipped;
+	}
+
+	/**
+	 * Gets whether tile ids can be stored as unsigned shorts, which halves the size of the layer.
+	 *
+	 * @param ids the tile ids, with their flip flags
+	 * @return whether every id fits in an unsigned short
+	 */
+	private static boolean fitInShorts(int[] ids) {
+		for (int id : ids) {
+			if ((id & 0xFFFF0000) != 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Gets whether any layer uses a tile from a range of ids.
+	 *
+	 * @param layerIds the tile ids of each layer
+	 * @param firstId  the first id in the range
+	 * @param lastId   the id after the last one in the range
+	 * @return whether any tile in the range is used
+	 */
+	private static boolean isUsed(List<int[]> layerIds, int firstId, int lastId) {
+		for (int[] ids : layerIds) {
+			for (int id : ids) {
+				int tileId = id & BinaryMapLoader.MASK_CLEAR;
+
+				if (tileId >= firstId && tileId < lastId) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Reads the properties of a map or layer.
+	 *
+	 * @param element the map or layer element
+	 * @return the name and value of each property
+	 */
+	private static List<String[]> readProperties(Element element) {
+		List<String[]> properties = new ArrayList<String[]>();
+		Element propertiesElement = element.getChildByName("properties");
+
+		if (propertiesElement != null) {
+			for (Element property : propertiesElement.getChildrenByName("property")) {
+				String value = property.getAttribute("value", null);
+				properties.add(new String[] {property.getAttribute("name"), value != null ? value : property.getText()});
+			}
+		}
+
+		return properties;
+	}
+
+	/**
+	 * Writes a set of properties.
+	 *
+	 * @param out        the stream to write to
+	 * @param properties the name and value of each property
+	 * @throws IOException if the stream can't be written to
+	 */
+	private static void writeProperties(DataOutputStream out, List<String[]> properties) throws IOException {
+		out.writeInt(properties.size());
+
+		for (String[] property : properties) {
+			writeString(out, property[0]);
+			writeString(out, property[1]);
+		}
+	}
+
+	/**
+	 * Writes a string as its length followed by its UTF-8 bytes.
+	 *
+	 * @param out    the stream to write to
+	 * @param string the string
+	 * @throws IOException if the stream can't be written to
+	 */
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes("UTF-8");
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+}
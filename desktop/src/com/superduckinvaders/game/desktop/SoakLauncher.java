@@ -0,0 +1,150 @@
+package com.superduckinvaders.game.desktop;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.math.MathUtils;
+import com.superduckinvaders.game.GameScreen;
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.ai.ZombieAI;
+import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.entity.Mob;
+
+/**
+ * Soak tests the simulation with no window: on each level, spawns thousands of extra mobs, has the player wander about
+ * and attack at random, and runs the round for a few minutes of game time, printing how fast the steps ran, the 99th
+ * percentile step time and the most heap used. Rounds are played on after the player dies or the objective ends, so
+ * every run does the same amount of work. Run from the assets directory with: [minutes] [mob counts, comma separated]
+ * [level 1-8, or 0 for every level] [overlap].
+ * <p>
+ * Mobs are normally placed like any other, off walls and other characters, which fills the smaller levels before the
+ * biggest counts are reached; runs that couldn't place every mob asked for are marked "short". With overlap, mobs are
+ * only kept off walls and may be placed on top of each other, so every count can be reached.
+ */
+public class SoakLauncher {
+
+	/**
+	 * How many times to try placing each mob before giving up on it, as mobs can't be placed on walls or each other.
+	 */
+	private static final int SPAWN_ATTEMPTS = 20;
+
+	/**
+	 * How many steps apart the heap used is sampled, as reading it allocates a little itself.
+	 */
+	private static final int HEAP_SAMPLE_STEPS = 10;
+
+	public static void main(String[] arg) {
+		final float minutes = arg.length > 0 ? Float.parseFloat(arg[0]) : 1;
+		final String[] mobCounts = (arg.length > 1 ? arg[1] : "1000,5000,20000").split(",");
+		final int level = arg.length > 2 ? Integer.parseInt(arg[2]) : 0;
+		final boolean overlap = arg.length > 3 && arg[3].equals("overlap");
+
+		new HeadlessApplication(new HeadlessDuckGame() {
+			@Override
+			public void create() {
+				super.create();
+
+				TiledMap[] maps = {Assets.levelOneMap, Assets.levelTwoMap, Assets.levelThreeMap, Assets.levelFourMap,
+						Assets.levelFiveMap, Assets.levelSixMap, Assets.levelSevenMap, Assets.levelEightMap};
+				int steps = (int) Math.ceil(minutes * 60 / GameScreen.SIMULATION_STEP);
+				long[] stepTimes = new long[steps];
+				MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+				System.out.printf("%d steps (%.2f minutes) per run%s%n", steps, minutes, overlap ? ", mobs may overlap" : "");
+				System.out.printf("%5s %7s %7s %10s %8s %8s %8s %9s %7s%n", "level", "asked", "spawned", "steps/s", "p50 ms",
+						"p99 ms", "max ms", "heap MB", "mobs");
+
+				for (int i = level > 0 ? level - 1 : 0; i < (level > 0 ? level : maps.length); i++) {
+					for (String mobCount : mobCounts) {
+						int asked = Integer.parseInt(mobCount.trim());
+
+						Round round = createRound(maps[i], i);
+						round.getPlayer().setInputSource(HeadlessLauncher.wander(i, minutes * 60));
+						int spawned = spawnMobs(round, asked, overlap);
+
+						// Start the heap measurement from what is live now, not garbage from the last run.
+						System.gc();
+						long peakHeap = 0;
+
+						long start = System.nanoTime();
+						for (int step = 0; step < steps; step++) {
+							long stepStart = System.nanoTime();
+							round.update(GameScreen.SIMULATION_STEP);
+							stepTimes[step] = System.nanoTime() - stepStart;
+
+							if (step % HEAP_SAMPLE_STEPS == 0) {
+								peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+							}
+						}
+						double seconds = (System.nanoTime() - start) / 1e9;
+
+						Arrays.sort(stepTimes);
+						System.out.printf("%5d %7d %7d %10.0f %8.3f %8.3f %8.3f %9.1f %7d%s%n", i + 1, asked, spawned,
+								steps / seconds, stepTimes[steps / 2] / 1e6, stepTimes[Math.min(steps * 99 / 100, steps - 1)] / 1e6,
+								stepTimes[steps - 1] / 1e6, peakHeap / 1048576.0, round.getMobs().size(),
+								spawned < asked ? " short" : "");
+					}
+				}
+
+				Gdx.app.exit();
+			}
+		});
+	}
+
+	/**
+	 * Spawns mobs at random places on the map, through Round.createMob unless they may overlap.
+	 *
+	 * @param round   the round to spawn the mobs in
+	 * @param count   how many mobs to spawn
+	 * @param overlap whether mobs may be placed on other characters, only being kept off blocked tiles
+	 * @return how many mobs could be placed, which is fewer than asked for if the map filled up
+	 */
+	private static int spawnMobs(Round round, int count, boolean overlap) {
+		int width = Assets.badGuyNormal.getWidth(), height = Assets.badGuyNormal.getHeight();
+		int spawned = 0;
+
+		for (int attempt = 0; attempt < count * SPAWN_ATTEMPTS && spawned < count; attempt++) {
+			double x = MathUtils.random(round.getMapWidth() - width);
+			double y = MathUtils.random(round.getMapHeight() - height);
+
+			if (!overlap) {
+				if (round.createMob(x, y, 100, Assets.badGuyNormal, 100)) {
+					spawned++;
+				}
+			} else if (!isAreaBlocked(round, x, y, width, height)) {
+				round.addEntity(new Mob(round, x, y, 100, Assets.badGuyNormal, 100, new ZombieAI(round, 32), false, false));
+				spawned++;
+			}
+		}
+
+		return spawned;
+	}
+
+	/**
+	 * Gets whether any map tile under a rectangle is blocked.
+	 *
+	 * @param round  the round
+	 * @param x      the x coordinate of the rectangle's bottom left corner
+	 * @param y      the y coordinate of the rectangle's bottom left corner
+	 * @param width  the width of the rectangle
+	 * @param height the height of the rectangle
+	 * @return whether any tile is blocked
+	 */
+	private static boolean isAreaBlocked(Round round, double x, double y, int width, int height) {
+		int tileWidth = round.getTileWidth(), tileHeight = round.getTileHeight();
+
+		for (int tileY = (int) y / tileHeight; tileY <= (int) (y + height - 1) / tileHeight; tileY++) {
+			for (int tileX = (int) x / tileWidth; tileX <= (int) (x + width - 1) / tileWidth; tileX++) {
+				if (round.isTileBlocked(tileX, tileY, false)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+}
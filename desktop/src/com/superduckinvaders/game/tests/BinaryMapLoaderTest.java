@@ -0,0 +1,123 @@
+package com.superduckinvaders.game.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.superduckinvaders.game.assets.BinaryMapLoader;
+import com.superduckinvaders.game.desktop.MapCompiler;
+
+public class BinaryMapLoaderTest extends HeadlessTest {
+
+	/**
+	 * Where the compiled map is written, next to the TMX files so the tile set images are found the same way.
+	 */
+	private static final String COMPILED_FILE = "maps/binary-map-loader-test" + BinaryMapLoader.EXTENSION;
+
+	@Test
+	public void roundTripTest() throws IOException {
+		FileHandle[] files = Gdx.files.internal("maps").list(".tmx");
+		assertTrue("no maps found", files.length > 0);
+
+		for (FileHandle file : files) {
+			checkRoundTrip(file);
+		}
+	}
+
+	/**
+	 * Compiles a TMX map, loads the result with BinaryMapLoader and checks it against what TmxMapLoader loads.
+	 */
+	private void checkRoundTrip(FileHandle file) throws IOException {
+		AssetManager manager = new AssetManager();
+		manager.setLoader(TiledMap.class, new TmxMapLoader(new InternalFileHandleResolver()));
+		manager.setLoader(TiledMap.class, BinaryMapLoader.EXTENSION, new BinaryMapLoader(new InternalFileHandleResolver()));
+
+		FileHandle compiled = Gdx.files.local(COMPILED_FILE);
+		compiled.writeBytes(MapCompiler.compile(file), false);
+
+		try {
+			manager.load("maps/" + file.name(), TiledMap.class);
+			manager.load(COMPILED_FILE, TiledMap.class);
+			manager.finishLoading();
+
+			assertSameMap(file.name(), manager.get("maps/" + file.name(), TiledMap.class), manager.get(COMPILED_FILE, TiledMap.class));
+		} finally {
+			manager.dispose();
+			compiled.delete();
+		}
+	}
+
+	/**
+	 * Checks two maps have the same properties and layers, with the same tile in every cell.
+	 */
+	private void assertSameMap(String name, TiledMap expected, TiledMap actual) {
+		assertSameProperties(name, expected.getProperties(), actual.getProperties());
+		assertEquals(name + " layers", expected.getLayers().getCount(), actual.getLayers().getCount());
+
+		for (int i = 0; i < expected.getLayers().getCount(); i++) {
+			TiledMapTileLayer expectedLayer = (TiledMapTileLayer) expected.getLayers().get(i);
+			TiledMapTileLayer actualLayer = (TiledMapTileLayer) actual.getLayers().get(i);
+			String layer = name + " layer " + expectedLayer.getName();
+
+			assertEquals(layer, expectedLayer.getName(), actualLayer.getName());
+			assertEquals(layer, expectedLayer.isVisible(), actualLayer.isVisible());
+			assertEquals(layer, expectedLayer.getOpacity(), actualLayer.getOpacity(), 0);
+			assertEquals(layer, expectedLayer.getWidth(), actualLayer.getWidth());
+			assertEquals(layer, expectedLayer.getHeight(), actualLayer.getHeight());
+			assertSameProperties(layer, expectedLayer.getProperties(), actualLayer.getProperties());
+
+			for (int y = 0; y < expectedLayer.getHeight(); y++) {
+				for (int x = 0; x < expectedLayer.getWidth(); x++) {
+					assertSameCell(layer + " cell " + x + ", " + y, expectedLayer.getCell(x, y), actualLayer.getCell(x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks two cells hold the same tile, cut from the same place in the same texture and flipped the same way.
+	 */
+	private void assertSameCell(String cell, Cell expected, Cell actual) {
+		if (expected == null) {
+			assertNull(cell, actual);
+			return;
+		}
+		assertNotNull(cell, actual);
+
+		assertEquals(cell, expected.getTile().getId(), actual.getTile().getId());
+		assertEquals(cell, expected.getFlipHorizontally(), actual.getFlipHorizontally());
+		assertEquals(cell, expected.getFlipVertically(), actual.getFlipVertically());
+		assertEquals(cell, expected.getRotation(), actual.getRotation());
+
+		TextureRegion expectedRegion = expected.getTile().getTextureRegion(), actualRegion = actual.getTile().getTextureRegion();
+		assertSame(cell, expectedRegion.getTexture(), actualRegion.getTexture());
+		assertEquals(cell, expectedRegion.getRegionX(), actualRegion.getRegionX());
+		assertEquals(cell, expectedRegion.getRegionY(), actualRegion.getRegionY());
+		assertEquals(cell, expectedRegion.getRegionWidth(), actualRegion.getRegionWidth());
+		assertEquals(cell, expectedRegion.getRegionHeight(), actualRegion.getRegionHeight());
+	}
+
+	/**
+	 * Checks every property in one set is in the other with an equal value.
+	 */
+	private void assertSameProperties(String owner, MapProperties expected, MapProperties actual) {
+		for (Iterator<String> keys = expected.getKeys(); keys.hasNext(); ) {
+			String key = keys.next();
+
+			assertEquals(owner + " property " + key, expected.get(key), actual.get(key));
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package com.superduckinvaders.game.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.superduckinvaders.game.EntityLifecycle;
+import com.superduckinvaders.game.entity.Character;
+import com.superduckinvaders.game.entity.Entity;
+import com.superduckinvaders.game.entity.Mob;
+import com.superduckinvaders.game.entity.Particle;
+import com.superduckinvaders.game.entity.Projectile;
+import com.superduckinvaders.game.entity.item.Item;
+import com.superduckinvaders.game.entity.item.Powerup;
+
+public class EntityLifecycleTest {
+
+	/**
+	 * Remembers the entities it is told were removed, in order.
+	 */
+	private static class RecordingListener implements EntityLifecycle.RemovalListener {
+
+		private List<Entity> removed = new ArrayList<Entity>();
+
+		@Override
+		public void entityRemoved(Entity entity) {
+			removed.add(entity);
+		}
+	}
+
+	private static Mob mob() {
+		return new Mob(null, 0, 0, 1, null, 10);
+	}
+
+	@Test
+	public void addOutsideTickTest() {
+		EntityLifecycle lifecycle = new EntityLifecycle();
+		Mob mob = mob();
+
+		// Outside a tick, entities are added straight away.
+		lifecycle.add(mob);
+		assertEquals(Arrays.<Entity>asList(mob), lifecycle.getEntities());
+	}
+
+	@Test
+	public void compactionKeepsOrderTest() {
+		EntityLifecycle lifecycle = new EntityLifecycle();
+		Mob[] mobs = new Mob[6];
+		for (int i = 0; i < mobs.length; i++) {
+			mobs[i] = mob();
+			lifecycle.add(mobs[i]);
+		}
+		RecordingListener listener = new RecordingListener();
+
+		lifecycle.beginTick();
+		lifecycle.remove(mobs[0]);
+		lifecycle.remove(mobs[2]);
+		lifecycle.remove(mobs[3]);
+		lifecycle.remove(mobs[5]);
+
+		// Nothing changes until the tick ends.
+		assertEquals(6, lifecycle.getEntities().size());
+
+		lifecycle.endTick(listener);
+		assertEquals(Arrays.<Entity>asList(mobs[1], mobs[4]), lifecycle.getEntities());
+		assertEquals(Arrays.<Entity>asList(mobs[0], mobs[2], mobs[3], mobs[5]), listener.removed);
+	}
+
+	@Test
+	public void deferredSpawnTest() {
+		EntityLifecycle lifecycle = new EntityLifecycle();
+		Mob first = mob(), second = mob(), spawned = mob();
+		RecordingListener listener = new RecordingListener();
+
+		lifecycle.add(first);
+		lifecycle.add(second);
+
+		lifecycle.beginTick();
+		lifecycle.add(spawned);
+		lifecycle.remove(first);
+		assertEquals(Arrays.<Entity>asList(first, second), lifecycle.getEntities());
+
+		// Removals are taken out before spawns are added after the rest.
+		lifecycle.endTick(listener);
+		assertEquals(Arrays.<Entity>asList(second, spawned), lifecycle.getEntities());
+	}
+
+	@Test
+	public void spawnFromListenerTest() {
+		final EntityLifecycle lifecycle = new EntityLifecycle();
+		Mob dying = mob(), other = mob();
+		final Mob spawned = mob();
+
+		lifecycle.add(dying);
+		lifecycle.add(other);
+
+		lifecycle.beginTick();
+		lifecycle.remove(dying);
+		lifecycle.endTick(new EntityLifecycle.RemovalListener() {
+			@Override
+			public void entityRemoved(Entity entity) {
+				lifecycle.add(spawned);
+			}
+		});
+
+		// Entities added while being told about removals are spawned at the end of the same tick.
+		assertEquals(Arrays.<Entity>asList(other, spawned), lifecycle.getEntities());
+	}
+
+	@Test
+	public void emptyTickTest() {
+		EntityLifecycle lifecycle = new EntityLifecycle();
+		Mob mob = mob();
+		RecordingListener listener = new RecordingListener();
+
+		lifecycle.add(mob);
+		lifecycle.beginTick();
+		lifecycle.endTick(listener);
+
+		assertEquals(Arrays.<Entity>asList(mob), lifecycle.getEntities());
+		assertTrue(listener.removed.isEmpty());
+	}
+
+	@Test
+	public void removeNowTest() {
+		EntityLifecycle lifecycle = new EntityLifecycle();
+		Mob first = mob(), second = mob();
+		Projectile projectile = new Projectile(null);
+
+		lifecycle.add(first);
+		lifecycle.add(projectile);
+		lifecycle.add(second);
+
+		lifecycle.removeNow(projectile);
+		assertEquals(Arrays.<Entity>asList(first, second), lifecycle.getEntities());
+	}
+
+	@Test
+	public void typedViewsTest() {
+		EntityLifecycle lifecycle = new EntityLifecycle();
+		Mob mob = mob();
+		Projectile projectile = new Projectile(null);
+		Powerup powerup = new Powerup(null);
+		Particle particle = new Particle(null);
+
+		lifecycle.add(mob);
+		lifecycle.add(projectile);
+		lifecycle.add(powerup);
+		lifecycle.add(particle);
+
+		assertEquals(Arrays.<Character>asList(mob), lifecycle.getCharacters());
+		assertEquals(Arrays.asList(mob), lifecycle.getMobs());
+		assertEquals(Arrays.asList(projectile), lifecycle.getProjectiles());
+		assertEquals(Arrays.<Item>asList(powerup), lifecycle.getItems());
+		assertEquals(Arrays.asList(particle), lifecycle.getParticles());
+	}
+
+	@Test
+	public void typedViewsCompactionTest() {
+		EntityLifecycle lifecycle = new EntityLifecycle();
+		Mob first = mob(), second = mob(), third = mob();
+		Projectile kept = new Projectile(null), removed = new Projectile(null);
+
+		lifecycle.add(first);
+		lifecycle.add(removed);
+		lifecycle.add(second);
+		lifecycle.add(kept);
+		lifecycle.add(third);
+
+		lifecycle.beginTick();
+		lifecycle.remove(removed);
+		lifecycle.remove(second);
+		// As when a projectile is freed to its pool and fired again in the same tick.
+		lifecycle.add(removed);
+		lifecycle.endTick(new RecordingListener());
+
+		// Each view is compacted in the same pass and kept in the same order as the list of every entity.
+		assertEquals(Arrays.<Entity>asList(first, kept, third, removed), lifecycle.getEntities());
+		assertEquals(Arrays.asList(first, third), lifecycle.getMobs());
+		assertEquals(Arrays.<Character>asList(first, third), lifecycle.getCharacters());
+		assertEquals(Arrays.asList(kept, removed), lifecycle.getProjectiles());
+	}
+
+	@Test
+	public void typedViewsRemoveNowTest() {
+		EntityLifecycle lifecycle = new EntityLifecycle();
+		Mob mob = mob();
+
+		lifecycle.add(mob);
+		lifecycle.removeNow(mob);
+
+		assertTrue(lifecycle.getEntities().isEmpty());
+		assertTrue(lifecycle.getCharacters().isEmpty());
+		assertTrue(lifecycle.getMobs().isEmpty());
+	}
+}
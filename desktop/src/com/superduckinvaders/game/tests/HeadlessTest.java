@@ -0,0 +1,47 @@
+package com.superduckinvaders.game.tests;
+
+import org.junit.BeforeClass;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.desktop.HeadlessDuckGame;
+
+/**
+ * Base for tests that need a Round but no window. Starts one HeadlessDuckGame for every test class that extends it and
+ * waits for the assets to load. Must be run from the assets directory, like the game.
+ */
+public abstract class HeadlessTest {
+
+	/**
+	 * The game the test Rounds belong to.
+	 */
+	protected static HeadlessDuckGame game;
+
+	@BeforeClass
+	public static void startGame() {
+		if (game != null) {
+			return;
+		}
+
+		game = new HeadlessDuckGame();
+		new HeadlessApplication(game);
+
+		while (!Assets.isLoaded()) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Creates a Round on level one with the random number generator seeded, so it is the same every time.
+	 *
+	 * @return the new Round
+	 */
+	protected static Round createRound() {
+		return game.createRound(Assets.levelOneMap, 1);
+	}
+}
@@ -0,0 +1,122 @@
+package com.superduckinvaders.game.tests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.ai.PathFinder;
+import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.entity.Mob;
+
+public class PathFinderTest extends HeadlessTest {
+
+	/**
+	 * Checks that a result is a single step away from the start: one tile across or a quarter of a tile up or down.
+	 */
+	private void assertOneStep(Round round, int startX, int startY, PathFinder pathFinder) {
+		int dx = Math.abs(pathFinder.getResultX() - startX), dy = Math.abs(pathFinder.getResultY() - startY);
+
+		assertTrue("not one step: " + dx + ", " + dy, (dx == round.getTileWidth() && dy == 0) || (dx == 0 && dy == round.getTileHeight() / 4));
+	}
+
+	@Test
+	public void adjacentTargetTest() {
+		Round round = createRound();
+		PathFinder pathFinder = new PathFinder(round);
+		int startX = (int) round.getPlayer().getX() + 64, startY = (int) round.getPlayer().getY();
+		Mob mob = new Mob(round, startX, startY, 100, Assets.badGuyNormal, 100);
+
+		// The target is in the next tile along, so the first step reaches it.
+		assertTrue(pathFinder.findPath(mob, startX, startY, startX + round.getTileWidth(), startY, 32));
+		assertEquals(startX + round.getTileWidth(), pathFinder.getResultX());
+		assertEquals(startY, pathFinder.getResultY());
+	}
+
+	@Test
+	public void firstStepTest() {
+		Round round = createRound();
+		PathFinder pathFinder = new PathFinder(round);
+		int startX = (int) round.getPlayer().getX() + 64, startY = (int) round.getPlayer().getY();
+		Mob mob = new Mob(round, startX, startY, 100, Assets.badGuyNormal, 100);
+
+		assertTrue(pathFinder.findPath(mob, startX, startY, (int) round.getPlayer().getX(), (int) round.getPlayer().getY(), 32));
+		assertTrue(pathFinder.isFinished());
+		assertTrue(pathFinder.isFound());
+		assertOneStep(round, startX, startY, pathFinder);
+		// The first step should head for the player, who is to the left.
+		assertTrue(pathFinder.getResultX() <= startX);
+	}
+
+	@Test
+	public void iterationLimitTest() {
+		Round round = createRound();
+		PathFinder pathFinder = new PathFinder(round);
+		int startX = (int) round.getPlayer().getX() + 64, startY = (int) round.getPlayer().getY();
+		Mob mob = new Mob(round, startX, startY, 100, Assets.badGuyNormal, 100);
+
+		// Ten tiles away can't be reached in two steps, so the result stays at the start.
+		assertFalse(pathFinder.findPath(mob, startX, startY, startX + 10 * round.getTileWidth(), startY, 2));
+		assertTrue(pathFinder.isFinished());
+		assertEquals(startX, pathFinder.getResultX());
+		assertEquals(startY, pathFinder.getResultY());
+	}
+
+	@Test
+	public void steppedSearchTest() {
+		Round round = createRound();
+		PathFinder oneGo = new PathFinder(round), stepped = new PathFinder(round);
+		int startX = (int) round.getPlayer().getX() + 96, startY = (int) round.getPlayer().getY() + 48;
+		int targetX = (int) round.getPlayer().getX(), targetY = (int) round.getPlayer().getY();
+		Mob mob = new Mob(round, startX, startY, 100, Assets.badGuyNormal, 100);
+
+		boolean found = oneGo.findPath(mob, startX, startY, targetX, targetY, 32);
+
+		// Spreading the same search over many small steps must give the same answer.
+		stepped.begin(mob, startX, startY, targetX, targetY, 32);
+		int steps = 0;
+		while (!stepped.step(1)) {
+			steps++;
+			assertTrue("search never finished", steps <= PathFinder.MAX_NODES);
+		}
+
+		assertEquals(found, stepped.isFound());
+		assertEquals(oneGo.getResultX(), stepped.getResultX());
+		assertEquals(oneGo.getResultY(), stepped.getResultY());
+	}
+
+	@Test
+	public void cancelTest() {
+		Round round = createRound();
+		PathFinder pathFinder = new PathFinder(round);
+		int startX = (int) round.getPlayer().getX() + 96, startY = (int) round.getPlayer().getY();
+		Mob mob = new Mob(round, startX, startY, 100, Assets.badGuyNormal, 100);
+
+		pathFinder.begin(mob, startX, startY, (int) round.getPlayer().getX(), (int) round.getPlayer().getY(), 32);
+		assertFalse(pathFinder.isFinished());
+
+		pathFinder.cancel();
+		assertTrue(pathFinder.isFinished());
+		assertFalse(pathFinder.isFound());
+		assertEquals(startX, pathFinder.getResultX());
+		assertEquals(startY, pathFinder.getResultY());
+	}
+
+	@Test
+	public void reuseTest() {
+		Round round = createRound();
+		PathFinder pathFinder = new PathFinder(round);
+		int startX = (int) round.getPlayer().getX() + 96, startY = (int) round.getPlayer().getY();
+		int targetX = (int) round.getPlayer().getX(), targetY = (int) round.getPlayer().getY();
+		Mob mob = new Mob(round, startX, startY, 100, Assets.badGuyNormal, 100);
+
+		// Searches reuse the same storage, so a failed search in between mustn't change the next answer.
+		pathFinder.findPath(mob, startX, startY, targetX, targetY, 32);
+		int resultX = pathFinder.getResultX(), resultY = pathFinder.getResultY();
+
+		pathFinder.findPath(mob, startX, startY, startX + 20 * round.getTileWidth(), startY, 1);
+		pathFinder.findPath(mob, startX, startY, targetX, targetY, 32);
+		assertEquals(resultX, pathFinder.getResultX());
+		assertEquals(resultY, pathFinder.getResultY());
+	}
+}
@@ -0,0 +1,115 @@
+package com.superduckinvaders.game.tests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.ai.PathRequest;
+import com.superduckinvaders.game.ai.PathfindingScheduler;
+import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.entity.Mob;
+
+public class PathfindingSchedulerTest extends HeadlessTest {
+
+	/**
+	 * Makes a mob a set distance from the player, not added to the round.
+	 */
+	private Mob mobNearPlayer(Round round, int offsetX, int offsetY) {
+		return new Mob(round, (int) round.getPlayer().getX() + offsetX, (int) round.getPlayer().getY() + offsetY, 100, Assets.badGuyNormal, 100);
+	}
+
+	/**
+	 * Runs the scheduler until nothing is queued, failing if that takes too long.
+	 */
+	private void runUntilIdle(PathfindingScheduler scheduler) {
+		for (int frame = 0; scheduler.getQueuedCount() > 0; frame++) {
+			assertTrue("searches never finished", frame < 1000);
+			scheduler.update();
+		}
+	}
+
+	@Test
+	public void answersRequestTest() {
+		Round round = createRound();
+		PathfindingScheduler scheduler = new PathfindingScheduler(round);
+		PathRequest request = new PathRequest(32);
+
+		scheduler.submit(request, mobNearPlayer(round, 64, 0));
+		assertTrue(request.isQueued());
+		assertEquals(1, scheduler.getQueuedCount());
+
+		runUntilIdle(scheduler);
+		assertFalse(request.isQueued());
+		assertTrue(request.takeResult());
+		assertFalse(request.takeResult());
+		assertEquals(1, scheduler.getSearchCount());
+	}
+
+	@Test
+	public void submitTwiceTest() {
+		Round round = createRound();
+		PathfindingScheduler scheduler = new PathfindingScheduler(round);
+		PathRequest request = new PathRequest(32);
+		Mob mob = mobNearPlayer(round, 64, 0);
+
+		scheduler.submit(request, mob);
+		scheduler.submit(request, mob);
+		assertEquals(1, scheduler.getQueuedCount());
+	}
+
+	@Test
+	public void cancelTest() {
+		Round round = createRound();
+		PathfindingScheduler scheduler = new PathfindingScheduler(round);
+		PathRequest request = new PathRequest(32);
+
+		scheduler.submit(request, mobNearPlayer(round, 64, 0));
+		scheduler.cancel(request);
+		assertFalse(request.isQueued());
+		assertEquals(0, scheduler.getQueuedCount());
+
+		scheduler.update();
+		assertFalse(request.takeResult());
+		assertEquals(0, scheduler.getSearchCount());
+	}
+
+	@Test
+	public void removedEntityTest() {
+		Round round = createRound();
+		PathfindingScheduler scheduler = new PathfindingScheduler(round);
+
+		// The removed mob's request comes first, and the closer mob's last, so dropping the removed one moves the
+		// closer one into its place while the queue is being searched.
+		PathRequest removedRequest = new PathRequest(32), farRequest = new PathRequest(32), nearRequest = new PathRequest(32);
+		Mob removedMob = mobNearPlayer(round, 200, 0);
+		scheduler.submit(removedRequest, removedMob);
+		scheduler.submit(farRequest, mobNearPlayer(round, 160, 0));
+		scheduler.submit(nearRequest, mobNearPlayer(round, 32, 0));
+		removedMob.removed = true;
+
+		runUntilIdle(scheduler);
+		assertFalse(removedRequest.isQueued());
+		assertFalse(removedRequest.takeResult());
+		assertTrue(farRequest.takeResult());
+		assertTrue(nearRequest.takeResult());
+		assertEquals(2, scheduler.getSearchCount());
+	}
+
+	@Test
+	public void removedEntityOnlyTest() {
+		Round round = createRound();
+		PathfindingScheduler scheduler = new PathfindingScheduler(round);
+		PathRequest removedRequest = new PathRequest(32), nearRequest = new PathRequest(32);
+		Mob removedMob = mobNearPlayer(round, 200, 0);
+
+		scheduler.submit(removedRequest, removedMob);
+		scheduler.submit(nearRequest, mobNearPlayer(round, 32, 0));
+		removedMob.removed = true;
+
+		scheduler.update();
+		runUntilIdle(scheduler);
+		assertFalse(removedRequest.takeResult());
+		assertTrue(nearRequest.takeResult());
+	}
+}
@@ -0,0 +1,138 @@
+package com.superduckinvaders.game.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.entity.Mob;
+import com.superduckinvaders.game.entity.Player;
+import com.superduckinvaders.game.entity.Projectile;
+
+public class ProjectileResolverTest extends HeadlessTest {
+
+	/**
+	 * How fast the random projectiles go, in pixels per second.
+	 */
+	private static final int SPEED = 2000;
+
+	/**
+	 * How long the single step and each small step are, so the single step covers 100 pixels and the small ones 1.
+	 */
+	private static final float STEP = 0.05f, SMALL_STEP = 0.0005f;
+
+	/**
+	 * Adds a mob to the round just to the right of the player.
+	 */
+	private Mob addMobNextToPlayer(Round round) {
+		Player player = round.getPlayer();
+		Mob mob = new Mob(round, (int) player.getX() + 48, (int) player.getY(), 100, Assets.badGuyNormal, 100);
+
+		round.addEntity(mob);
+		return mob;
+	}
+
+	/**
+	 * Fires a projectile from the player's middle towards the right, as far as it goes in one step.
+	 */
+	private Projectile fireRight(Round round) {
+		Player player = round.getPlayer();
+		double x = player.getX() + player.getWidth() / 2, y = player.getY() + player.getHeight() / 2;
+
+		return new Projectile(round, x, y, x + 100, y, 1000, 10, player);
+	}
+
+	@Test
+	public void hitsLiveMobTest() {
+		Round round = createRound();
+		Mob mob = addMobNextToPlayer(round);
+		Projectile projectile = fireRight(round);
+
+		round.getProjectileResolver().resolve(projectile, 0.1f);
+		assertTrue(projectile.isRemoved());
+		assertEquals(90, mob.getCurrentHealth());
+	}
+
+	@Test
+	public void passesRemovedMobTest() {
+		Round round = createRound();
+		Mob mob = addMobNextToPlayer(round);
+		Projectile projectile = fireRight(round);
+
+		// Removed during this tick, so still in the spatial hash until it ends.
+		mob.removed = true;
+
+		round.getProjectileResolver().resolve(projectile, 0.1f);
+		assertEquals(100, mob.getCurrentHealth());
+	}
+
+	@Test
+	public void passesDeadMobTest() {
+		Round round = createRound();
+		Mob mob = addMobNextToPlayer(round);
+		Projectile projectile = fireRight(round);
+
+		mob.damage(mob.getCurrentHealth());
+		assertTrue(mob.isDead());
+
+		round.getProjectileResolver().resolve(projectile, 0.1f);
+		// Had it hit the mob, it would have stopped short of it.
+		assertTrue(projectile.getX() > mob.getX());
+	}
+
+	@Test
+	public void sweepMatchesSmallStepsTest() {
+		Round round = createRound();
+		Player player = round.getPlayer();
+		Random random = new Random(3);
+		int paths = 0;
+
+		while (paths < 1500) {
+			double x = random.nextInt(round.getMapWidth()), y = random.nextInt(round.getMapHeight());
+			double targetX = random.nextInt(round.getMapWidth()), targetY = random.nextInt(round.getMapHeight());
+
+			// The projectiles do no damage, so no mob dies and every path sees the same mobs.
+			Projectile swept = new Projectile(round, x, y, targetX, targetY, SPEED, 0, player);
+			Projectile stepped = new Projectile(round, x, y, targetX, targetY, SPEED, 0, player);
+			if (isBlocked(round, swept)) {
+				continue;
+			}
+			paths++;
+
+			round.getProjectileResolver().resolve(swept, STEP);
+			for (int i = 0; i < STEP / SMALL_STEP && !stepped.isRemoved(); i++) {
+				round.getProjectileResolver().resolve(stepped, SMALL_STEP);
+			}
+
+			// Both must stop at the same thing, the small steps at most a step further on than the sweep.
+			String path = "path from " + x + ", " + y + " to " + targetX + ", " + targetY;
+			assertEquals(path, stepped.isRemoved(), swept.isRemoved());
+			assertEquals(path, stepped.getX(), swept.getX(), 1.001);
+			assertEquals(path, stepped.getY(), swept.getY(), 1.001);
+		}
+	}
+
+	/**
+	 * Checks whether a projectile starts on a blocked tile or off the map.
+	 */
+	private boolean isBlocked(Round round, Projectile projectile) {
+		double x = projectile.getX(), y = projectile.getY();
+
+		if (x < 0 || y < 0 || x + projectile.getWidth() > round.getMapWidth() || y + projectile.getHeight() > round.getMapHeight()) {
+			return true;
+		}
+
+		for (int tileY = (int) y / round.getTileHeight(); tileY <= (int) (y + projectile.getHeight()) / round.getTileHeight(); tileY++) {
+			for (int tileX = (int) x / round.getTileWidth(); tileX <= (int) (x + projectile.getWidth()) / round.getTileWidth(); tileX++) {
+				if (round.isTileBlocked(tileX, tileY, false)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+}
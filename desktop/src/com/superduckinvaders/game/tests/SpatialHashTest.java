@@ -0,0 +1,173 @@
+package com.superduckinvaders.game.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+import com.superduckinvaders.game.Round;
+import com.superduckinvaders.game.assets.Assets;
+import com.superduckinvaders.game.entity.Character;
+import com.superduckinvaders.game.entity.Mob;
+import com.superduckinvaders.game.entity.SpatialHash;
+
+public class SpatialHashTest extends HeadlessTest {
+
+	/**
+	 * The size of each cell in the test hashes.
+	 */
+	private static final int CELL_SIZE = 32;
+
+	/**
+	 * How many cells across and up the test hashes are.
+	 */
+	private static final int COLUMNS = 20, ROWS = 20;
+
+	/**
+	 * A mob that can be moved about by the test.
+	 */
+	private static class MovableMob extends Mob {
+
+		public MovableMob(Round round, int x, int y) {
+			super(round, x, y, 100, Assets.badGuyNormal, 100);
+		}
+
+		public void moveTo(double x, double y) {
+			setX(x);
+			setY(y);
+		}
+	}
+
+	@Test
+	public void insertQueryTest() {
+		Round round = createRound();
+		SpatialHash hash = new SpatialHash(CELL_SIZE, COLUMNS, ROWS);
+		Array<Character> result = new Array<Character>();
+		MovableMob near = new MovableMob(round, 40, 40), far = new MovableMob(round, 400, 400);
+
+		hash.insert(near);
+		hash.insert(far);
+
+		hash.query(0, 0, 100, 100, result);
+		assertEquals(1, result.size);
+		assertSame(near, result.first());
+
+		// A rectangle over every cell finds both, each once however many cells they cover.
+		hash.query(0, 0, COLUMNS * CELL_SIZE, ROWS * CELL_SIZE, result);
+		assertEquals(2, result.size);
+		assertTrue(result.contains(near, true));
+		assertTrue(result.contains(far, true));
+
+		// Touching edges don't count as intersecting.
+		hash.query(40 + near.getWidth(), 40, 10, 10, result);
+		assertEquals(0, result.size);
+	}
+
+	@Test
+	public void removeTest() {
+		Round round = createRound();
+		SpatialHash hash = new SpatialHash(CELL_SIZE, COLUMNS, ROWS);
+		Array<Character> result = new Array<Character>();
+		MovableMob mob = new MovableMob(round, 40, 40);
+
+		// Removing something never inserted does nothing.
+		hash.remove(mob);
+
+		hash.insert(mob);
+		hash.remove(mob);
+		hash.query(0, 0, 100, 100, result);
+		assertEquals(0, result.size);
+		assertFalse(hash.collides(null, 0, 0, 100, 100));
+
+		// Nor does removing it twice.
+		hash.remove(mob);
+	}
+
+	@Test
+	public void updateTest() {
+		Round round = createRound();
+		SpatialHash hash = new SpatialHash(CELL_SIZE, COLUMNS, ROWS);
+		Array<Character> result = new Array<Character>();
+		MovableMob mob = new MovableMob(round, 40, 40);
+
+		hash.insert(mob);
+		mob.moveTo(300, 200);
+		hash.update(mob);
+
+		hash.query(0, 0, 100, 100, result);
+		assertEquals(0, result.size);
+		hash.query(290, 190, 20, 20, result);
+		assertEquals(1, result.size);
+
+		// Moving within the same cells keeps it where it was.
+		mob.moveTo(301, 201);
+		hash.update(mob);
+		hash.query(290, 190, 20, 20, result);
+		assertEquals(1, result.size);
+	}
+
+	@Test
+	public void collidesTest() {
+		Round round = createRound();
+		SpatialHash hash = new SpatialHash(CELL_SIZE, COLUMNS, ROWS);
+		MovableMob mob = new MovableMob(round, 40, 40);
+
+		hash.insert(mob);
+		assertTrue(hash.collides(null, 50, 50, 4, 4));
+		assertFalse(hash.collides(mob, 50, 50, 4, 4));
+		assertFalse(hash.collides(null, 200, 200, 4, 4));
+	}
+
+	@Test
+	public void offMapTest() {
+		Round round = createRound();
+		SpatialHash hash = new SpatialHash(CELL_SIZE, COLUMNS, ROWS);
+		Array<Character> result = new Array<Character>();
+		MovableMob mob = new MovableMob(round, -10, ROWS * CELL_SIZE - 5);
+
+		// Characters hanging off the edge are kept in the edge cells rather than out of bounds.
+		hash.insert(mob);
+		hash.query(-20, ROWS * CELL_SIZE - 20, 20, 20, result);
+		assertEquals(1, result.size);
+	}
+
+	@Test
+	public void randomQueryTest() {
+		Round round = createRound();
+		SpatialHash hash = new SpatialHash(CELL_SIZE, COLUMNS, ROWS);
+		Array<Character> result = new Array<Character>();
+		Array<MovableMob> mobs = new Array<MovableMob>();
+		Random random = new Random(1);
+		int width = COLUMNS * CELL_SIZE, height = ROWS * CELL_SIZE;
+
+		for (int i = 0; i < 200; i++) {
+			MovableMob mob = new MovableMob(round, random.nextInt(width), random.nextInt(height));
+			hash.insert(mob);
+			mobs.add(mob);
+		}
+		// Move half of them, so the cells they were inserted in are stale.
+		for (int i = 0; i < mobs.size; i += 2) {
+			mobs.get(i).moveTo(random.nextInt(width), random.nextInt(height));
+			hash.update(mobs.get(i));
+		}
+
+		// Every query must find exactly the mobs a check of each one finds, with none twice.
+		for (int query = 0; query < 500; query++) {
+			int x = random.nextInt(width + 64) - 32, y = random.nextInt(height + 64) - 32;
+			int queryWidth = random.nextInt(160) + 1, queryHeight = random.nextInt(160) + 1;
+
+			hash.query(x, y, queryWidth, queryHeight, result);
+
+			int expected = 0;
+			for (MovableMob mob : mobs) {
+				if (mob.intersects(x, y, queryWidth, queryHeight)) {
+					expected++;
+					assertTrue("missed a mob in query " + query, result.contains(mob, true));
+				}
+			}
+			assertEquals("wrong count in query " + query, expected, result.size);
+		}
+	}
+}
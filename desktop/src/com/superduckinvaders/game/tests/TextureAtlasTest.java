@@ -0,0 +1,50 @@
+package com.superduckinvaders.game.tests;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData.Region;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.superduckinvaders.game.assets.Assets;
+
+public class TextureAtlasTest extends HeadlessTest {
+
+	/**
+	 * Checks every image packed by the packTextures task is found by Assets.loadRegion, whole and on the one texture.
+	 * Skipped if the textures haven't been packed, or have changed since, as the game doesn't use the atlas then.
+	 */
+	@Test
+	public void packedRegionsTest() {
+		FileHandle atlasFile = Gdx.files.internal("textures/game.atlas");
+		assumeTrue(atlasFile.exists());
+
+		TextureAtlasData data = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+		assertTrue("nothing packed", data.getRegions().size > 0);
+		for (Region packed : data.getRegions()) {
+			assumeTrue(Gdx.files.internal("textures/" + packed.name + ".png").lastModified() <= atlasFile.lastModified());
+		}
+
+		Texture texture = null;
+		for (Region packed : data.getRegions()) {
+			String file = "textures/" + packed.name + ".png";
+			TextureRegion region = Assets.loadRegion(file);
+
+			if (texture == null) {
+				texture = region.getTexture();
+			}
+			assertSame(file, texture, region.getTexture());
+
+			Pixmap image = new Pixmap(Gdx.files.internal(file));
+			assertEquals(file, image.getWidth(), region.getRegionWidth());
+			assertEquals(file, image.getHeight(), region.getRegionHeight());
+			image.dispose();
+		}
+	}
+}